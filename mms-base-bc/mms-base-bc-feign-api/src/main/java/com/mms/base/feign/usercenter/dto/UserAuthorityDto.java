@@ -16,5 +16,7 @@ public class UserAuthorityDto implements Serializable {
     private Set<String> roles = new HashSet<>();
 
     private Set<String> permissions = new HashSet<>();
+
+    private String permissionBits;
 }
 
@@ -4,14 +4,18 @@ import com.mms.base.feign.usercenter.UserAuthorityFeign;
 import com.mms.common.core.constants.gateway.GatewayConstants;
 import com.mms.common.core.constants.security.UserCenterConstants;
 import com.mms.base.feign.usercenter.dto.UserAuthorityDto;
+import com.mms.common.core.permission.AuthoritySnapshot;
+import com.mms.common.core.permission.PermissionBits;
+import com.mms.common.core.permission.PermissionBitsAuthenticationToken;
+import com.mms.common.core.permission.PermissionRegistry;
 import com.mms.common.core.response.Response;
+import com.mms.common.security.utils.AuthorityHeaderUtils;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,16 +28,18 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * 实现功能【下游服务认证填充过滤器】
  * <p>
  * - 网关已完成 JWT 校验，并透传 userId/username
- * - 这里根据 userId 从 Redis 读取角色/权限，组装 Authentication 填充到 SecurityContext
- * - 便于 PermissionCheckAspect 正常获取权限
+ * - 优先使用网关签名透传的角色/权限请求头（验签通过且 userId 一致时直接使用）
+ * - 权限头缺失或无效时根据 userId 从 Redis 读取权限快照（角色/权限位集，一次 GET），组装 Authentication 填充到 SecurityContext
+ * - 认证对象携带权限位集，PermissionCheckAspect 以位运算完成权限校验
+ * - 注册表尚未同步位集中的全部下标时，请求注册表后台刷新，并回源用户中心获取权限编码，按编码校验，避免新权限被误拒
  * <p>
  *
  * @author li.hongyu
@@ -45,6 +51,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final UserAuthorityFeign userAuthorityFeign;
+    private final AuthorityHeaderUtils authorityHeaderUtils;
+    private final PermissionRegistry permissionRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -63,21 +71,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        Set<String> roles = loadStringSet(UserCenterConstants.UserAuthority.USER_ROLE_PREFIX + userId);
-        Set<String> permissions = loadStringSet(UserCenterConstants.UserAuthority.USER_PERMISSION_PREFIX + userId);
+        Set<String> roles;
+        PermissionBits permissionBits;
+        Set<String> permissions = null;
+        AuthorityHeaderUtils.Authority authority =
+                authorityHeaderUtils.decode(request.getHeader(GatewayConstants.Headers.USER_AUTHORITY), userId);
+        if (authority != null) {
+            // 网关已签名透传角色/权限位集，直接使用，无需访问 Redis/用户中心
+            roles = authority.roles();
+            permissionBits = authority.permissionBits();
+        } else {
+            AuthoritySnapshot snapshot = loadSnapshot(userId);
+            roles = snapshot != null ? snapshot.getRoles() : null;
+            permissionBits = snapshot != null ? snapshot.getPermissionBits() : null;
+        }
 
         // 缓存缺失时回源用户中心
-        if (CollectionUtils.isEmpty(roles) && CollectionUtils.isEmpty(permissions)) {
-            Long userIdLong = parseUserId(userId);
-            if (userIdLong != null) {
-                Response<UserAuthorityDto> resp = userAuthorityFeign.getUserAuthorities(userIdLong);
-                if (resp != null && Response.SUCCESS_CODE == resp.getCode() && resp.getData() != null) {
-                    roles = defaultSet(resp.getData().getRoles());
-                    permissions = defaultSet(resp.getData().getPermissions());
-                    cacheAuthorities(userId, roles, permissions);
-                }
+        if (authority == null && permissionBits == null) {
+            UserAuthorityDto dto = fetchAuthorities(userId);
+            if (dto != null) {
+                roles = defaultSet(dto.getRoles());
+                permissionBits = StringUtils.hasText(dto.getPermissionBits())
+                        ? PermissionBits.decode(dto.getPermissionBits())
+                        : permissionRegistry.toBits(dto.getPermissions());
+                permissions = defaultSet(dto.getPermissions());
+                cacheAuthorities(userId, roles, permissionBits);
             }
         }
+        if (permissionBits == null) {
+            permissionBits = PermissionBits.EMPTY;
+        }
+        if (permissions == null) {
+            permissions = permissionRegistry.toCodes(permissionBits);
+        }
+        if (permissions == null) {
+            // 注册表尚未同步：后台刷新注册表，本次按用户中心返回的权限编码校验
+            permissionRegistry.requestReload();
+            UserAuthorityDto dto = fetchAuthorities(userId);
+            permissions = dto != null ? dto.getPermissions() : null;
+        }
 
         Set<GrantedAuthority> authorities = new HashSet<>();
         if (!CollectionUtils.isEmpty(roles)) {
@@ -85,6 +117,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     .map(role -> new SimpleGrantedAuthority(UserCenterConstants.UserAuthority.ROLE_PREFIX + role))
                     .toList());
         }
+        // 权限编码用于兼容按字符串读取权限的代码，以及注册表中尚不存在的权限编码的校验
         if (!CollectionUtils.isEmpty(permissions)) {
             authorities.addAll(permissions.stream()
                     .map(SimpleGrantedAuthority::new)
@@ -92,8 +125,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String principal = StringUtils.hasText(username) ? username : userId;
-        UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        PermissionBitsAuthenticationToken authentication =
+                new PermissionBitsAuthenticationToken(principal, authorities, permissionBits);
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -101,29 +134,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * 从 Redis 读取对象并转换为字符串集合，兼容 Set/List/单值
+     * 从 Redis 读取权限快照
+     *
+     * @return 快照；未缓存或格式错误返回 null
      */
-    private Set<String> loadStringSet(String key) {
-        Object cached = redisTemplate.opsForValue().get(key);
-        if (cached == null) {
-            return Collections.emptySet();
-        }
-        if (cached instanceof Set<?> set) {
-            return set.stream()
-                    .filter(Objects::nonNull)
-                    .map(Object::toString)
-                    .collect(Collectors.toSet());
-        }
-        if (cached instanceof Iterable<?> iterable) {
-            Set<String> result = new HashSet<>();
-            for (Object item : iterable) {
-                if (item != null) {
-                    result.add(item.toString());
-                }
-            }
-            return result;
+    private AuthoritySnapshot loadSnapshot(String userId) {
+        Object cached = redisTemplate.opsForValue().get(UserCenterConstants.UserAuthority.USER_AUTHORITY_PREFIX + userId);
+        return cached instanceof String encoded ? AuthoritySnapshot.decode(encoded) : null;
+    }
+
+    /**
+     * 回源用户中心查询用户权限
+     *
+     * @return 用户权限；用户ID格式错误或调用失败时返回 null
+     */
+    private UserAuthorityDto fetchAuthorities(String userId) {
+        Long userIdLong = parseUserId(userId);
+        if (userIdLong == null) {
+            return null;
         }
-        return Collections.singleton(cached.toString());
+        Response<UserAuthorityDto> resp = userAuthorityFeign.getUserAuthorities(userIdLong);
+        return resp != null && Response.SUCCESS_CODE == resp.getCode() ? resp.getData() : null;
     }
 
     private Long parseUserId(String userId) {
@@ -138,18 +169,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return set == null ? Collections.emptySet() : set;
     }
 
-    private void cacheAuthorities(String userId, Set<String> roles, Set<String> permissions) {
-        redisTemplate.opsForValue().set(
-                UserCenterConstants.UserAuthority.USER_ROLE_PREFIX + userId,
-                defaultSet(roles),
-                UserCenterConstants.UserAuthority.ROLE_PERMISSION_CACHE_TTL_MINUTES,
-                java.util.concurrent.TimeUnit.MINUTES
-        );
+    private void cacheAuthorities(String userId, Set<String> roles, PermissionBits permissionBits) {
         redisTemplate.opsForValue().set(
-                UserCenterConstants.UserAuthority.USER_PERMISSION_PREFIX + userId,
-                defaultSet(permissions),
+                UserCenterConstants.UserAuthority.USER_AUTHORITY_PREFIX + userId,
+                AuthoritySnapshot.of(roles, permissionBits).encode(),
                 UserCenterConstants.UserAuthority.ROLE_PERMISSION_CACHE_TTL_MINUTES,
-                java.util.concurrent.TimeUnit.MINUTES
+                TimeUnit.MINUTES
         );
     }
 }
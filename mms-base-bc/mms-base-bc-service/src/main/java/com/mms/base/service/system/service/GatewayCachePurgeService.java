@@ -0,0 +1,20 @@
+package com.mms.base.service.system.service;
+
+/**
+ * 实现功能【网关响应缓存清除服务】
+ * <p>
+ * 字典、系统配置等被网关缓存的数据变更后，通知网关按缓存名称清除
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:12:36
+ */
+public interface GatewayCachePurgeService {
+
+    /**
+     * 当前事务提交后通知网关清除指定缓存（无事务时立即通知）
+     *
+     * @param cacheName 缓存名称（GatewayConstants.ResponseCache.DICT / CONFIG）
+     */
+    void purgeAfterCommit(String cacheName);
+}
@@ -2,6 +2,7 @@ package com.mms.base.service.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.mms.common.core.constants.gateway.GatewayConstants;
 import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.core.exceptions.ServerException;
@@ -10,6 +11,7 @@ import com.mms.base.common.system.entity.ConfigEntity;
 import com.mms.base.common.system.vo.ConfigVo;
 import com.mms.base.service.system.mapper.ConfigMapper;
 import com.mms.base.service.system.service.ConfigService;
+import com.mms.base.service.system.service.GatewayCachePurgeService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -36,6 +38,9 @@ public class ConfigServiceImpl implements ConfigService {
     @Resource
     private ConfigMapper configMapper;
 
+    @Resource
+    private GatewayCachePurgeService gatewayCachePurgeService;
+
     @Override
     public Page<ConfigVo> getConfigPage(ConfigPageQueryDto dto) {
         try {
@@ -136,6 +141,7 @@ public class ConfigServiceImpl implements ConfigService {
             entity.setRemark(dto.getRemark());
             entity.setDeleted(0);
             configMapper.insert(entity);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.CONFIG);
             return convertToVo(entity);
         } catch (BusinessException e) {
             throw e;
@@ -188,6 +194,7 @@ public class ConfigServiceImpl implements ConfigService {
                 config.setRemark(dto.getRemark());
             }
             configMapper.updateById(config);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.CONFIG);
             return convertToVo(config);
         } catch (BusinessException e) {
             throw e;
@@ -213,6 +220,7 @@ public class ConfigServiceImpl implements ConfigService {
                 throw new BusinessException(ErrorCode.PARAM_INVALID, "系统配置不可删除");
             }
             configMapper.deleteById(configId);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.CONFIG);
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -255,6 +263,7 @@ public class ConfigServiceImpl implements ConfigService {
             config.setStatus(dto.getStatus());
             config.setUpdateTime(LocalDateTime.now());
             configMapper.updateById(config);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.CONFIG);
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -2,6 +2,7 @@ package com.mms.base.service.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.mms.common.core.constants.gateway.GatewayConstants;
 import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.core.exceptions.ServerException;
@@ -12,6 +13,7 @@ import com.mms.base.common.system.vo.DictDataVo;
 import com.mms.base.service.system.mapper.DictDataMapper;
 import com.mms.base.service.system.mapper.DictTypeMapper;
 import com.mms.base.service.system.service.DictDataService;
+import com.mms.base.service.system.service.GatewayCachePurgeService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -43,6 +45,9 @@ public class DictDataServiceImpl implements DictDataService {
     @Resource
     private DictTypeMapper dictTypeMapper;
 
+    @Resource
+    private GatewayCachePurgeService gatewayCachePurgeService;
+
     @Override
     public Page<DictDataVo> getDictDataPage(DictDataPageQueryDto dto) {
         try {
@@ -183,6 +188,7 @@ public class DictDataServiceImpl implements DictDataService {
             entity.setRemark(dto.getRemark());
             entity.setDeleted(0);
             dictDataMapper.insert(entity);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.DICT);
             return convertToVo(entity);
         } catch (BusinessException e) {
             throw e;
@@ -249,6 +255,7 @@ public class DictDataServiceImpl implements DictDataService {
                 dictData.setRemark(dto.getRemark());
             }
             dictDataMapper.updateById(dictData);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.DICT);
             return convertToVo(dictData);
         } catch (BusinessException e) {
             throw e;
@@ -271,6 +278,7 @@ public class DictDataServiceImpl implements DictDataService {
                 throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "数据字典数据不存在");
             }
             dictDataMapper.deleteById(dictDataId);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.DICT);
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -313,6 +321,7 @@ public class DictDataServiceImpl implements DictDataService {
             dictData.setStatus(dto.getStatus());
             dictData.setUpdateTime(LocalDateTime.now());
             dictDataMapper.updateById(dictData);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.DICT);
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
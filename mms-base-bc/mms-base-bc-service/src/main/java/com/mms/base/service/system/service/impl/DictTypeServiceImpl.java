@@ -2,6 +2,7 @@ package com.mms.base.service.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.mms.common.core.constants.gateway.GatewayConstants;
 import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.core.exceptions.ServerException;
@@ -12,6 +13,7 @@ import com.mms.base.common.system.vo.DictTypeVo;
 import com.mms.base.service.system.mapper.DictDataMapper;
 import com.mms.base.service.system.mapper.DictTypeMapper;
 import com.mms.base.service.system.service.DictTypeService;
+import com.mms.base.service.system.service.GatewayCachePurgeService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -43,6 +45,9 @@ public class DictTypeServiceImpl implements DictTypeService {
     @Resource
     private DictDataMapper dictDataMapper;
 
+    @Resource
+    private GatewayCachePurgeService gatewayCachePurgeService;
+
     @Override
     public Page<DictTypeVo> getDictTypePage(DictTypePageQueryDto dto) {
         try {
@@ -152,6 +157,7 @@ public class DictTypeServiceImpl implements DictTypeService {
             entity.setRemark(dto.getRemark());
             entity.setDeleted(0);
             dictTypeMapper.insert(entity);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.DICT);
             return convertToVo(entity);
         } catch (BusinessException e) {
             throw e;
@@ -192,6 +198,7 @@ public class DictTypeServiceImpl implements DictTypeService {
                 dictType.setRemark(dto.getRemark());
             }
             dictTypeMapper.updateById(dictType);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.DICT);
             return convertToVo(dictType);
         } catch (BusinessException e) {
             throw e;
@@ -221,6 +228,7 @@ public class DictTypeServiceImpl implements DictTypeService {
                 throw new BusinessException(ErrorCode.DATA_IN_USE, "存在关联的字典数据，无法删除");
             }
             dictTypeMapper.deleteById(dictTypeId);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.DICT);
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -263,6 +271,7 @@ public class DictTypeServiceImpl implements DictTypeService {
             dictType.setStatus(dto.getStatus());
             dictType.setUpdateTime(LocalDateTime.now());
             dictTypeMapper.updateById(dictType);
+            gatewayCachePurgeService.purgeAfterCommit(GatewayConstants.ResponseCache.DICT);
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -0,0 +1,46 @@
+package com.mms.base.service.system.service.impl;
+
+import com.mms.base.service.system.service.GatewayCachePurgeService;
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.database.utils.TransactionUtils;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 实现功能【网关响应缓存清除服务实现类】
+ * <p>
+ * - 事务提交后再发布，避免网关在提交前回源把旧数据重新写入缓存
+ * - 消息为原始字符串，不经过 RedisTemplate 的 JSON 序列化，便于网关按字符串订阅
+ * - 发布失败不影响业务，网关缓存条目仍会在 TTL 到期后失效
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:14:08
+ */
+@Slf4j
+@Service
+public class GatewayCachePurgeServiceImpl implements GatewayCachePurgeService {
+
+    @Resource
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public void purgeAfterCommit(String cacheName) {
+        TransactionUtils.afterCommit(() -> publish(cacheName));
+    }
+
+    private void publish(String cacheName) {
+        try {
+            byte[] channel = GatewayConstants.ResponseCache.PURGE_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            byte[] body = cacheName.getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+        } catch (Exception e) {
+            log.warn("网关响应缓存清除消息发布失败：{} - {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.mms.common.core.aop;
 import com.mms.common.core.annotations.RequiresPermission;
 import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
+import com.mms.common.core.permission.PermissionBitsAuthenticationToken;
+import com.mms.common.core.permission.PermissionRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,7 +28,9 @@ import java.util.Collection;
  *
  * 说明：
  * - 该切面依赖 Spring Security 已经在当前线程设置了 Authentication（JwtAuthenticationFilter 已完成）
- * - 校验逻辑基于 authorities 中的权限字符串，与 UserDetailsServiceImpl / SecurityUser 保持一致
+ * - 认证对象为 PermissionBitsAuthenticationToken 时按权限注册表下标做位判断
+ * - 否则（或注册表中不存在该编码时）基于 authorities 中的权限字符串校验，与 UserDetailsServiceImpl / SecurityUser 保持一致；
+ *   注册表中不存在该编码时同时请求注册表后台刷新
  *
  * @author li.hongyu
  * @date 2025-12-19 10:35:26
@@ -35,6 +40,12 @@ import java.util.Collection;
 @Component
 public class PermissionCheckAspect {
 
+    /**
+     * 权限注册表（可选，未注册时退化为逐个比较权限字符串）
+     */
+    @Autowired(required = false)
+    private PermissionRegistry permissionRegistry;
+
     /**
      * 在执行标注了 @RequiresPermission 的方法前进行权限校验
      */
@@ -57,6 +68,21 @@ public class PermissionCheckAspect {
             throw new BusinessException(ErrorCode.NO_PERMISSION);
         }
 
+        // 认证对象携带权限位集且注册表可解析该编码时，直接做一次位运算
+        if (authentication instanceof PermissionBitsAuthenticationToken bitsToken && permissionRegistry != null) {
+            int index = permissionRegistry.indexOf(requiredPermission);
+            if (index >= 0) {
+                if (!bitsToken.getPermissionBits().has(index)) {
+                    log.warn("权限校验失败：缺少权限，requiredPermission={}，permissionBits={}",
+                            requiredPermission, bitsToken.getPermissionBits());
+                    throw new BusinessException(ErrorCode.NO_PERMISSION);
+                }
+                return;
+            }
+            // 新增的权限尚未同步到本地注册表
+            permissionRegistry.requestReload();
+        }
+
         Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
         if (authorities == null || authorities.isEmpty()) {
             log.warn("权限校验失败：当前用户未分配任何权限，requiredPermission={}", requiredPermission);
@@ -20,6 +20,16 @@ public class GatewayConstants {
          */
         public static final String TRACE_ID = "X-Trace-Id";
 
+        /**
+         * W3C Trace Context 请求头（00-traceId-spanId-flags）
+         */
+        public static final String TRACEPARENT = "traceparent";
+
+        /**
+         * W3C Trace Context 厂商扩展请求头（原样透传）
+         */
+        public static final String TRACESTATE = "tracestate";
+
         /**
          * 用户名请求头（透传到下游服务）
          */
@@ -54,6 +64,41 @@ public class GatewayConstants {
          * 登录地点请求头（透传到下游服务）
          */
         public static final String LOGIN_LOCATION = "X-Login-Location";
+
+        /**
+         * 用户权限请求头（网关签名后透传到下游服务，包含角色与权限编码）
+         */
+        public static final String USER_AUTHORITY = "X-User-Authority";
+
+        /**
+         * 网关响应缓存状态响应头（HIT / MISS）
+         */
+        public static final String CACHE_STATUS = "X-Gateway-Cache";
+    }
+
+    /**
+     * 网关响应缓存常量
+     */
+    public static class ResponseCache {
+        /**
+         * 响应缓存清除频道（消息内容为缓存名称，* 表示全部）
+         */
+        public static final String PURGE_CHANNEL = "mms:gateway:channel:response-cache-purge";
+
+        /**
+         * 清除全部缓存
+         */
+        public static final String ALL = "*";
+
+        /**
+         * 字典缓存名称（字典类型/字典数据）
+         */
+        public static final String DICT = "dict";
+
+        /**
+         * 系统配置缓存名称
+         */
+        public static final String CONFIG = "config";
     }
 
     /**
@@ -64,6 +109,11 @@ public class GatewayConstants {
          * TraceId 在 MDC 中的键名
          */
         public static final String TRACE_ID = "traceId";
+
+        /**
+         * SpanId 在 MDC 中的键名
+         */
+        public static final String SPAN_ID = "spanId";
     }
 
     /**
@@ -81,14 +131,44 @@ public class GatewayConstants {
         public static final int TRACE_FILTER = GLOBAL_EXCEPTION_HANDLER + 100;
 
         /**
-         * ClientIpFilter 的执行顺序（在 TraceFilter 之后）
+         * AccessLogFilter 的执行顺序（在 TraceFilter 之后，网关直接返回的请求也能记录）
          */
-        public static final int CLIENT_IP_FILTER = TRACE_FILTER + 100;
+        public static final int ACCESS_LOG_FILTER = TRACE_FILTER + 100;
+
+        /**
+         * ClientIpFilter 的执行顺序（在 AccessLogFilter 之后）
+         */
+        public static final int CLIENT_IP_FILTER = ACCESS_LOG_FILTER + 100;
 
         /**
          * JwtAuthFilter 的执行顺序（在 ClientIpFilter 之后）
          */
         public static final int JWT_AUTH_FILTER = CLIENT_IP_FILTER + 100;
+
+        /**
+         * RateLimitFilter 的执行顺序（在 JwtAuthFilter 之后，需要用到已认证的用户ID）
+         */
+        public static final int RATE_LIMIT_FILTER = JWT_AUTH_FILTER + 100;
+
+        /**
+         * ResponseCacheFilter 的执行顺序（在 RateLimitFilter 之后，命中时直接返回）
+         */
+        public static final int RESPONSE_CACHE_FILTER = RATE_LIMIT_FILTER + 100;
+
+        /**
+         * ForwardHeadersFilter 的执行顺序（在所有 MMS 过滤器之后，将累加的透传请求头一次性写入请求）
+         */
+        public static final int FORWARD_HEADERS_FILTER = RESPONSE_CACHE_FILTER + 100;
+
+        /**
+         * RouteMetricsFilter 的执行顺序（紧挨在负载均衡过滤器 ReactiveLoadBalancerClientFilter(10150) 之前）
+         */
+        public static final int ROUTE_METRICS_FILTER = 10150 - 1;
+
+        /**
+         * ConcurrencyLimitFilter 的执行顺序（在 RouteMetricsFilter 之前，被拒绝的请求不计入下游耗时）
+         */
+        public static final int CONCURRENCY_LIMIT_FILTER = ROUTE_METRICS_FILTER - 1;
     }
 
     /**
@@ -38,16 +38,20 @@ public final class UserCenterConstants {
     public static final class UserAuthority {
 
         /**
-         * 用户角色集合缓存前缀
-         * 示例：mms:usercenter:roles:{userId}
+         * 用户权限快照缓存前缀（值为 AuthoritySnapshot 编码字符串：角色、权限位集）
+         * 示例：mms:usercenter:authority:{userId}
          */
-        public static final String USER_ROLE_PREFIX = "mms:usercenter:roles:";
+        public static final String USER_AUTHORITY_PREFIX = "mms:usercenter:authority:";
 
         /**
-         * 用户权限集合缓存前缀
-         * 示例：mms:usercenter:perms:{userId}
+         * 权限注册表（Hash：权限编码 -> 下标）
          */
-        public static final String USER_PERMISSION_PREFIX = "mms:usercenter:perms:";
+        public static final String PERMISSION_REGISTRY_KEY = "mms:usercenter:perm-registry";
+
+        /**
+         * 权限注册表本地快照刷新间隔（毫秒）
+         */
+        public static final long PERMISSION_REGISTRY_REFRESH_MILLIS = 60_000L;
 
         /**
          * Spring Security 角色前缀
@@ -56,13 +60,99 @@ public final class UserCenterConstants {
 
         /**
          * 角色、权限缓存默认过期时间（分钟）
+         * 角色/权限变更时由用户中心按受影响用户主动清除，过期时间仅作为清除失败时的兜底
+         */
+        public static final long ROLE_PERMISSION_CACHE_TTL_MINUTES = 240L;
+
+        /**
+         * 用户权限失效通知频道（消息为逗号分隔的用户ID，或 {@link #INVALIDATE_ALL}）
+         */
+        public static final String INVALIDATION_CHANNEL = "mms:usercenter:channel:authority-invalidated";
+
+        /**
+         * RBAC 模型变更通知频道（消息格式：ROLE:roleId:version 或 PERMISSION:permissionId:version），用户中心各实例据此增量更新内存模型
          */
-        public static final long ROLE_PERMISSION_CACHE_TTL_MINUTES = 30L;
+        public static final String RBAC_CHANGED_CHANNEL = "mms:usercenter:channel:rbac-changed";
+
+        /**
+         * RBAC 模型版本号（每次角色/权限变更提交后自增，不过期），内存模型落后于该版本时不用于构建权限快照
+         */
+        public static final String RBAC_MODEL_VERSION_KEY = "mms:usercenter:rbac-model:version";
+
+        /**
+         * 用户权限失效通知：全部用户
+         */
+        public static final String INVALIDATE_ALL = "*";
+
+        /**
+         * 用户权限失效通知中的用户ID分隔符
+         */
+        public static final String INVALIDATION_SEPARATOR = ",";
 
         private UserAuthority() {
         }
     }
 
+    /**
+     * 用户认证快照相关（usercenter 请求级 SecurityUser 缓存）
+     */
+    public static final class Principal {
+
+        /**
+         * 用户认证快照缓存前缀（不含密码）
+         * 示例：mms:usercenter:principal:{userId}
+         */
+        public static final String SNAPSHOT_PREFIX = "mms:usercenter:principal:";
+
+        /**
+         * 用户认证快照版本号前缀（用户状态、锁定、角色等变更时自增，版本不一致的快照视为失效）
+         * 示例：mms:usercenter:principal-version:{userId}
+         */
+        public static final String VERSION_PREFIX = "mms:usercenter:principal-version:";
+
+        /**
+         * 用户认证快照过期时间（分钟）
+         */
+        public static final long SNAPSHOT_CACHE_TTL_MINUTES = 30L;
+
+        /**
+         * 版本号过期时间（分钟），需长于快照过期时间；每次写快照时续期，保证版本号回落前旧快照已全部过期
+         */
+        public static final long VERSION_TTL_MINUTES = 35L;
+
+        private Principal() {
+        }
+    }
+
+    /**
+     * 权限树快照相关
+     */
+    public static final class PermissionTree {
+
+        /**
+         * 权限树版本号（权限新增、修改、删除、状态切换提交后自增）
+         */
+        public static final String VERSION_KEY = "mms:usercenter:permission-tree:version";
+
+        /**
+         * 权限树版本变更通知频道（消息为新版本号）
+         */
+        public static final String CHANGED_CHANNEL = "mms:usercenter:channel:permission-tree-changed";
+
+        /**
+         * 本地版本号重新校验间隔（毫秒），兜底变更通知丢失
+         */
+        public static final long REVALIDATE_MILLIS = 60_000L;
+
+        /**
+         * 本地快照最大数量（按查询条件组合）
+         */
+        public static final int MAX_SNAPSHOTS = 64;
+
+        private PermissionTree() {
+        }
+    }
+
     private UserCenterConstants() {
         throw new UnsupportedOperationException("常量类不允许实例化");
     }
@@ -0,0 +1,176 @@
+package com.mms.common.core.permission;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 实现功能【用户权限快照】
+ * <p>
+ * 用户角色与权限位集合并为一个 Redis 值，授权路径一次读取即可获得完整权限：
+ * - 用户中心、下游服务（RedisTemplate）与网关（ReactiveStringRedisTemplate）共用本编解码
+ * - 编码格式：{格式版本}|{权限位集编码}|{角色1},{角色2}...，角色编码中的 % , | 以 %XX 转义
+ * - 快照的新旧由失效机制（删除 Redis 键 + 广播清除本地缓存）保证，快照本身不携带版本号
+ * - 不可变，可在线程间共享
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 21:52:16
+ */
+public final class AuthoritySnapshot implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 编码格式版本
+     */
+    private static final String FORMAT = "2";
+
+    private static final char FIELD_SEPARATOR = '|';
+
+    private static final char ROLE_SEPARATOR = ',';
+
+    private static final char ESCAPE = '%';
+
+    private final Set<String> roles;
+
+    private final PermissionBits permissionBits;
+
+    private AuthoritySnapshot(Set<String> roles, PermissionBits permissionBits) {
+        this.roles = roles;
+        this.permissionBits = permissionBits;
+    }
+
+    /**
+     * 构建快照
+     *
+     * @param roles          角色编码集合（null 视为空）
+     * @param permissionBits 权限位集（null 视为空）
+     * @return 快照
+     */
+    public static AuthoritySnapshot of(Collection<String> roles, PermissionBits permissionBits) {
+        Set<String> copy = new LinkedHashSet<>();
+        if (roles != null) {
+            for (String role : roles) {
+                if (role != null && !role.isEmpty()) {
+                    copy.add(role);
+                }
+            }
+        }
+        return new AuthoritySnapshot(Collections.unmodifiableSet(copy),
+                permissionBits != null ? permissionBits : PermissionBits.EMPTY);
+    }
+
+    /**
+     * 编码为字符串
+     *
+     * @return 编码结果
+     */
+    public String encode() {
+        StringBuilder builder = new StringBuilder(32 + roles.size() * 16)
+                .append(FORMAT).append(FIELD_SEPARATOR)
+                .append(permissionBits.encode()).append(FIELD_SEPARATOR);
+        boolean first = true;
+        for (String role : roles) {
+            if (!first) {
+                builder.append(ROLE_SEPARATOR);
+            }
+            appendEscaped(builder, role);
+            first = false;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 从字符串解码
+     *
+     * @param encoded 编码字符串
+     * @return 快照；为空或格式无法识别（含旧格式）时返回 null（按未缓存处理）
+     */
+    public static AuthoritySnapshot decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        int formatEnd = encoded.indexOf(FIELD_SEPARATOR);
+        int bitsEnd = formatEnd > 0 ? encoded.indexOf(FIELD_SEPARATOR, formatEnd + 1) : -1;
+        if (bitsEnd < 0 || !FORMAT.equals(encoded.substring(0, formatEnd))) {
+            return null;
+        }
+        try {
+            PermissionBits permissionBits = PermissionBits.decode(encoded.substring(formatEnd + 1, bitsEnd));
+            Set<String> roles = new LinkedHashSet<>();
+            int from = bitsEnd + 1;
+            while (from < encoded.length()) {
+                int to = encoded.indexOf(ROLE_SEPARATOR, from);
+                if (to < 0) {
+                    to = encoded.length();
+                }
+                if (to > from) {
+                    roles.add(unescape(encoded, from, to));
+                }
+                from = to + 1;
+            }
+            return new AuthoritySnapshot(Collections.unmodifiableSet(roles), permissionBits);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 角色编码集合（不可变）
+     */
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * 权限位集
+     */
+    public PermissionBits getPermissionBits() {
+        return permissionBits;
+    }
+
+    private static void appendEscaped(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case ESCAPE -> builder.append("%25");
+                case ROLE_SEPARATOR -> builder.append("%2C");
+                case FIELD_SEPARATOR -> builder.append("%7C");
+                default -> builder.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String encoded, int from, int to) {
+        int escapeIndex = encoded.indexOf(ESCAPE, from);
+        if (escapeIndex < 0 || escapeIndex >= to) {
+            return encoded.substring(from, to);
+        }
+        StringBuilder builder = new StringBuilder(to - from);
+        int i = from;
+        while (i < to) {
+            char c = encoded.charAt(i);
+            if (c == ESCAPE) {
+                if (i + 3 > to) {
+                    throw new IllegalArgumentException("转义序列不完整");
+                }
+                builder.append((char) Integer.parseInt(encoded, i + 1, i + 3, 16));
+                i += 3;
+            } else {
+                builder.append(c);
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
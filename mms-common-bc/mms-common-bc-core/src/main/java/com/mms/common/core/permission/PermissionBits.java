@@ -0,0 +1,180 @@
+package com.mms.common.core.permission;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.function.IntConsumer;
+
+/**
+ * 实现功能【权限位集】
+ * <p>
+ * 以权限注册表分配的稠密整数为下标，用一个位表示用户是否拥有该权限：
+ * - 不可变，可在线程间共享
+ * - 权限判断为一次位运算
+ * - 编码为 base64url 字符串（低位在前、去除尾部零字节），几百个权限仅需几十个字符
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 15:02:33
+ */
+public final class PermissionBits implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 空位集
+     */
+    public static final PermissionBits EMPTY = new PermissionBits(new long[0]);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final long[] words;
+
+    private PermissionBits(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 根据权限下标集合构建位集
+     *
+     * @param indexes 权限下标集合（负数忽略）
+     * @return 位集
+     */
+    public static PermissionBits of(Collection<Integer> indexes) {
+        if (indexes == null || indexes.isEmpty()) {
+            return EMPTY;
+        }
+        int max = -1;
+        for (Integer index : indexes) {
+            if (index != null && index > max) {
+                max = index;
+            }
+        }
+        if (max < 0) {
+            return EMPTY;
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (Integer index : indexes) {
+            if (index != null && index >= 0) {
+                words[index >>> 6] |= 1L << index;
+            }
+        }
+        return new PermissionBits(words);
+    }
+
+    /**
+     * 根据 BitSet 构建位集（位布局与 BitSet 一致，直接复制底层 long 数组）
+     *
+     * @param bitSet 下标位集（null 视为空）
+     * @return 位集
+     */
+    public static PermissionBits of(BitSet bitSet) {
+        if (bitSet == null || bitSet.isEmpty()) {
+            return EMPTY;
+        }
+        return new PermissionBits(bitSet.toLongArray());
+    }
+
+    /**
+     * 从 base64url 字符串解码
+     *
+     * @param encoded 编码字符串（null 或空串表示空位集）
+     * @return 位集
+     * @throws IllegalArgumentException 编码格式错误
+     */
+    public static PermissionBits decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return EMPTY;
+        }
+        byte[] bytes = DECODER.decode(encoded);
+        long[] words = new long[(bytes.length + 7) >>> 3];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        return new PermissionBits(words);
+    }
+
+    /**
+     * 编码为 base64url 字符串
+     *
+     * @return 编码字符串（空位集为空串）
+     */
+    public String encode() {
+        int length = words.length << 3;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+        }
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        return length == 0 ? "" : ENCODER.encodeToString(Arrays.copyOf(bytes, length));
+    }
+
+    /**
+     * 判断是否拥有指定下标的权限
+     *
+     * @param index 权限下标
+     * @return true 表示拥有
+     */
+    public boolean has(int index) {
+        int word = index >>> 6;
+        return index >= 0 && word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * 是否为空
+     *
+     * @return true 表示没有任何权限
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 遍历全部权限下标（升序）
+     *
+     * @param action 处理函数
+     */
+    public void forEach(IntConsumer action) {
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                action.accept((w << 6) + bit);
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PermissionBits other)) {
+            return false;
+        }
+        return encode().equals(other.encode());
+    }
+
+    @Override
+    public int hashCode() {
+        return encode().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
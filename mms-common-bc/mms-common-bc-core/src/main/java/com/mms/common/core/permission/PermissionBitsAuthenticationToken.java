@@ -0,0 +1,37 @@
+package com.mms.common.core.permission;
+
+import lombok.Getter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * 实现功能【携带权限位集的认证对象】
+ * <p>
+ * 下游服务的认证过滤器使用该对象填充 SecurityContext，
+ * {@link com.mms.common.core.aop.PermissionCheckAspect} 据此以单次位运算完成权限校验
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 15:12:40
+ */
+@Getter
+public class PermissionBitsAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 权限位集
+     */
+    private final PermissionBits permissionBits;
+
+    public PermissionBitsAuthenticationToken(Object principal,
+                                             Collection<? extends GrantedAuthority> authorities,
+                                             PermissionBits permissionBits) {
+        super(principal, null, authorities);
+        this.permissionBits = permissionBits != null ? permissionBits : PermissionBits.EMPTY;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mms.common.core.permission;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 实现功能【权限注册表】
+ * <p>
+ * 为每个权限编码分配稳定的稠密整数下标（即 permission 表主键，逻辑删除不复用），
+ * 用于在权限编码与 {@link PermissionBits} 之间互相转换
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 15:08:12
+ */
+public interface PermissionRegistry {
+
+    /**
+     * 获取权限编码对应的下标
+     *
+     * @param permissionCode 权限编码
+     * @return 下标；未注册时返回 -1
+     */
+    int indexOf(String permissionCode);
+
+    /**
+     * 获取下标对应的权限编码
+     *
+     * @param index 下标
+     * @return 权限编码；未注册时返回 null
+     */
+    String codeOf(int index);
+
+    /**
+     * 请求尽快重新加载注册表（异步执行，不阻塞调用方）
+     * <p>
+     * 遇到未注册的编码或下标时调用，缩短新增权限在各服务生效前的窗口；默认无操作
+     * </p>
+     */
+    default void requestReload() {
+    }
+
+    /**
+     * 将权限编码集合转换为位集（未注册的编码忽略）
+     *
+     * @param permissionCodes 权限编码集合
+     * @return 位集
+     */
+    default PermissionBits toBits(Collection<String> permissionCodes) {
+        if (permissionCodes == null || permissionCodes.isEmpty()) {
+            return PermissionBits.EMPTY;
+        }
+        List<Integer> indexes = permissionCodes.stream()
+                .map(this::indexOf)
+                .filter(index -> index >= 0)
+                .toList();
+        return PermissionBits.of(indexes);
+    }
+
+    /**
+     * 将位集转换为权限编码集合
+     *
+     * @param bits 位集
+     * @return 权限编码集合；存在未注册的下标时返回 null（注册表尚未同步，调用方应回源）
+     */
+    default Set<String> toCodes(PermissionBits bits) {
+        if (bits == null || bits.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> codes = new LinkedHashSet<>();
+        boolean[] complete = {true};
+        bits.forEach(index -> {
+            String code = codeOf(index);
+            if (code == null) {
+                complete[0] = false;
+            } else {
+                codes.add(code);
+            }
+        });
+        return complete[0] ? codes : null;
+    }
+}
@@ -0,0 +1,203 @@
+package com.mms.common.core.trace;
+
+/**
+ * 实现功能【链路追踪上下文（W3C Trace Context）】
+ * <p>
+ * 对应 traceparent 请求头：00-{traceId}-{spanId}-{flags}，tracestate 原样透传
+ * - 每一跳（网关、服务端、Feign 调用）都基于上游上下文创建子 span：traceId 不变，生成新的 spanId，上游 spanId 作为 parentSpanId
+ * - 根据 traceId + spanId/parentSpanId 即可还原一次请求在各服务间的调用关系与耗时分布
+ * - 调用方传入的 X-Trace-Id 不是 W3C 格式时原样保留，作为日志与响应中的 traceId（{@link #getTraceId()}），
+ *   traceparent 另用新生成的 W3C traceId，两者在整条链路中一并透传
+ * 对象不可变，可在线程/Reactor 上下文之间安全共享
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:08:41
+ */
+public final class TraceContext {
+
+    /**
+     * 当前支持的 traceparent 版本
+     */
+    private static final String VERSION = "00";
+
+    /**
+     * 版本 00 的 traceparent 长度
+     */
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    /**
+     * W3C traceId（traceparent 使用）
+     */
+    private final String traceId;
+
+    /**
+     * 调用方通过 X-Trace-Id 传入、与 W3C traceId 不同的链路标识（没有时为 null）
+     */
+    private final String correlationId;
+
+    private final String spanId;
+
+    private final String parentSpanId;
+
+    private final boolean sampled;
+
+    private final String traceState;
+
+    private TraceContext(String traceId, String correlationId, String spanId, String parentSpanId, boolean sampled,
+                         String traceState) {
+        this.traceId = traceId;
+        this.correlationId = correlationId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+        this.traceState = traceState;
+    }
+
+    /**
+     * 创建新的根上下文（链路起点）
+     *
+     * @return 追踪上下文
+     */
+    public static TraceContext newRoot() {
+        return new TraceContext(TraceIdGenerator.newTraceId(), null, TraceIdGenerator.newSpanId(), null, true, null);
+    }
+
+    /**
+     * 解析上游追踪上下文：优先 traceparent，其次 X-Trace-Id
+     *
+     * @param traceparent traceparent 请求头
+     * @param tracestate  tracestate 请求头（可为空）
+     * @param traceId     X-Trace-Id 请求头（可为空）
+     * @return 追踪上下文；三者均缺失或无效时返回 null
+     */
+    public static TraceContext resolve(String traceparent, String tracestate, String traceId) {
+        TraceContext context = parse(traceparent, tracestate);
+        if (context == null) {
+            return fromTraceId(traceId);
+        }
+        String correlationId = traceId != null ? traceId.trim() : "";
+        if (correlationId.isEmpty() || correlationId.equals(context.traceId)) {
+            return context;
+        }
+        return new TraceContext(context.traceId, correlationId, context.spanId, null, context.sampled, context.traceState);
+    }
+
+    /**
+     * 解析 traceparent / tracestate 请求头
+     *
+     * @param traceparent traceparent 请求头
+     * @param tracestate  tracestate 请求头（可为空）
+     * @return 追踪上下文；traceparent 缺失或格式不正确时返回 null（此时 tracestate 一并忽略）
+     */
+    public static TraceContext parse(String traceparent, String tracestate) {
+        if (traceparent == null) {
+            return null;
+        }
+        String value = traceparent.trim();
+        if (value.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        String version = value.substring(0, 2);
+        // 更高版本只要前缀兼容即可解析；版本 00 必须严格为 55 个字符
+        boolean lengthValid = VERSION.equals(version)
+                ? value.length() == TRACEPARENT_LENGTH
+                : value.length() == TRACEPARENT_LENGTH || value.charAt(TRACEPARENT_LENGTH) == '-';
+        if (!lengthValid || !isLowerHex(version) || "ff".equals(version)
+                || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return null;
+        }
+        String traceId = value.substring(3, 35);
+        String spanId = value.substring(36, 52);
+        String flags = value.substring(53, 55);
+        if (!isLowerHex(traceId) || !isLowerHex(spanId) || !isLowerHex(flags)
+                || INVALID_TRACE_ID.equals(traceId) || INVALID_SPAN_ID.equals(spanId)) {
+            return null;
+        }
+        boolean sampled = (Integer.parseInt(flags, 16) & 0x01) != 0;
+        String state = tracestate != null && !tracestate.isBlank() ? tracestate.trim() : null;
+        return new TraceContext(traceId, null, spanId, null, sampled, state);
+    }
+
+    /**
+     * 以已有的 traceId 创建上下文（兼容只携带 X-Trace-Id 的调用方）
+     * <p>
+     * 32 位小写十六进制直接作为 W3C traceId；其他非空值原样保留为日志与响应中的 traceId，并另外生成 W3C traceId
+     * </p>
+     *
+     * @param traceId traceId
+     * @return 追踪上下文；traceId 为空时返回 null
+     */
+    public static TraceContext fromTraceId(String traceId) {
+        if (traceId == null || traceId.isBlank()) {
+            return null;
+        }
+        String value = traceId.trim();
+        if (value.length() == 32 && isLowerHex(value) && !INVALID_TRACE_ID.equals(value)) {
+            return new TraceContext(value, null, TraceIdGenerator.newSpanId(), null, true, null);
+        }
+        return new TraceContext(TraceIdGenerator.newTraceId(), value, TraceIdGenerator.newSpanId(), null, true, null);
+    }
+
+    /**
+     * 创建子 span（traceId 不变，当前 spanId 成为父 spanId）
+     *
+     * @return 子上下文
+     */
+    public TraceContext child() {
+        return new TraceContext(traceId, correlationId, TraceIdGenerator.newSpanId(), spanId, sampled, traceState);
+    }
+
+    /**
+     * 生成 traceparent 请求头
+     *
+     * @return traceparent
+     */
+    public String toTraceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    /**
+     * 日志、响应与 X-Trace-Id 使用的 traceId（调用方传入非 W3C 格式的 X-Trace-Id 时为该值，否则为 W3C traceId）
+     *
+     * @return traceId
+     */
+    public String getTraceId() {
+        return correlationId != null ? correlationId : traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String getTraceState() {
+        return traceState;
+    }
+
+    private static boolean isLowerHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+}
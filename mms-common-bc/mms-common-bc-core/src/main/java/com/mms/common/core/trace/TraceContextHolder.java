@@ -0,0 +1,48 @@
+package com.mms.common.core.trace;
+
+/**
+ * 实现功能【链路追踪上下文持有者（线程绑定）】
+ * <p>
+ * 仅用于 Servlet/MVC 这类一个请求固定在一个线程上执行的场景，由 TraceIdMvcFilter 设置并在请求结束时清理；
+ * 网关（WebFlux）请求会在多个线程间切换，使用 Reactor Context 传递，不使用本类
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:12:05
+ */
+public final class TraceContextHolder {
+
+    private static final ThreadLocal<TraceContext> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * 获取当前线程的追踪上下文
+     *
+     * @return 追踪上下文，不存在时返回 null
+     */
+    public static TraceContext get() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * 设置当前线程的追踪上下文
+     *
+     * @param context 追踪上下文
+     */
+    public static void set(TraceContext context) {
+        CONTEXT.set(context);
+    }
+
+    /**
+     * 清理当前线程的追踪上下文
+     */
+    public static void clear() {
+        CONTEXT.remove();
+    }
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private TraceContextHolder() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+}
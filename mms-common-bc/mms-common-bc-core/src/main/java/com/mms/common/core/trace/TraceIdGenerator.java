@@ -0,0 +1,68 @@
+package com.mms.common.core.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 实现功能【链路追踪 ID 生成器】
+ * <p>
+ * - traceId：128 位，32 位小写十六进制；spanId：64 位，16 位小写十六进制（W3C Trace Context 格式）
+ * - 基于 ThreadLocalRandom，无锁、不访问 SecureRandom 熵池，高并发下不会相互争用
+ * - 追踪 ID 只要求唯一、不要求不可预测，不能用于任何安全场景
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:02:16
+ */
+public final class TraceIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * 生成 traceId（不会全为 0）
+     *
+     * @return 32 位十六进制字符串
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+        char[] chars = new char[32];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * 生成 spanId（不会全为 0）
+     *
+     * @return 16 位十六进制字符串
+     */
+    public static String newSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+        char[] chars = new char[16];
+        writeHex(value, chars, 0);
+        return new String(chars);
+    }
+
+    private static void writeHex(long value, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private TraceIdGenerator() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+}
@@ -0,0 +1,57 @@
+package com.mms.common.core.warmup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * 实现功能【推迟 Nacos 服务注册】
+ * <p>
+ * Nacos 在 WebServerInitializedEvent 时自动注册，早于 ApplicationReadyEvent 上的启动预热。
+ * 启用预热且未显式关闭注册时，在全部配置加载完成后追加一个最高优先级的属性源，
+ * 把 spring.cloud.nacos.discovery.register-enabled 置为 false，使自动注册跳过；
+ * 预热完成后由 NacosDeferredRegistration 移除该属性源并补做注册。
+ * 非 Web 应用（包括配置刷新时 Spring Cloud 内部构建的临时应用）不会自动注册，直接跳过，避免刷新后重新关闭注册
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:37:40
+ */
+public class DeferredRegistrationEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    /**
+     * 属性源名称（存在即表示注册已被推迟）
+     */
+    public static final String PROPERTY_SOURCE_NAME = "mmsWarmupDeferredRegistration";
+
+    /**
+     * Nacos 服务注册开关
+     */
+    public static final String REGISTER_ENABLED = "spring.cloud.nacos.discovery.register-enabled";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (application.getWebApplicationType() == WebApplicationType.NONE) {
+            return;
+        }
+        boolean deferred = environment.getProperty("mms.warmup.enabled", Boolean.class, true)
+                && environment.getProperty("mms.warmup.defer-registration", Boolean.class, true)
+                && environment.getProperty(REGISTER_ENABLED, Boolean.class, true);
+        if (deferred && !environment.getPropertySources().contains(PROPERTY_SOURCE_NAME)) {
+            environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of(REGISTER_ENABLED, false)));
+        }
+    }
+
+    /**
+     * 在配置文件与配置中心属性加载之后执行
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
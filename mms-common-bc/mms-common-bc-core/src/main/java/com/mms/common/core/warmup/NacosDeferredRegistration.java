@@ -0,0 +1,52 @@
+package com.mms.common.core.warmup;
+
+import com.alibaba.cloud.nacos.NacosDiscoveryProperties;
+import com.alibaba.cloud.nacos.registry.NacosAutoServiceRegistration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实现功能【预热完成后向 Nacos 注册服务】
+ * <p>
+ * - 移除 DeferredRegistrationEnvironmentPostProcessor 添加的属性源，之后配置刷新重新绑定时也不会再关闭注册
+ * - 打开 NacosDiscoveryProperties 的注册开关并启动自动注册（自动注册此前因开关关闭未标记为运行中，端口已在 Web 服务器启动时记录）
+ * - 注册未被推迟（未启用预热或显式关闭注册）时不做任何事
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:39:26
+ */
+@Slf4j
+@Component
+@ConditionalOnClass(name = "com.alibaba.cloud.nacos.registry.NacosAutoServiceRegistration")
+public class NacosDeferredRegistration implements ApplicationListener<WarmupCompletedEvent> {
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    @Autowired
+    private ObjectProvider<NacosDiscoveryProperties> discoveryProperties;
+
+    @Autowired
+    private ObjectProvider<NacosAutoServiceRegistration> autoServiceRegistration;
+
+    @Override
+    public void onApplicationEvent(WarmupCompletedEvent event) {
+        if (environment.getPropertySources().remove(DeferredRegistrationEnvironmentPostProcessor.PROPERTY_SOURCE_NAME) == null) {
+            return;
+        }
+        NacosDiscoveryProperties properties = discoveryProperties.getIfAvailable();
+        NacosAutoServiceRegistration registration = autoServiceRegistration.getIfAvailable();
+        if (properties == null || registration == null) {
+            return;
+        }
+        properties.setRegisterEnabled(true);
+        registration.start();
+        log.info("启动预热结束，已注册到 Nacos: service={}，预热耗时={}ms", properties.getService(), event.getElapsedMillis());
+    }
+}
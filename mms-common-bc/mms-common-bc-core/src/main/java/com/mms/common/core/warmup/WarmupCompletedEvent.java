@@ -0,0 +1,33 @@
+package com.mms.common.core.warmup;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 实现功能【启动预热完成事件】
+ * <p>
+ * 预热结束（包括未启用、无任务、超时）时总会发布一次，延迟注册等后续动作监听该事件
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:33:48
+ */
+@Getter
+public class WarmupCompletedEvent extends ApplicationEvent {
+
+    /**
+     * 预热耗时（毫秒）
+     */
+    private final long elapsedMillis;
+
+    /**
+     * 是否因超时而提前结束
+     */
+    private final boolean timedOut;
+
+    public WarmupCompletedEvent(Object source, long elapsedMillis, boolean timedOut) {
+        super(source);
+        this.elapsedMillis = elapsedMillis;
+        this.timedOut = timedOut;
+    }
+}
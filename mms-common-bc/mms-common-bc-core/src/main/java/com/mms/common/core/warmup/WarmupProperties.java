@@ -0,0 +1,83 @@
+package com.mms.common.core.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 实现功能【启动预热配置】
+ * <p>
+ * 配置示例：
+ * mms:
+ *   warmup:
+ *     enabled: true
+ *     defer-registration: true
+ *     timeout: 30s
+ *     iterations: 200
+ *     tasks:
+ *       mapper:
+ *         iterations: 20
+ *       redis:
+ *         enabled: false
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:33:05
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mms.warmup")
+public class WarmupProperties {
+
+    /**
+     * 是否启用启动预热
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否在预热完成（或超时）后才注册到 Nacos
+     * 仅在应用启动时读取（见 DeferredRegistrationEnvironmentPostProcessor），运行期修改无效
+     */
+    private boolean deferRegistration = true;
+
+    /**
+     * 预热总超时时间，超时后中断未完成的任务并继续注册
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * 每个任务默认执行轮次
+     */
+    private int iterations = 200;
+
+    /**
+     * 并发执行任务的线程数
+     */
+    private int parallelism = 2;
+
+    /**
+     * 按任务名称覆盖的配置
+     */
+    private Map<String, Task> tasks = new LinkedHashMap<>();
+
+    /**
+     * 单个任务配置
+     */
+    @Data
+    public static class Task {
+
+        /**
+         * 是否启用该任务
+         */
+        private boolean enabled = true;
+
+        /**
+         * 执行轮次，未配置时使用全局 iterations
+         */
+        private Integer iterations;
+    }
+}
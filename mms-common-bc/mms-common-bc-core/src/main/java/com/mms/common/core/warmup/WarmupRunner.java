@@ -0,0 +1,110 @@
+package com.mms.common.core.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 实现功能【启动预热执行器】
+ * <p>
+ * 与 StartupLogger 一样监听 ApplicationReadyEvent，在启动线程上同步执行全部 {@link WarmupTask}：
+ * - 任务在独立线程池中并发执行，总耗时受 mms.warmup.timeout 限制，超时后中断剩余任务
+ * - 单个任务失败只记录日志，不影响其它任务与应用启动
+ * - 同步执行期间 Spring Boot 尚未发布 ACCEPTING_TRAFFIC 就绪状态，Nacos 注册也被推迟（见 NacosDeferredRegistration）
+ * - 结束后总会发布 {@link WarmupCompletedEvent}
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:35:12
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Autowired
+    private WarmupProperties properties;
+
+    @Autowired
+    private ObjectProvider<WarmupTask> warmupTasks;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long start = System.nanoTime();
+        List<WarmupTask> tasks = properties.isEnabled()
+                ? warmupTasks.orderedStream().filter(task -> taskConfig(task).isEnabled()).toList()
+                : List.of();
+        boolean timedOut = !tasks.isEmpty() && !runAll(tasks);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!tasks.isEmpty()) {
+            log.info("启动预热结束: 任务数={}，耗时={}ms，超时={}", tasks.size(), elapsedMillis, timedOut);
+        }
+        eventPublisher.publishEvent(new WarmupCompletedEvent(this, elapsedMillis, timedOut));
+    }
+
+    /**
+     * 执行全部任务
+     *
+     * @return 是否在超时时间内全部完成
+     */
+    private boolean runAll(List<WarmupTask> tasks) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(properties.getParallelism(), tasks.size())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mms-warmup-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        for (WarmupTask task : tasks) {
+            executor.execute(() -> run(task));
+        }
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        log.warn("启动预热超过 {}，已中断未完成的任务", properties.getTimeout());
+        return false;
+    }
+
+    private void run(WarmupTask task) {
+        WarmupProperties.Task config = taskConfig(task);
+        int iterations = config.getIterations() != null ? config.getIterations() : properties.getIterations();
+        long start = System.nanoTime();
+        int completed = 0;
+        try {
+            task.prepare();
+            while (completed < iterations && !Thread.currentThread().isInterrupted()) {
+                task.execute();
+                completed++;
+            }
+            log.info("预热任务完成: {}，轮次={}，耗时={}ms", task.getName(), completed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("预热任务失败，已跳过: {}，已完成轮次={}，原因: {}", task.getName(), completed, e.getMessage());
+        }
+    }
+
+    private WarmupProperties.Task taskConfig(WarmupTask task) {
+        WarmupProperties.Task config = properties.getTasks().get(task.getName());
+        return config != null ? config : new WarmupProperties.Task();
+    }
+}
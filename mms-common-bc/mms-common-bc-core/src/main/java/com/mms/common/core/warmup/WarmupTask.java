@@ -0,0 +1,36 @@
+package com.mms.common.core.warmup;
+
+/**
+ * 实现功能【启动预热任务】
+ * <p>
+ * 应用就绪后、注册到注册中心前，由 {@link WarmupRunner} 反复调用 {@link #execute()} 走一遍热点路径，
+ * 让类加载、JIT 编译与连接池建连发生在接收流量之前
+ * - 实现类注册为 Spring Bean 即可被发现，任务名称用于日志与按名称覆盖配置（mms.warmup.tasks.&lt;name&gt;）
+ * - 只能使用合成数据，不得产生业务副作用（不写库、不写业务缓存）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:32:16
+ */
+public interface WarmupTask {
+
+    /**
+     * 任务名称
+     */
+    String getName();
+
+    /**
+     * 预热前的一次性准备（如预先建立连接池连接），默认不做任何事
+     *
+     * @throws Exception 准备失败时跳过该任务
+     */
+    default void prepare() throws Exception {
+    }
+
+    /**
+     * 执行一轮预热
+     *
+     * @throws Exception 执行失败时停止该任务的后续轮次
+     */
+    void execute() throws Exception;
+}
@@ -0,0 +1,37 @@
+package com.mms.common.database.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 实现功能【事务工具类】
+ * <p>
+ * 缓存清除、变更通知等副作用需在事务提交后执行，避免其他线程在提交前按旧数据重建缓存，或在回滚后收到通知
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-19 11:02:37
+ */
+public final class TransactionUtils {
+
+    private TransactionUtils() {
+    }
+
+    /**
+     * 在当前事务提交后执行；当前线程没有事务同步时立即执行
+     *
+     * @param action 要执行的操作
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.mms.common.database.warmup;
+
+import com.mms.common.core.warmup.WarmupTask;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 实现功能【数据库连接池预热任务】
+ * <p>
+ * - 准备阶段同时借出 minimumIdle 个连接再归还，促使 Hikari 在接收流量前建立全部空闲连接，
+ *   而不是在第一波请求到来时由后台线程逐个补建
+ * - 每轮借出一个连接做一次有效性检查，覆盖借还连接与驱动校验路径
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:48:52
+ */
+@Component
+public class DataSourceWarmupTask implements WarmupTask {
+
+    /**
+     * 连接有效性检查超时（秒）
+     */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    @Resource
+    private DataSource dataSource;
+
+    @Override
+    public String getName() {
+        return "datasource";
+    }
+
+    @Override
+    public void prepare() throws SQLException {
+        int connections = dataSource instanceof HikariDataSource hikari
+                ? Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize())
+                : 1;
+        List<Connection> borrowed = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                borrowed.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : borrowed) {
+                connection.close();
+            }
+        }
+    }
+
+    @Override
+    public void execute() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        }
+    }
+}
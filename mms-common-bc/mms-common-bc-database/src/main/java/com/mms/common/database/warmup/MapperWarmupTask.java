@@ -0,0 +1,62 @@
+package com.mms.common.database.warmup;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.mms.common.core.warmup.WarmupTask;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 实现功能【Mapper 查询预热任务】
+ * <p>
+ * 对每个 MyBatis-Plus Mapper 按不存在的主键（-1）执行 selectById：
+ * 走完 Mapper 代理、MyBatis-Plus 插件链、参数绑定、预编译语句与结果映射，但不会命中任何数据。
+ * 某个 Mapper 失败（如实体未声明主键）时只将其移出，不影响其它 Mapper
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:51:13
+ */
+@Slf4j
+@Component
+public class MapperWarmupTask implements WarmupTask {
+
+    /**
+     * 不存在的主键
+     */
+    private static final Long MISSING_ID = -1L;
+
+    @Resource
+    private ObjectProvider<BaseMapper<?>> mapperProvider;
+
+    private List<BaseMapper<?>> mappers = List.of();
+
+    @Override
+    public String getName() {
+        return "mapper";
+    }
+
+    @Override
+    public void prepare() {
+        mappers = new ArrayList<>(mapperProvider.stream().toList());
+    }
+
+    @Override
+    public void execute() {
+        Iterator<BaseMapper<?>> iterator = mappers.iterator();
+        while (iterator.hasNext()) {
+            BaseMapper<?> mapper = iterator.next();
+            try {
+                mapper.selectById(MISSING_ID);
+            } catch (RuntimeException e) {
+                iterator.remove();
+                log.debug("Mapper 预热失败，已跳过: {} - {}", mapper, e.getMessage());
+            }
+        }
+    }
+}
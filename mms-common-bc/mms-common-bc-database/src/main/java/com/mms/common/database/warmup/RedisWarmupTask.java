@@ -0,0 +1,44 @@
+package com.mms.common.database.warmup;
+
+import com.mms.common.core.warmup.WarmupTask;
+import jakarta.annotation.Resource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 实现功能【Redis 预热任务】
+ * <p>
+ * - 每轮通过 RedisTemplate 发送一次 PING，提前建立共享连接并走通命令编解码
+ * - 同时对合成数据做一次值序列化/反序列化，预热 JSON 序列化器（不写入 Redis）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:53:02
+ */
+@Component
+public class RedisWarmupTask implements WarmupTask {
+
+    private static final Map<String, Object> SAMPLE = Map.of("userId", -1L, "username", "warmup", "enabled", true);
+
+    @Resource
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public String getName() {
+        return "redis";
+    }
+
+    @Override
+    public void execute() {
+        redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        serializer.deserialize(serializer.serialize(SAMPLE));
+    }
+}
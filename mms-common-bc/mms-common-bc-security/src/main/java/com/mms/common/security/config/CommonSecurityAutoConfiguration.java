@@ -1,18 +1,26 @@
 package com.mms.common.security.config;
 
+import com.mms.common.core.permission.PermissionRegistry;
+import com.mms.common.security.permission.RedisPermissionRegistry;
+import com.mms.common.security.properties.AuthorityHeaderProperties;
 import com.mms.common.security.properties.JwtProperties;
+import com.mms.common.security.utils.AuthorityHeaderUtils;
 import com.mms.common.security.utils.JwtUtils;
 import com.mms.common.security.utils.ReactiveTokenValidatorUtils;
 import com.mms.common.security.utils.RefreshTokenUtils;
 import com.mms.common.security.utils.TokenBlacklistUtils;
 import com.mms.common.security.utils.TokenValidatorUtils;
+import com.mms.common.security.warmup.SecurityWarmupTask;
 import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -29,7 +37,7 @@ import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
  */
 @Configuration
 @ConditionalOnClass(Jwts.class)  // 只有在项目中引入了 jjwt 依赖时此配置类才生效
-@EnableConfigurationProperties(JwtProperties.class)  // 在此类当中注入 JwtProperties Bean
+@EnableConfigurationProperties({JwtProperties.class, AuthorityHeaderProperties.class})  // 在此类当中注入 JwtProperties、AuthorityHeaderProperties Bean
 public class CommonSecurityAutoConfiguration {
 
 	/**
@@ -43,17 +51,40 @@ public class CommonSecurityAutoConfiguration {
 		return new JwtUtils(jwtProperties);
 	}
 
+	/**
+	 * 创建 AuthorityHeaderUtils Bean
+	 * 始终创建，未配置 security.authority-header.secret 时处于禁用状态（不编码、不信任权限头）
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public AuthorityHeaderUtils authorityHeaderUtils(AuthorityHeaderProperties authorityHeaderProperties) {
+		return new AuthorityHeaderUtils(authorityHeaderProperties);
+	}
+
+	/**
+	 * 配置刷新后重新加载 JWT 密钥环
+	 * 仅当引入 spring-cloud-context（如 Nacos 配置中心）时创建，JwtUtils 不存在时忽略
+	 */
+	@Configuration
+	@ConditionalOnClass(RefreshScopeRefreshedEvent.class)
+	static class JwtKeyRingRefreshConfiguration {
+
+		@Bean
+		public ApplicationListener<RefreshScopeRefreshedEvent> jwtKeyRingRefreshListener(ObjectProvider<JwtUtils> jwtUtils) {
+			// RefreshScopeRefreshedEvent 在 @ConfigurationProperties 重新绑定之后发布，此时 JwtProperties 已是最新值
+			return event -> jwtUtils.ifAvailable(JwtUtils::reload);
+		}
+	}
+
 	/**
 	 * 创建 ReactiveTokenValidatorUtils Bean
-	 * 仅当 JwtUtils、ReactiveStringRedisTemplate 存在时创建
+	 * 仅当 JwtUtils、ReactiveStringRedisTemplate 存在时（Reactive 环境）创建
 	 */
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnBean({JwtUtils.class, ReactiveStringRedisTemplate.class})
-	public ReactiveTokenValidatorUtils reactiveTokenValidatorUtils(
-			JwtUtils jwtUtils,
-			ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
-		return new ReactiveTokenValidatorUtils(jwtUtils, reactiveStringRedisTemplate);
+	public ReactiveTokenValidatorUtils reactiveTokenValidatorUtils(JwtUtils jwtUtils) {
+		return new ReactiveTokenValidatorUtils(jwtUtils);
 	}
 
 	/**
@@ -63,8 +94,8 @@ public class CommonSecurityAutoConfiguration {
 	@Bean
 	@ConditionalOnBean(RedisTemplate.class)
 	@ConditionalOnMissingBean(ReactiveStringRedisTemplate.class)
-	public TokenBlacklistUtils tokenBlacklistUtils(RedisTemplate<String, Object> redisTemplate) {
-		return new TokenBlacklistUtils(redisTemplate);
+	public TokenBlacklistUtils tokenBlacklistUtils(RedisTemplate<String, Object> redisTemplate, JwtProperties jwtProperties) {
+		return new TokenBlacklistUtils(redisTemplate, jwtProperties);
 	}
 
 	/**
@@ -78,6 +109,18 @@ public class CommonSecurityAutoConfiguration {
 		return new RefreshTokenUtils(redisTemplate);
 	}
 
+	/**
+	 * 创建 RedisPermissionRegistry Bean
+	 * 仅在非Reactive环境下（存在 RedisTemplate 且不存在 ReactiveStringRedisTemplate）创建
+	 * 启动时加载注册表并开启后台定时刷新
+	 */
+	@Bean(initMethod = "start", destroyMethod = "stop")
+	@ConditionalOnBean(RedisTemplate.class)
+	@ConditionalOnMissingBean({PermissionRegistry.class, ReactiveStringRedisTemplate.class})
+	public RedisPermissionRegistry permissionRegistry(RedisTemplate<String, Object> redisTemplate) {
+		return new RedisPermissionRegistry(redisTemplate);
+	}
+
 	/**
 	 * 创建 TokenValidatorUtils Bean
 	 * 只有当 JwtUtils 存在时才创建（即配置了 jwt.secret）
@@ -91,6 +134,17 @@ public class CommonSecurityAutoConfiguration {
 			TokenBlacklistUtils tokenBlacklistUtils) {
 		return new TokenValidatorUtils(jwtUtils, tokenBlacklistUtils);
 	}
-}
-
 
+	/**
+	 * 创建安全热点路径预热任务
+	 * 只有当 JwtUtils 存在时才创建，权限注册表、权限请求头工具按需使用
+	 */
+	@Bean
+	@ConditionalOnBean(JwtUtils.class)
+	public SecurityWarmupTask securityWarmupTask(
+			JwtUtils jwtUtils,
+			ObjectProvider<AuthorityHeaderUtils> authorityHeaderUtils,
+			ObjectProvider<PermissionRegistry> permissionRegistry) {
+		return new SecurityWarmupTask(jwtUtils, authorityHeaderUtils.getIfAvailable(), permissionRegistry.getIfAvailable());
+	}
+}
@@ -61,6 +61,31 @@ public class JwtConstants {
          * Redis中Refresh Token存储的key前缀
          */
         public static final String REFRESH_TOKEN_PREFIX = "mms:auth:refresh:";
+
+        /**
+         * Redis中用户Token吊销时间点的key前缀（值为毫秒时间戳，签发时间早于该时间点的Token全部失效）
+         */
+        public static final String TOKENS_VALID_AFTER_PREFIX = "mms:auth:valid-after:";
+    }
+
+    /**
+     * Redis 发布/订阅频道常量
+     */
+    public static final class Channels {
+        /**
+         * Token吊销通知频道（消息格式：tokenType:expirationMillis:jti）
+         */
+        public static final String TOKEN_REVOKED = "mms:auth:channel:revoked";
+
+        /**
+         * 用户全部Token吊销通知频道（消息格式：userId:validAfterMillis）
+         */
+        public static final String USER_TOKENS_REVOKED = "mms:auth:channel:user-revoked";
+
+        /**
+         * Token吊销消息字段分隔符
+         */
+        public static final String MESSAGE_SEPARATOR = ":";
     }
 
     /**
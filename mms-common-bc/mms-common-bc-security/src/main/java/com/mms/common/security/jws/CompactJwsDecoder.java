@@ -0,0 +1,514 @@
+package com.mms.common.security.jws;
+
+import com.mms.common.core.enums.ErrorCode;
+import com.mms.common.core.exceptions.BusinessException;
+import com.mms.common.security.constants.JwtConstants;
+import com.mms.common.security.enums.TokenType;
+import com.mms.common.security.key.HmacVerifier;
+import com.mms.common.security.key.JwtKeyRing;
+import io.jsonwebtoken.Claims;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 实现功能【精简 JWS 解码器（HMAC）】
+ * <p>
+ * 面向网关热点路径，只处理本系统签发的 Token 形态，比 jjwt 通用解析少大部分中间对象：
+ * - 头部仅允许 alg/kid/typ，alg 必须与 kid 对应密钥的 HS256/HS384/HS512 一致
+ * - Base64URL 解码到按线程复用的缓冲区，HMAC 使用按线程缓存的 Mac，签名以常量时间比较
+ * - 载荷按字节流式扫描，只接受 userId、username、tokenType、jti、iat、exp 六个声明，直接生成 JwtToken
+ * - 任何超出上述形态的 Token（其他头部字段/声明、转义字符、重复字段等）返回 null，由调用方回退 jjwt
+ * - 形态可识别但 kid 未知或签名不匹配时直接判定无效；不校验过期，由调用方处理
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:47:18
+ */
+public final class CompactJwsDecoder {
+
+    /**
+     * 超过该长度的 Token 交给 jjwt（本系统签发的 Token 远小于该值）
+     */
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    /**
+     * 最大签名长度（HS512）
+     */
+    private static final int MAX_MAC_LENGTH = 64;
+
+    private static final byte[] HEADER_ALG = ascii("alg");
+    private static final byte[] HEADER_KID = ascii("kid");
+    private static final byte[] HEADER_TYP = ascii("typ");
+
+    private static final int CLAIM_USER_ID = 0;
+    private static final int CLAIM_USERNAME = 1;
+    private static final int CLAIM_TOKEN_TYPE = 2;
+    private static final int CLAIM_JTI = 3;
+    private static final int CLAIM_IAT = 4;
+    private static final int CLAIM_EXP = 5;
+
+    /**
+     * 声明名（下标即上面的 CLAIM_* 常量）
+     */
+    private static final byte[][] CLAIM_NAMES = {
+            ascii(JwtConstants.Claims.USER_ID),
+            ascii(JwtConstants.Claims.USERNAME),
+            ascii(JwtConstants.Claims.TOKEN_TYPE),
+            ascii(Claims.ID),
+            ascii(Claims.ISSUED_AT),
+            ascii(Claims.EXPIRATION)
+    };
+
+    private static final int ALL_CLAIMS = (1 << CLAIM_NAMES.length) - 1;
+
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    private static final byte[][] TOKEN_TYPE_NAMES = Arrays.stream(TOKEN_TYPES)
+            .map(tokenType -> ascii(tokenType.name()))
+            .toArray(byte[][]::new);
+
+    /**
+     * Base64URL 字符 -> 6 位值，非法字符为 -1
+     */
+    private static final int[] BASE64_URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64_URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * 解码并验签
+     *
+     * @param token   Token 字符串
+     * @param keyRing 当前密钥环
+     * @return 验签通过的 JwtToken；Token 形态不在支持范围内时返回 null（调用方应回退 jjwt）
+     * @throws BusinessException kid 未知或已退役、签名不匹配
+     */
+    public static JwtToken decode(String token, JwtKeyRing keyRing) {
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd > 0 ? token.indexOf('.', headerEnd + 1) : -1;
+        if (payloadEnd < 0 || payloadEnd == headerEnd + 1 || payloadEnd == length - 1
+                || token.indexOf('.', payloadEnd + 1) >= 0) {
+            return null;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        byte[] input = scratch.input(length);
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c >= 0x80) {
+                return null;
+            }
+            input[i] = (byte) c;
+        }
+
+        // 头部：定位验签器
+        byte[] json = scratch.json(Math.max(headerEnd, payloadEnd - headerEnd - 1));
+        int headerLength = decodeBase64Url(input, 0, headerEnd, json);
+        if (headerLength < 0) {
+            return null;
+        }
+        HmacVerifier verifier = parseHeader(scratch.cursor.reset(json, headerLength), keyRing.getVerifiers());
+        if (verifier == null) {
+            return null;
+        }
+
+        // 签名：HMAC(header.payload) 与 Token 携带的签名常量时间比较
+        int signatureLength = decodeBase64Url(input, payloadEnd + 1, length, scratch.signature);
+        if (signatureLength != verifier.getMacLength()) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
+        Mac mac = verifier.mac();
+        mac.update(input, 0, payloadEnd);
+        try {
+            mac.doFinal(scratch.expected, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        int diff = 0;
+        for (int i = 0; i < signatureLength; i++) {
+            diff |= scratch.signature[i] ^ scratch.expected[i];
+        }
+        if (diff != 0) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
+
+        // 载荷：流式扫描固定声明集
+        int payloadLength = decodeBase64Url(input, headerEnd + 1, payloadEnd, json);
+        if (payloadLength < 0) {
+            return null;
+        }
+        return parsePayload(scratch.cursor.reset(json, payloadLength));
+    }
+
+    /**
+     * 解析 JWS 头部
+     *
+     * @return 对应的验签器；头部形态不支持或算法不一致时返回 null
+     * @throws BusinessException kid 未知或已退役
+     */
+    private static HmacVerifier parseHeader(JsonCursor cursor, List<HmacVerifier> verifiers) {
+        if (!cursor.consume('{')) {
+            return null;
+        }
+        int algFrom = -1;
+        int algTo = -1;
+        int kidFrom = -1;
+        int kidTo = -1;
+        boolean typSeen = false;
+        do {
+            if (!cursor.readString() || !cursor.consume(':')) {
+                return null;
+            }
+            if (cursor.stringEquals(HEADER_ALG) && algFrom < 0) {
+                if (!cursor.readString()) {
+                    return null;
+                }
+                algFrom = cursor.stringFrom;
+                algTo = cursor.stringTo;
+            } else if (cursor.stringEquals(HEADER_KID) && kidFrom < 0) {
+                if (!cursor.readString()) {
+                    return null;
+                }
+                kidFrom = cursor.stringFrom;
+                kidTo = cursor.stringTo;
+            } else if (cursor.stringEquals(HEADER_TYP) && !typSeen) {
+                if (!cursor.readString()) {
+                    return null;
+                }
+                typSeen = true;
+            } else {
+                return null;
+            }
+        } while (cursor.consume(','));
+        if (!cursor.consume('}') || !cursor.atEnd() || algFrom < 0) {
+            return null;
+        }
+
+        HmacVerifier verifier = kidFrom >= 0
+                ? findVerifier(verifiers, cursor.buf, kidFrom, kidTo)
+                : findVerifier(verifiers, JwtKeyRing.DEFAULT_KID);
+        if (verifier == null) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
+        return verifier.algorithmEquals(cursor.buf, algFrom, algTo) ? verifier : null;
+    }
+
+    /**
+     * 解析载荷
+     *
+     * @return JwtToken；声明不完整或形态不支持时返回 null
+     */
+    private static JwtToken parsePayload(JsonCursor cursor) {
+        if (!cursor.consume('{')) {
+            return null;
+        }
+        String userId = null;
+        String username = null;
+        TokenType tokenType = null;
+        String jti = null;
+        long issuedAt = 0;
+        long expiration = 0;
+        int seen = 0;
+        do {
+            if (!cursor.readString() || !cursor.consume(':')) {
+                return null;
+            }
+            int claim = cursor.stringIndex(CLAIM_NAMES);
+            if (claim < 0 || (seen & (1 << claim)) != 0) {
+                return null;
+            }
+            seen |= 1 << claim;
+            switch (claim) {
+                case CLAIM_USER_ID -> {
+                    if (cursor.peek() == '"') {
+                        userId = cursor.readString() ? cursor.string() : null;
+                    } else {
+                        long value = cursor.readLong();
+                        userId = value != Long.MIN_VALUE ? Long.toString(value) : null;
+                    }
+                    if (userId == null) {
+                        return null;
+                    }
+                }
+                case CLAIM_USERNAME -> {
+                    if (!cursor.readString()) {
+                        return null;
+                    }
+                    username = cursor.string();
+                }
+                case CLAIM_TOKEN_TYPE -> {
+                    if (!cursor.readString()) {
+                        return null;
+                    }
+                    int index = cursor.stringIndex(TOKEN_TYPE_NAMES);
+                    tokenType = index >= 0 ? TOKEN_TYPES[index] : null;
+                }
+                case CLAIM_JTI -> {
+                    if (!cursor.readString()) {
+                        return null;
+                    }
+                    jti = cursor.string();
+                }
+                case CLAIM_IAT -> issuedAt = cursor.readLong();
+                case CLAIM_EXP -> expiration = cursor.readLong();
+                default -> {
+                    return null;
+                }
+            }
+        } while (cursor.consume(','));
+        if (!cursor.consume('}') || !cursor.atEnd() || seen != ALL_CLAIMS || issuedAt <= 0 || expiration <= 0) {
+            return null;
+        }
+        return new JwtToken(userId, username, tokenType, jti, issuedAt * 1000, expiration * 1000);
+    }
+
+    private static HmacVerifier findVerifier(List<HmacVerifier> verifiers, byte[] buf, int from, int to) {
+        for (int i = 0; i < verifiers.size(); i++) {
+            HmacVerifier verifier = verifiers.get(i);
+            if (verifier.kidEquals(buf, from, to)) {
+                return verifier;
+            }
+        }
+        return null;
+    }
+
+    private static HmacVerifier findVerifier(List<HmacVerifier> verifiers, String kid) {
+        for (int i = 0; i < verifiers.size(); i++) {
+            HmacVerifier verifier = verifiers.get(i);
+            if (verifier.getKid().equals(kid)) {
+                return verifier;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Base64URL（无填充）解码
+     *
+     * @return 解码后的字节数；包含非法字符或长度不合法时返回 -1
+     */
+    private static int decodeBase64Url(byte[] src, int from, int to, byte[] dst) {
+        int length = to - from;
+        int remainder = length & 3;
+        if (remainder == 1 || (length >> 2) * 3 + Math.max(remainder - 1, 0) > dst.length) {
+            return -1;
+        }
+        int in = from;
+        int out = 0;
+        int blocksEnd = to - remainder;
+        while (in < blocksEnd) {
+            int bits = sextet(src[in]) << 18 | sextet(src[in + 1]) << 12 | sextet(src[in + 2]) << 6 | sextet(src[in + 3]);
+            if (bits < 0) {
+                return -1;
+            }
+            dst[out++] = (byte) (bits >> 16);
+            dst[out++] = (byte) (bits >> 8);
+            dst[out++] = (byte) bits;
+            in += 4;
+        }
+        if (remainder == 2) {
+            int bits = sextet(src[in]) << 18 | sextet(src[in + 1]) << 12;
+            if (bits < 0) {
+                return -1;
+            }
+            dst[out++] = (byte) (bits >> 16);
+        } else if (remainder == 3) {
+            int bits = sextet(src[in]) << 18 | sextet(src[in + 1]) << 12 | sextet(src[in + 2]) << 6;
+            if (bits < 0) {
+                return -1;
+            }
+            dst[out++] = (byte) (bits >> 16);
+            dst[out++] = (byte) (bits >> 8);
+        }
+        return out;
+    }
+
+    private static int sextet(byte b) {
+        return BASE64_URL[b];
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 按线程复用的缓冲区
+     */
+    private static final class Scratch {
+
+        private byte[] input = new byte[1024];
+
+        private byte[] json = new byte[768];
+
+        private final byte[] signature = new byte[MAX_MAC_LENGTH];
+
+        private final byte[] expected = new byte[MAX_MAC_LENGTH];
+
+        private final JsonCursor cursor = new JsonCursor();
+
+        private byte[] input(int length) {
+            if (input.length < length) {
+                input = new byte[length];
+            }
+            return input;
+        }
+
+        /**
+         * 获取可容纳 encodedLength 个 Base64URL 字符解码结果的缓冲区
+         */
+        private byte[] json(int encodedLength) {
+            int capacity = encodedLength / 4 * 3 + 2;
+            if (json.length < capacity) {
+                json = new byte[capacity];
+            }
+            return json;
+        }
+    }
+
+    /**
+     * 最小 JSON 字节扫描器
+     * <p>
+     * 只支持本解码器需要的子集：对象、无转义字符串、整数；遇到其他形态返回失败，由调用方回退 jjwt
+     * </p>
+     */
+    private static final class JsonCursor {
+
+        private byte[] buf;
+
+        private int pos;
+
+        private int end;
+
+        /**
+         * 最近一次 readString 读到的字符串区间（不含引号）
+         */
+        private int stringFrom;
+
+        private int stringTo;
+
+        private JsonCursor reset(byte[] buf, int end) {
+            this.buf = buf;
+            this.pos = 0;
+            this.end = end;
+            return this;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end) {
+                byte b = buf[pos];
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private int peek() {
+            skipWhitespace();
+            return pos < end ? buf[pos] : -1;
+        }
+
+        private boolean consume(char c) {
+            if (peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean atEnd() {
+            skipWhitespace();
+            return pos == end;
+        }
+
+        /**
+         * 读取字符串（含转义或控制字符时失败）
+         */
+        private boolean readString() {
+            if (!consume('"')) {
+                return false;
+            }
+            int from = pos;
+            while (pos < end) {
+                byte b = buf[pos];
+                if (b == '"') {
+                    stringFrom = from;
+                    stringTo = pos++;
+                    return true;
+                }
+                if (b == '\\' || (b >= 0 && b < 0x20)) {
+                    return false;
+                }
+                pos++;
+            }
+            return false;
+        }
+
+        private String string() {
+            return new String(buf, stringFrom, stringTo - stringFrom, StandardCharsets.UTF_8);
+        }
+
+        private boolean stringEquals(byte[] expected) {
+            if (stringTo - stringFrom != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (buf[stringFrom + i] != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int stringIndex(byte[][] candidates) {
+            for (int i = 0; i < candidates.length; i++) {
+                if (stringEquals(candidates[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 读取整数（最多 18 位）
+         *
+         * @return 整数值；不是整数时返回 Long.MIN_VALUE
+         */
+        private long readLong() {
+            skipWhitespace();
+            boolean negative = pos < end && buf[pos] == '-';
+            if (negative) {
+                pos++;
+            }
+            int from = pos;
+            long value = 0;
+            while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                value = value * 10 + (buf[pos++] - '0');
+            }
+            int digits = pos - from;
+            if (digits == 0 || digits > 18 || (pos < end && (buf[pos] == '.' || buf[pos] == 'e' || buf[pos] == 'E'))) {
+                return Long.MIN_VALUE;
+            }
+            return negative ? -value : value;
+        }
+    }
+
+    private CompactJwsDecoder() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+}
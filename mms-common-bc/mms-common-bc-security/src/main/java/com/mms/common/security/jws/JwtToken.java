@@ -0,0 +1,71 @@
+package com.mms.common.security.jws;
+
+import com.mms.common.security.constants.JwtConstants;
+import com.mms.common.security.enums.TokenType;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * 实现功能【已验签 Token（固定声明集）】
+ * <p>
+ * 仅包含本系统签发的声明：userId、username、tokenType、jti、iat、exp，
+ * 由 CompactJwsDecoder 直接生成，或由 jjwt 解析得到的 Claims 转换而来，不可变，可缓存共享
+ * </p>
+ *
+ * @param userId     用户ID（可能为 null）
+ * @param username   用户名（可能为 null）
+ * @param tokenType  Token 类型（缺失或无法识别时为 null）
+ * @param jti        Token 标识（可能为 null）
+ * @param issuedAt   签发时间（毫秒），缺失时为 0
+ * @param expiration 过期时间（毫秒），缺失时为 0
+ * @author li.hongyu
+ * @date 2026-10-18 20:43:52
+ */
+public record JwtToken(String userId, String username, TokenType tokenType, String jti, long issuedAt, long expiration) {
+
+    /**
+     * 由 jjwt Claims 转换
+     *
+     * @param claims 已验签的 Claims
+     * @return JwtToken
+     */
+    public static JwtToken from(Claims claims) {
+        return new JwtToken(
+                toString(claims.get(JwtConstants.Claims.USER_ID)),
+                toString(claims.get(JwtConstants.Claims.USERNAME)),
+                toTokenType(claims.get(JwtConstants.Claims.TOKEN_TYPE)),
+                claims.getId(),
+                toMillis(claims.getIssuedAt()),
+                toMillis(claims.getExpiration()));
+    }
+
+    /**
+     * 判断是否已过期（缺失 exp 视为已过期）
+     *
+     * @param now 当前时间（毫秒）
+     * @return true 表示已过期
+     */
+    public boolean isExpired(long now) {
+        return expiration <= 0 || expiration < now;
+    }
+
+    private static String toString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static TokenType toTokenType(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return TokenType.valueOf(value.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long toMillis(Date date) {
+        return date != null ? date.getTime() : 0L;
+    }
+}
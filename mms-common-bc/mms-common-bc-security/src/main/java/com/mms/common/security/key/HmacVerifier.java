@@ -0,0 +1,130 @@
+package com.mms.common.security.key;
+
+import lombok.Getter;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * 实现功能【HMAC 验签器】
+ * <p>
+ * - 绑定一个 kid 与其 SecretKey，JWS 算法由密钥长度决定（与 jjwt signWith 选择的算法一致）
+ * - Mac 非线程安全且初始化开销较大，按线程缓存已 init 的实例，验签时只需 update/doFinal
+ * - kid 与算法名预先编码为字节，供 CompactJwsDecoder 直接与 JWS 头部字节比较，无需创建字符串
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:41:06
+ */
+public final class HmacVerifier {
+
+    /**
+     * JCA 算法名前缀（HmacSHA256/HmacSHA384/HmacSHA512）
+     */
+    private static final String JCA_PREFIX = "HmacSHA";
+
+    /**
+     * JWS 算法名前缀（HS256/HS384/HS512）
+     */
+    private static final String JWS_PREFIX = "HS";
+
+    /**
+     * 密钥标识
+     */
+    @Getter
+    private final String kid;
+
+    /**
+     * JWS 算法名（如 HS256）
+     */
+    @Getter
+    private final String algorithm;
+
+    /**
+     * 签名长度（字节）
+     */
+    @Getter
+    private final int macLength;
+
+    private final byte[] kidBytes;
+
+    private final byte[] algorithmBytes;
+
+    private final ThreadLocal<Mac> mac;
+
+    private HmacVerifier(String kid, SecretKey key, String algorithm, int macLength) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.macLength = macLength;
+        this.kidBytes = kid.getBytes(StandardCharsets.UTF_8);
+        this.algorithmBytes = algorithm.getBytes(StandardCharsets.US_ASCII);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(key.getAlgorithm());
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC 初始化失败: " + key.getAlgorithm(), e);
+            }
+        });
+    }
+
+    /**
+     * 构建验签器
+     *
+     * @param kid 密钥标识
+     * @param key HMAC 密钥
+     * @return 验签器；非 HmacSHA* 密钥返回 null（仅由 jjwt 处理）
+     */
+    static HmacVerifier of(String kid, SecretKey key) {
+        String jcaAlgorithm = key.getAlgorithm();
+        if (jcaAlgorithm == null || !jcaAlgorithm.startsWith(JCA_PREFIX)) {
+            return null;
+        }
+        String bits = jcaAlgorithm.substring(JCA_PREFIX.length());
+        int macLength = switch (bits) {
+            case "256" -> 32;
+            case "384" -> 48;
+            case "512" -> 64;
+            default -> -1;
+        };
+        return macLength > 0 ? new HmacVerifier(kid, key, JWS_PREFIX + bits, macLength) : null;
+    }
+
+    /**
+     * 获取当前线程的 Mac 实例（已使用本密钥初始化，doFinal 后自动重置）
+     *
+     * @return Mac
+     */
+    public Mac mac() {
+        return mac.get();
+    }
+
+    /**
+     * 判断字节区间是否等于 kid
+     */
+    public boolean kidEquals(byte[] buf, int from, int to) {
+        return regionEquals(kidBytes, buf, from, to);
+    }
+
+    /**
+     * 判断字节区间是否等于 JWS 算法名
+     */
+    public boolean algorithmEquals(byte[] buf, int from, int to) {
+        return regionEquals(algorithmBytes, buf, from, to);
+    }
+
+    private static boolean regionEquals(byte[] expected, byte[] buf, int from, int to) {
+        if (to - from != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buf[from + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+package com.mms.common.security.key;
+
+import com.mms.common.security.properties.JwtProperties;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实现功能【JWT 密钥环】
+ * <p>
+ * - 根据 JwtProperties 一次性构建全部 SecretKey 与解析器，实例不可变，可被多线程共享
+ * - 签发统一使用 activeKid 对应的密钥，并在 JWS 头部写入 kid
+ * - 验签按头部 kid 定位密钥，仅允许未退役的密钥；未携带 kid 的旧 Token 使用 default 密钥
+ * - 同时为每个 HMAC 密钥构建 HmacVerifier，供网关热点路径的 CompactJwsDecoder 验签
+ * - 配置刷新时重新构建新实例并整体替换
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 13:10:25
+ */
+@Getter
+public final class JwtKeyRing {
+
+    /**
+     * 默认 kid（jwt.secret 注册到该 kid 下）
+     */
+    public static final String DEFAULT_KID = "default";
+
+    /**
+     * 当前签名密钥 kid
+     */
+    private final String activeKid;
+
+    /**
+     * 当前签名密钥
+     */
+    private final SecretKey activeKey;
+
+    /**
+     * 可用于验签的密钥（kid -> 密钥，不含已退役密钥）
+     */
+    private final Map<String, SecretKey> verificationKeys;
+
+    /**
+     * 预构建的解析器（JwtParser 线程安全）
+     */
+    private final JwtParser parser;
+
+    /**
+     * 验签器（与 verificationKeys 一一对应，不支持的密钥不包含在内）
+     */
+    private final List<HmacVerifier> verifiers;
+
+    private JwtKeyRing(String activeKid, Map<String, SecretKey> verificationKeys) {
+        this.activeKid = activeKid;
+        this.activeKey = verificationKeys.get(activeKid);
+        this.verificationKeys = Collections.unmodifiableMap(verificationKeys);
+        List<HmacVerifier> hmacVerifiers = new ArrayList<>(verificationKeys.size());
+        verificationKeys.forEach((kid, key) -> {
+            HmacVerifier verifier = HmacVerifier.of(kid, key);
+            if (verifier != null) {
+                hmacVerifiers.add(verifier);
+            }
+        });
+        this.verifiers = List.copyOf(hmacVerifiers);
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        String kid = StringUtils.hasText(header.getKeyId()) ? header.getKeyId() : DEFAULT_KID;
+                        SecretKey key = JwtKeyRing.this.verificationKeys.get(kid);
+                        if (key == null) {
+                            throw new JwtException("未知或已退役的签名密钥: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 根据配置构建密钥环
+     *
+     * @param jwtProperties JWT 配置
+     * @return 密钥环
+     * @throws IllegalStateException 配置不完整或当前签名密钥不可用
+     */
+    public static JwtKeyRing from(JwtProperties jwtProperties) {
+        Map<String, SecretKey> verificationKeys = new LinkedHashMap<>();
+        if (StringUtils.hasText(jwtProperties.getSecret())) {
+            verificationKeys.put(DEFAULT_KID, toKey(jwtProperties.getSecret()));
+        }
+        if (jwtProperties.getKeys() != null) {
+            jwtProperties.getKeys().forEach((kid, signingKey) -> {
+                if (signingKey == null || !StringUtils.hasText(signingKey.getSecret())) {
+                    throw new IllegalStateException("JWT 密钥未配置 secret: " + kid);
+                }
+                if (signingKey.isRetired()) {
+                    verificationKeys.remove(kid);
+                } else {
+                    verificationKeys.put(kid, toKey(signingKey.getSecret()));
+                }
+            });
+        }
+
+        String activeKid = StringUtils.hasText(jwtProperties.getActiveKid()) ? jwtProperties.getActiveKid() : DEFAULT_KID;
+        if (!verificationKeys.containsKey(activeKid)) {
+            throw new IllegalStateException("JWT 当前签名密钥不存在或已退役: " + activeKid);
+        }
+        return new JwtKeyRing(activeKid, verificationKeys);
+    }
+
+    private static SecretKey toKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
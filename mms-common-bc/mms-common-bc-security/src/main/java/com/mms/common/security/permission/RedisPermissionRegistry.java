@@ -0,0 +1,163 @@
+package com.mms.common.security.permission;
+
+import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.common.core.permission.PermissionRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 实现功能【基于 Redis 的权限注册表】
+ * <p>
+ * - 用户中心维护 Redis Hash（权限编码 -> 下标），各服务读取后在本地保存不可变快照
+ * - 启动时加载一次，之后由后台线程按固定间隔刷新；请求线程只读取当前快照，从不访问 Redis
+ * - 调用方遇到未注册的编码或下标时通过 {@link #requestReload()} 提前触发一次后台刷新（合并重复请求）
+ * - 发布时先写临时 key 再 RENAME，读取方不会看到写了一半的注册表
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 15:20:18
+ */
+@Slf4j
+public class RedisPermissionRegistry implements PermissionRegistry {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mms-permission-registry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 当前快照
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 是否已提交待执行的刷新任务
+     */
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+
+    public RedisPermissionRegistry(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 加载快照并启动定时刷新
+     */
+    public void start() {
+        reload();
+        long interval = UserCenterConstants.UserAuthority.PERMISSION_REGISTRY_REFRESH_MILLIS;
+        scheduler.scheduleWithFixedDelay(this::reload, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止定时刷新
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public int indexOf(String permissionCode) {
+        if (permissionCode == null) {
+            return -1;
+        }
+        Integer index = snapshot.codeToIndex.get(permissionCode);
+        return index != null ? index : -1;
+    }
+
+    @Override
+    public String codeOf(int index) {
+        String[] indexToCode = snapshot.indexToCode;
+        return index >= 0 && index < indexToCode.length ? indexToCode[index] : null;
+    }
+
+    @Override
+    public void requestReload() {
+        if (!reloadRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(() -> {
+                reloadRequested.set(false);
+                reload();
+            });
+        } catch (Exception e) {
+            // 停机中
+            reloadRequested.set(false);
+        }
+    }
+
+    /**
+     * 立即从 Redis 重新加载快照
+     */
+    public void reload() {
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(UserCenterConstants.UserAuthority.PERMISSION_REGISTRY_KEY);
+            Map<String, Integer> codeToIndex = new HashMap<>(entries.size() * 2);
+            entries.forEach((code, index) -> {
+                if (code != null && index instanceof Number number) {
+                    codeToIndex.put(code.toString(), number.intValue());
+                }
+            });
+            this.snapshot = Snapshot.of(codeToIndex);
+        } catch (Exception e) {
+            // 加载失败时沿用旧快照，下个周期重试
+            log.warn("权限注册表加载失败，继续使用旧快照: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 发布权限注册表（由用户中心在权限变更后调用）
+     *
+     * @param codeToIndex 权限编码 -> 下标
+     */
+    public void publish(Map<String, Integer> codeToIndex) {
+        String key = UserCenterConstants.UserAuthority.PERMISSION_REGISTRY_KEY;
+        if (codeToIndex == null || codeToIndex.isEmpty()) {
+            redisTemplate.delete(key);
+        } else {
+            String tempKey = key + ":tmp:" + UUID.randomUUID();
+            redisTemplate.opsForHash().putAll(tempKey, codeToIndex);
+            redisTemplate.rename(tempKey, key);
+        }
+        this.snapshot = Snapshot.of(codeToIndex != null ? codeToIndex : Collections.emptyMap());
+    }
+
+    /**
+     * 注册表快照（不可变）
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), new String[0]);
+
+        private final Map<String, Integer> codeToIndex;
+        private final String[] indexToCode;
+
+        private Snapshot(Map<String, Integer> codeToIndex, String[] indexToCode) {
+            this.codeToIndex = codeToIndex;
+            this.indexToCode = indexToCode;
+        }
+
+        private static Snapshot of(Map<String, Integer> codeToIndex) {
+            int max = codeToIndex.values().stream().mapToInt(Integer::intValue).max().orElse(-1);
+            String[] indexToCode = new String[max + 1];
+            codeToIndex.forEach((code, index) -> {
+                if (index >= 0) {
+                    indexToCode[index] = code;
+                }
+            });
+            return new Snapshot(Map.copyOf(codeToIndex), indexToCode);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mms.common.security.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【用户权限请求头配置属性】
+ * <p>
+ * 网关与下游服务需配置相同的 secret；未配置时网关不透传权限头，下游服务按原方式加载权限
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 14:02:11
+ */
+@Data
+@ConfigurationProperties(prefix = "security.authority-header")
+public class AuthorityHeaderProperties {
+
+	/**
+	 * HMAC 签名密钥（修改后需重启网关与下游服务）
+	 */
+	private String secret;
+
+	/**
+	 * 权限头最大有效时长（超过视为无效，防止被截获后长期重放）
+	 */
+	private Duration maxAge = Duration.ofMinutes(5);
+
+	/**
+	 * 权限头最大长度（字符），超过时网关不透传，由下游按原方式加载权限
+	 */
+	private int maxLength = 6144;
+}
@@ -3,6 +3,9 @@ package com.mms.common.security.properties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 实现功能【JWT 配置属性】
  * <p>
@@ -16,8 +19,21 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "jwt")
 public class JwtProperties {
 
+	/**
+	 * 单密钥配置（兼容旧配置，注册为 kid=default 的密钥，未携带 kid 的旧 Token 也使用它验签）
+	 */
 	private String secret;
 
+	/**
+	 * 当前用于签发 Token 的密钥 kid（为空时使用 default）
+	 */
+	private String activeKid;
+
+	/**
+	 * 密钥环（kid -> 密钥），用于不停机轮换：新密钥先加入并设为 activeKid，旧密钥保留验签直到其签发的 Token 全部过期后再标记 retired
+	 */
+	private Map<String, SigningKey> keys = new LinkedHashMap<>();
+
 	/**
 	 * Access Token过期时间（毫秒），默认15分钟
 	 */
@@ -27,6 +43,21 @@ public class JwtProperties {
 	 * Refresh Token过期时间（毫秒），默认7天
 	 */
 	private Long refreshExpiration = 604800000L;
-}
 
+	/**
+	 * 签名密钥
+	 */
+	@Data
+	public static class SigningKey {
+
+		/**
+		 * HMAC 密钥（UTF-8 编码后至少 32 字节）
+		 */
+		private String secret;
 
+		/**
+		 * 是否已退役（退役密钥不再用于验签）
+		 */
+		private boolean retired;
+	}
+}
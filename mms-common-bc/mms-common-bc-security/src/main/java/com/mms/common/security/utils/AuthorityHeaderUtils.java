@@ -0,0 +1,169 @@
+package com.mms.common.security.utils;
+
+import com.mms.common.core.permission.PermissionBits;
+import com.mms.common.security.properties.AuthorityHeaderProperties;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 实现功能【用户权限请求头编解码工具类】
+ * <p>
+ * 网关解析出用户角色/权限后编码为紧凑的签名请求头透传到下游，下游服务只需验签解码，无需访问 Redis 或远程服务。
+ * 格式：base64url(payload).base64url(HmacSHA256(payload))
+ * payload：版本\n用户ID\n签发时间戳(毫秒)\n角色编码(逗号分隔)\n权限位集(PermissionBits 编码)
+ * 角色编码中不允许出现逗号与换行。
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 14:06:38
+ */
+public class AuthorityHeaderUtils {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v2";
+    private static final char FIELD_SEPARATOR = '\n';
+    private static final String ITEM_SEPARATOR = ",";
+    private static final char SIGNATURE_SEPARATOR = '.';
+
+    /**
+     * 允许的签发时间超前量（毫秒），容忍网关与下游服务之间的时钟偏差
+     */
+    private static final long CLOCK_SKEW_MILLIS = 30_000L;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AuthorityHeaderProperties properties;
+
+    /**
+     * Mac 非线程安全，按线程复用（未配置密钥时为 null）
+     */
+    private final ThreadLocal<Mac> macHolder;
+
+    public AuthorityHeaderUtils(AuthorityHeaderProperties properties) {
+        this.properties = properties;
+        if (StringUtils.hasText(properties.getSecret())) {
+            SecretKeySpec keySpec = new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+            this.macHolder = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                    mac.init(keySpec);
+                    return mac;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("初始化用户权限请求头签名失败", e);
+                }
+            });
+        } else {
+            this.macHolder = null;
+        }
+    }
+
+    /**
+     * 是否启用（已配置签名密钥）
+     *
+     * @return true 表示启用
+     */
+    public boolean isEnabled() {
+        return macHolder != null;
+    }
+
+    /**
+     * 编码用户权限请求头
+     *
+     * @param userId         用户ID
+     * @param roles          角色编码集合
+     * @param permissionBits 权限位集编码（{@link PermissionBits#encode()}）
+     * @return 请求头值；未启用或超出长度限制时返回 null
+     */
+    public String encode(String userId, Collection<String> roles, String permissionBits) {
+        if (!isEnabled() || !StringUtils.hasText(userId)) {
+            return null;
+        }
+
+        String payload = VERSION + FIELD_SEPARATOR + userId + FIELD_SEPARATOR + System.currentTimeMillis()
+                + FIELD_SEPARATOR + join(roles) + FIELD_SEPARATOR + (permissionBits != null ? permissionBits : "");
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        String header = ENCODER.encodeToString(payloadBytes) + SIGNATURE_SEPARATOR + ENCODER.encodeToString(sign(payloadBytes));
+        return header.length() <= properties.getMaxLength() ? header : null;
+    }
+
+    /**
+     * 验签并解码用户权限请求头
+     *
+     * @param header         请求头值
+     * @param expectedUserId 网关透传的用户ID（必须与权限头中的用户ID一致）
+     * @return 解码结果；未启用、签名错误、用户不匹配或已超时返回 null
+     */
+    public Authority decode(String header, String expectedUserId) {
+        if (!isEnabled() || !StringUtils.hasText(header) || !StringUtils.hasText(expectedUserId)) {
+            return null;
+        }
+
+        int separatorIndex = header.indexOf(SIGNATURE_SEPARATOR);
+        if (separatorIndex <= 0 || separatorIndex == header.length() - 1) {
+            return null;
+        }
+
+        try {
+            byte[] payloadBytes = DECODER.decode(header.substring(0, separatorIndex));
+            byte[] signature = DECODER.decode(header.substring(separatorIndex + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return null;
+            }
+
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split(String.valueOf(FIELD_SEPARATOR), -1);
+            if (fields.length != 5 || !VERSION.equals(fields[0]) || !expectedUserId.equals(fields[1])) {
+                return null;
+            }
+
+            long issuedAt = Long.parseLong(fields[2]);
+            long now = System.currentTimeMillis();
+            if (issuedAt > now + CLOCK_SKEW_MILLIS || now - issuedAt > properties.getMaxAge().toMillis()) {
+                return null;
+            }
+            return new Authority(fields[1], split(fields[3]), PermissionBits.decode(fields[4]));
+        } catch (IllegalArgumentException e) {
+            // Base64、时间戳或位集格式错误
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payloadBytes) {
+        return macHolder.get().doFinal(payloadBytes);
+    }
+
+    private static String join(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return "";
+        }
+        return String.join(ITEM_SEPARATOR, values);
+    }
+
+    private static Set<String> split(String value) {
+        if (value.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(value.split(ITEM_SEPARATOR))));
+    }
+
+    /**
+     * 解码后的用户权限
+     *
+     * @param userId         用户ID
+     * @param roles          角色编码集合
+     * @param permissionBits 权限位集
+     */
+    public record Authority(String userId, Set<String> roles, PermissionBits permissionBits) {
+    }
+}
@@ -4,33 +4,61 @@ import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.security.constants.JwtConstants;
 import com.mms.common.security.enums.TokenType;
+import com.mms.common.security.jws.CompactJwsDecoder;
+import com.mms.common.security.jws.JwtToken;
+import com.mms.common.security.key.JwtKeyRing;
 import com.mms.common.security.properties.JwtProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.UUID;
 
 /**
  * 实现功能【JWT 工具类：生成、解析、验证JWT】
  * <p>
- *
+ * 密钥与解析器由 JwtKeyRing 预先构建并缓存，配置刷新时调用 {@link #reload()} 整体替换，
+ * 支持按 kid 不停机轮换签名密钥
  * <p>
  *
  * @author li.hongyu
  * @date 2025-12-04 15:46:51
  */
-@AllArgsConstructor
+@Slf4j
 public class JwtUtils {
 
 	private final JwtProperties jwtProperties;
 
+	/**
+	 * 当前密钥环（配置刷新时整体替换）
+	 */
+	private volatile JwtKeyRing keyRing;
+
+	public JwtUtils(JwtProperties jwtProperties) {
+		this.jwtProperties = jwtProperties;
+		this.keyRing = JwtKeyRing.from(jwtProperties);
+	}
+
+	/**
+	 * 根据最新配置重建密钥环
+	 * <p>
+	 * 新配置不合法时保留旧密钥环，避免刷新错误导致全部 Token 无法签发/验签
+	 * </p>
+	 */
+	public void reload() {
+		try {
+			JwtKeyRing newKeyRing = JwtKeyRing.from(jwtProperties);
+			this.keyRing = newKeyRing;
+			log.info("JWT 密钥环已重新加载，当前签名 kid: {}，可验签 kid: {}",
+					newKeyRing.getActiveKid(), newKeyRing.getVerificationKeys().keySet());
+		} catch (Exception e) {
+			log.error("JWT 密钥环重新加载失败，继续使用原密钥环: {}", e.getMessage(), e);
+		}
+	}
+
 	/**
 	 * 生成Access Token
 	 *
@@ -57,15 +85,17 @@ public class JwtUtils {
 		Date now = new Date();
 		Date expiryDate = new Date(now.getTime() + expirationMs);
 		String jti = UUID.randomUUID().toString();
+		JwtKeyRing currentKeyRing = keyRing;
 
 		return Jwts.builder()
+				.header().keyId(currentKeyRing.getActiveKid()).and()
 				.id(jti)
 				.claim(JwtConstants.Claims.USER_ID, userId)
 				.claim(JwtConstants.Claims.USERNAME, username)
 				.claim(JwtConstants.Claims.TOKEN_TYPE, tokenType.name())
 				.issuedAt(now)
 				.expiration(expiryDate)
-				.signWith(getSigningKey())
+				.signWith(currentKeyRing.getActiveKey())
 				.compact();
 	}
 
@@ -76,9 +106,7 @@ public class JwtUtils {
 	 */
 	public Claims parseToken(String token) {
 		try {
-			return Jwts.parser()
-					.verifyWith(getSigningKey())
-					.build()
+			return keyRing.getParser()
 					.parseSignedClaims(token)
 					.getPayload();
 		} catch (ExpiredJwtException e) {
@@ -89,12 +117,24 @@ public class JwtUtils {
 	}
 
 	/**
-	 * 获取 JWT 密钥
-	 * @return JWT 密钥
+	 * 解码并验签 Token（网关热点路径）
+	 * <p>
+	 * 优先使用 CompactJwsDecoder（本系统签发的固定声明集），其不支持的 Token 回退 jjwt 解析，
+	 * 两条路径的错误语义与 {@link #parseToken(String)} 一致
+	 * </p>
+	 *
+	 * @param token Token
+	 * @return 已验签且未过期的 JwtToken
 	 */
-	private SecretKey getSigningKey() {
-		byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-		return Keys.hmacShaKeyFor(keyBytes);
+	public JwtToken decode(String token) {
+		JwtToken decoded = CompactJwsDecoder.decode(token, keyRing);
+		if (decoded == null) {
+			return JwtToken.from(parseToken(token));
+		}
+		if (decoded.isExpired(System.currentTimeMillis())) {
+			throw new BusinessException(ErrorCode.LOGIN_EXPIRED);
+		}
+		return decoded;
 	}
 
 	/**
@@ -4,18 +4,15 @@ import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.security.constants.JwtConstants;
 import com.mms.common.security.enums.TokenType;
-import io.jsonwebtoken.Claims;
+import com.mms.common.security.jws.JwtToken;
 import lombok.AllArgsConstructor;
-import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Mono;
 
-import java.util.Date;
-
 /**
  * 实现功能【Token验证工具类（Reactive 版）】
  * <p>
- * 适用于 WebFlux 场景，使用 Reactive Redis 避免阻塞线程。
+ * 适用于 WebFlux 场景，只包含纯内存校验；用户吊销时间点与 jti 黑名单由网关 JwtAuthFilter 经本地缓存、批量查询完成。
  * </p>
  *
  * @author li.hongyu
@@ -25,62 +22,78 @@ import java.util.Date;
 public class ReactiveTokenValidatorUtils {
 
     private final JwtUtils jwtUtils;
-    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
 
     /**
-     * 解析并验证Token（与同步版保持一致）
+     * 解析Token并校验签名、过期、类型（不含吊销与黑名单检查，纯内存计算）
+     * <p>
+     * 使用 {@link JwtUtils#decode(String)}：本系统签发的 Token 走精简解码器，其他形态回退 jjwt
+     * </p>
      *
      * @param token        Token字符串
      * @param expectedType 期望的Token类型（可为null，表示不验证类型）
-     * @return Mono<Claims>
+     * @return 校验通过的 JwtToken
+     * @throws BusinessException Token无效或已过期
      */
-    public Mono<Claims> parseAndValidate(String token, TokenType expectedType) {
+    public JwtToken verify(String token, TokenType expectedType) {
         if (!StringUtils.hasText(token)) {
-            return Mono.error(new BusinessException(ErrorCode.INVALID_TOKEN));
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
         }
 
         // 解析 Token
-        final Claims claims;
+        final JwtToken jwtToken;
         try {
-            claims = jwtUtils.parseToken(token);
+            jwtToken = jwtUtils.decode(token);
         } catch (BusinessException e) {
-            return Mono.error(e);
+            throw e;
         } catch (Exception e) {
-            return Mono.error(new BusinessException(ErrorCode.INVALID_TOKEN));
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
+
+        return checkToken(jwtToken, expectedType);
+    }
+
+    /**
+     * 校验已验签 Token 的过期、类型与 jti（不含黑名单检查，纯内存计算）
+     *
+     * @param jwtToken     已验签的 Token
+     * @param expectedType 期望的Token类型（可为null，表示不验证类型）
+     * @return 校验通过的 JwtToken
+     * @throws BusinessException Token无效或已过期
+     */
+    public JwtToken checkToken(JwtToken jwtToken, TokenType expectedType) {
+        if (jwtToken == null) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
         }
 
         // 校验过期
-        Date expiration = claims.getExpiration();
-        if (expiration == null || expiration.before(new Date())) {
-            return Mono.error(new BusinessException(ErrorCode.LOGIN_EXPIRED));
+        if (jwtToken.isExpired(System.currentTimeMillis())) {
+            throw new BusinessException(ErrorCode.LOGIN_EXPIRED);
         }
 
         // 校验类型
-        if (expectedType != null) {
-            TokenType realType = jwtUtils.extractTokenType(claims);
-            if (realType != expectedType) {
-                return Mono.error(new BusinessException(ErrorCode.INVALID_TOKEN));
-            }
+        if (expectedType != null && jwtToken.tokenType() != expectedType) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
         }
 
-        // 黑名单检查（Reactive Redis）
-        String jti = claims.getId();
-        if (!StringUtils.hasText(jti)) {
-            return Mono.error(new BusinessException(ErrorCode.INVALID_TOKEN));
+        // 黑名单依赖 jti，缺失视为无效 Token
+        if (!StringUtils.hasText(jwtToken.jti())) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
         }
-        
-        // 构建黑名单Redis key，检查Token是否在黑名单中
-        String key = JwtConstants.CacheKeys.TOKEN_BLACKLIST_PREFIX + jti;
-        return reactiveStringRedisTemplate.hasKey(key)
-                .defaultIfEmpty(false)
-                .flatMap(exists -> {
-                    // 如果Token在黑名单中，返回登录过期错误
-                    if (Boolean.TRUE.equals(exists)) {
-                        return Mono.error(new BusinessException(ErrorCode.LOGIN_EXPIRED));
-                    }
-                    // Token不在黑名单中，验证通过
-                    return Mono.just(claims);
-                });
+        return jwtToken;
+    }
+
+    /**
+     * 按已知的用户吊销时间点校验（供调用方使用本地缓存的吊销时间点，纯内存计算）
+     *
+     * @param jwtToken   已校验的 Token
+     * @param validAfter 用户吊销时间点（毫秒），0 表示未吊销
+     * @return 未吊销时返回原 Token，否则返回登录过期错误
+     */
+    public Mono<JwtToken> checkRevocationEpoch(JwtToken jwtToken, long validAfter) {
+        if (TokenRevocationEpoch.isRevoked(jwtToken, validAfter)) {
+            return Mono.error(new BusinessException(ErrorCode.LOGIN_EXPIRED));
+        }
+        return Mono.just(jwtToken);
     }
 
     /**
@@ -1,12 +1,21 @@
 package com.mms.common.security.utils;
 
+import com.mms.common.core.enums.ErrorCode;
+import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.security.constants.JwtConstants;
+import com.mms.common.security.enums.TokenType;
 import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -14,6 +23,8 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * 负责Refresh Token管理
  * 主要是与 redis交互
+ * 刷新轮换与登出各由一个 Lua 脚本在 Redis 端原子完成"校验 + 加入黑名单 + 替换/删除"，
+ * 每次只需一次往返，并发刷新同一个 Refresh Token 时只有一个能成功
  * <p>
  *
  * @author li.hongyu
@@ -22,6 +33,83 @@ import java.util.concurrent.TimeUnit;
 @AllArgsConstructor
 public class RefreshTokenUtils {
 
+    /**
+     * 脚本返回值：成功
+     */
+    private static final long RESULT_OK = 1L;
+
+    /**
+     * 脚本返回值：不是当前有效的 Refresh Token（已被轮换、已登出或已在其它地方登录）
+     */
+    private static final long RESULT_NOT_CURRENT = 0L;
+
+    /**
+     * 脚本返回值：已在黑名单中
+     */
+    private static final long RESULT_BLACKLISTED = -1L;
+
+    /**
+     * 脚本返回值：签发时间早于用户吊销时间点
+     */
+    private static final long RESULT_REVOKED = -2L;
+
+    /**
+     * 刷新轮换
+     * KEYS：[1] Refresh Token key，[2] 旧 jti 黑名单 key，[3] 用户吊销时间点 key
+     * 吊销时间点与签发时间按秒比较，规则与 {@link TokenRevocationEpoch#isRevoked(Claims, long)} 一致
+     * ARGV：[1] 旧 jti，[2] 旧 Token 签发时间（毫秒），[3] 黑名单值，[4] 黑名单 TTL（毫秒），
+     *       [5] 新 jti，[6] 新 Token TTL（毫秒），[7] 吊销频道，[8] 吊销消息
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                return -1
+            end
+            local valid_after = tonumber(redis.call('GET', KEYS[3]))
+            if valid_after and valid_after > 0 and math.floor(tonumber(ARGV[2]) / 1000) < math.floor(valid_after / 1000) then
+                return -2
+            end
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+                return 0
+            end
+            if tonumber(ARGV[4]) > 0 then
+                redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[4])
+                redis.call('PUBLISH', ARGV[7], ARGV[8])
+            end
+            redis.call('SET', KEYS[1], ARGV[5], 'PX', ARGV[6])
+            return 1
+            """, Long.class);
+
+    /**
+     * 登出（吊销时间点按秒比较，同刷新轮换）
+     * KEYS：[1] Refresh Token key，[2] Refresh Token 黑名单 key，[3] 用户吊销时间点 key，[4] Access Token 黑名单 key（可选）
+     * ARGV：[1] Refresh jti，[2] Refresh 签发时间（毫秒），[3] Refresh 黑名单值，[4] Refresh 黑名单 TTL（毫秒），
+     *       [5] 吊销频道，[6] Refresh 吊销消息，[7] Access 黑名单值，[8] Access 黑名单 TTL（毫秒，0 表示无），[9] Access 吊销消息
+     * Access Token 无论 Refresh Token 是否有效都会加入黑名单；Refresh Token key 只在仍指向本 Token 时删除
+     */
+    private static final RedisScript<Long> LOGOUT_SCRIPT = RedisScript.of("""
+            if tonumber(ARGV[8]) > 0 then
+                redis.call('SET', KEYS[4], ARGV[7], 'PX', ARGV[8])
+                redis.call('PUBLISH', ARGV[5], ARGV[9])
+            end
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                return -1
+            end
+            local valid_after = tonumber(redis.call('GET', KEYS[3]))
+            if valid_after and valid_after > 0 and math.floor(tonumber(ARGV[2]) / 1000) < math.floor(valid_after / 1000) then
+                return -2
+            end
+            if tonumber(ARGV[4]) > 0 then
+                redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[4])
+                redis.call('PUBLISH', ARGV[5], ARGV[6])
+            end
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+            end
+            return 1
+            """, Long.class);
+
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
 
     /**
@@ -92,6 +180,117 @@ public class RefreshTokenUtils {
         return storedJti != null && storedJti.equals(currentJti);
     }
 
+    /**
+     * 原子轮换 Refresh Token（一次 Redis 往返）
+     * <p>
+     * 旧 Token 未在黑名单、未被用户级吊销且仍是该用户当前的 Refresh Token 时，
+     * 将其加入黑名单并替换为新 Token；否则不做任何修改
+     * </p>
+     *
+     * @param username  用户名
+     * @param oldClaims 旧 Refresh Token 的 Claims（已完成签名、过期、类型校验）
+     * @param newClaims 新 Refresh Token 的 Claims
+     * @throws BusinessException 旧 Token 已失效
+     */
+    public void rotateRefreshToken(String username, Claims oldClaims, Claims newClaims) {
+        long now = System.currentTimeMillis();
+        String oldJti = oldClaims.getId();
+        String userId = TokenRevocationEpoch.userId(oldClaims);
+        List<String> keys = List.of(
+                JwtConstants.CacheKeys.REFRESH_TOKEN_PREFIX + username,
+                JwtConstants.CacheKeys.TOKEN_BLACKLIST_PREFIX + oldJti,
+                TokenRevocationEpoch.key(userId != null ? userId : ""));
+        long oldExpiration = oldClaims.getExpiration().getTime();
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, RedisSerializer.string(), RESULT_SERIALIZER, keys,
+                serialize(oldJti),
+                String.valueOf(issuedAt(oldClaims)),
+                serialize(TokenType.REFRESH.name()),
+                String.valueOf(Math.max(0, oldExpiration - now)),
+                serialize(newClaims.getId()),
+                String.valueOf(Math.max(1, newClaims.getExpiration().getTime() - now)),
+                JwtConstants.Channels.TOKEN_REVOKED,
+                revocationMessage(TokenType.REFRESH, oldExpiration, oldJti));
+        checkResult(result);
+    }
+
+    /**
+     * 原子登出（一次 Redis 往返）
+     * <p>
+     * Access Token（网关透传的 jti 与过期时间）始终加入黑名单；
+     * Refresh Token 有效时加入黑名单，并在其仍是当前 Refresh Token 时删除
+     * </p>
+     *
+     * @param username         用户名
+     * @param refreshClaims    Refresh Token 的 Claims（已完成签名、过期、类型校验）
+     * @param accessJti        Access Token 的 jti（可为空）
+     * @param accessExpiration Access Token 过期时间戳（毫秒）
+     * @throws BusinessException Refresh Token 已在黑名单或已被用户级吊销
+     */
+    public void logout(String username, Claims refreshClaims, String accessJti, long accessExpiration) {
+        long now = System.currentTimeMillis();
+        String refreshJti = refreshClaims.getId();
+        String userId = TokenRevocationEpoch.userId(refreshClaims);
+        long refreshExpiration = refreshClaims.getExpiration().getTime();
+        long accessTtl = StringUtils.hasText(accessJti) ? Math.max(0, accessExpiration - now) : 0;
+
+        List<String> keys = new ArrayList<>(4);
+        keys.add(JwtConstants.CacheKeys.REFRESH_TOKEN_PREFIX + username);
+        keys.add(JwtConstants.CacheKeys.TOKEN_BLACKLIST_PREFIX + refreshJti);
+        keys.add(TokenRevocationEpoch.key(userId != null ? userId : ""));
+        if (accessTtl > 0) {
+            keys.add(JwtConstants.CacheKeys.TOKEN_BLACKLIST_PREFIX + accessJti);
+        }
+        Long result = redisTemplate.execute(LOGOUT_SCRIPT, RedisSerializer.string(), RESULT_SERIALIZER, keys,
+                serialize(refreshJti),
+                String.valueOf(issuedAt(refreshClaims)),
+                serialize(TokenType.REFRESH.name()),
+                String.valueOf(Math.max(0, refreshExpiration - now)),
+                JwtConstants.Channels.TOKEN_REVOKED,
+                revocationMessage(TokenType.REFRESH, refreshExpiration, refreshJti),
+                serialize(TokenType.ACCESS.name()),
+                String.valueOf(accessTtl),
+                accessTtl > 0 ? revocationMessage(TokenType.ACCESS, accessExpiration, accessJti) : "");
+        checkResult(result);
+    }
+
+    /**
+     * 将脚本返回值转换为校验结果
+     */
+    private static void checkResult(Long result) {
+        if (result == null || result == RESULT_OK) {
+            return;
+        }
+        if (result == RESULT_BLACKLISTED || result == RESULT_REVOKED) {
+            throw new BusinessException(ErrorCode.LOGIN_EXPIRED);
+        }
+        throw new BusinessException(ErrorCode.INVALID_TOKEN, "Refresh Token已失效，请重新登录");
+    }
+
+    /**
+     * 按 RedisTemplate 的值序列化方式编码，保证脚本写入/比较的值与 opsForValue 读写的格式一致
+     */
+    @SuppressWarnings("unchecked")
+    private String serialize(Object value) {
+        byte[] bytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : "";
+    }
+
+    /**
+     * Token 签发时间（毫秒），缺失时返回 0（视为早于任何吊销时间点）
+     */
+    private static long issuedAt(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : 0L;
+    }
+
+    /**
+     * 吊销广播消息（格式与 TokenBlacklistUtils 一致：tokenType:expirationMillis:jti）
+     */
+    private static String revocationMessage(TokenType tokenType, long expiration, String jti) {
+        return tokenType.name() + JwtConstants.Channels.MESSAGE_SEPARATOR + expiration
+                + JwtConstants.Channels.MESSAGE_SEPARATOR + jti;
+    }
+
     /**
      * 从Redis删除Refresh Token
      *
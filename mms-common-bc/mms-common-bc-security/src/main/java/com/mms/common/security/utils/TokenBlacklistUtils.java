@@ -2,11 +2,17 @@ package com.mms.common.security.utils;
 
 import com.mms.common.security.constants.JwtConstants;
 import com.mms.common.security.enums.TokenType;
+import com.mms.common.security.properties.JwtProperties;
 import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
@@ -15,16 +21,21 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * 负责Token黑名单管理
  * 主要是与 redis交互
+ * 每次加入黑名单后向吊销频道广播，供网关更新本地吊销过滤器
+ * 单个 Token 吊销使用 jti 黑名单；用户全部 Token 吊销使用吊销时间点（{@link TokenRevocationEpoch}）
  * </p>
  *
  * @author li.hongyu
  * @date 2025-12-11 14:22:16
  */
+@Slf4j
 @AllArgsConstructor
 public class TokenBlacklistUtils {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private final JwtProperties jwtProperties;
+
     /**
      * 检查Token是否在黑名单中
      *
@@ -39,6 +50,57 @@ public class TokenBlacklistUtils {
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
 
+    /**
+     * 检查Token是否已被用户级吊销（签发时间早于该用户的吊销时间点）
+     *
+     * @param claims Token的Claims
+     * @return true表示已吊销
+     */
+    public boolean isRevokedByUser(Claims claims) {
+        String userId = TokenRevocationEpoch.userId(claims);
+        if (!StringUtils.hasText(userId)) {
+            return false;
+        }
+        return TokenRevocationEpoch.isRevoked(claims, getTokensValidAfter(userId));
+    }
+
+    /**
+     * 获取用户的吊销时间点
+     *
+     * @param userId 用户ID
+     * @return 毫秒时间戳，未吊销时返回 0
+     */
+    public long getTokensValidAfter(String userId) {
+        byte[] key = TokenRevocationEpoch.key(userId).getBytes(StandardCharsets.UTF_8);
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(key));
+        return value != null ? TokenRevocationEpoch.parse(new String(value, StandardCharsets.UTF_8)) : 0L;
+    }
+
+    /**
+     * 吊销用户当前持有的全部Token（强制下线、禁用、锁定、改密等场景）
+     * <p>
+     * 只写入一个吊销时间点，有效期为最长的Token有效期（之后早于该时间点签发的Token均已自然过期）；
+     * 值以原始字符串写入（不经过 JSON 序列化），便于网关按字符串读取
+     * </p>
+     *
+     * @param userId 用户ID
+     */
+    public void revokeAllTokens(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long validAfter = TokenRevocationEpoch.floorToSecond(System.currentTimeMillis());
+        long ttl = Math.max(jwtProperties.getAccessExpiration(), jwtProperties.getRefreshExpiration());
+        byte[] key = TokenRevocationEpoch.key(userId.toString()).getBytes(StandardCharsets.UTF_8);
+        byte[] value = String.valueOf(validAfter).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(key, value, Expiration.milliseconds(ttl), RedisStringCommands.SetOption.upsert()));
+
+        // 广播用户吊销消息，网关据此更新本地缓存
+        publish(JwtConstants.Channels.USER_TOKENS_REVOKED,
+                userId + JwtConstants.Channels.MESSAGE_SEPARATOR + validAfter);
+    }
+
     /**
      * 将Token加入黑名单
      *
@@ -86,7 +148,31 @@ public class TokenBlacklistUtils {
 
         // 将Token加入黑名单，TTL设置为Token的剩余有效时间
         String key = JwtConstants.CacheKeys.TOKEN_BLACKLIST_PREFIX + jti;
-        redisTemplate.opsForValue().set(key, tokenType != null ? tokenType.name() : "ACCESS", ttl, TimeUnit.MILLISECONDS);
+        String type = tokenType != null ? tokenType.name() : TokenType.ACCESS.name();
+        redisTemplate.opsForValue().set(key, type, ttl, TimeUnit.MILLISECONDS);
+
+        // 广播吊销消息（原始字符串，不经过 RedisTemplate 的 JSON 序列化，便于网关按字符串订阅）
+        publish(JwtConstants.Channels.TOKEN_REVOKED, type + JwtConstants.Channels.MESSAGE_SEPARATOR + expiration
+                + JwtConstants.Channels.MESSAGE_SEPARATOR + jti);
+    }
+
+    /**
+     * 发布Token吊销消息
+     * <p>
+     * 广播失败不影响 Redis 写入：网关订阅端会定期从 Redis 全量重建（黑名单）或按有效期重新读取（吊销时间点），最终仍能感知该吊销
+     * </p>
+     *
+     * @param channelName 频道
+     * @param message     吊销消息
+     */
+    private void publish(String channelName, String message) {
+        try {
+            byte[] channel = channelName.getBytes(StandardCharsets.UTF_8);
+            byte[] body = message.getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+        } catch (Exception e) {
+            log.warn("Token吊销消息广播失败: {}", e.getMessage());
+        }
     }
 
     /**
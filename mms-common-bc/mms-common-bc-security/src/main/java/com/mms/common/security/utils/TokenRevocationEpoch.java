@@ -0,0 +1,108 @@
+package com.mms.common.security.utils;
+
+import com.mms.common.security.constants.JwtConstants;
+import com.mms.common.security.jws.JwtToken;
+import io.jsonwebtoken.Claims;
+import org.springframework.util.StringUtils;
+
+import java.util.Date;
+
+/**
+ * 实现功能【用户 Token 吊销时间点（tokens-valid-after）】
+ * <p>
+ * 每个用户在 Redis 中保存一个吊销时间点（毫秒，取整到秒），签发时间早于该时间点的 Token 全部视为已吊销：
+ * - 强制下线、禁用、锁定、改密等"踢出该用户所有会话"的操作只需写一个 key，与该用户持有的 Token 数量无关
+ * - 校验侧按用户读取（可本地缓存），不再依赖每个 jti 一个黑名单 key；单个 Token 登出仍使用 jti 黑名单
+ * - JWT 的 iat 只精确到秒，比较统一按秒进行：iat 早于吊销时刻所在秒的 Token 视为已吊销，
+ *   同一秒内签发的 Token 仍有效，保证改密、强制下线后立即重新登录拿到的 Token 可用
+ *   （代价是吊销前同一秒内签发的 Token 不会被吊销，最多 1 秒）
+ * 本类只包含 key/值格式与判定逻辑，同步（TokenBlacklistUtils）与 Reactive（网关）两侧共用
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:08:15
+ */
+public final class TokenRevocationEpoch {
+
+    /**
+     * 获取用户吊销时间点的 Redis key
+     *
+     * @param userId 用户ID
+     * @return Redis key
+     */
+    public static String key(String userId) {
+        return JwtConstants.CacheKeys.TOKENS_VALID_AFTER_PREFIX + userId;
+    }
+
+    /**
+     * 解析 Redis 中保存的吊销时间点
+     *
+     * @param value Redis 值
+     * @return 毫秒时间戳；为空或格式错误时返回 0（未吊销）
+     */
+    public static long parse(String value) {
+        if (!StringUtils.hasText(value)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * 从 Claims 中提取用户ID
+     *
+     * @param claims JWT Claims
+     * @return 用户ID，不存在时返回 null
+     */
+    public static String userId(Claims claims) {
+        Object userId = claims.get(JwtConstants.Claims.USER_ID);
+        return userId != null ? userId.toString() : null;
+    }
+
+    /**
+     * 判断 Token 是否签发于吊销时间点之前
+     *
+     * @param claims     JWT Claims
+     * @param validAfter 用户吊销时间点（毫秒），0 表示未吊销
+     * @return true 表示已吊销
+     */
+    public static boolean isRevoked(Claims claims, long validAfter) {
+        Date issuedAt = claims.getIssuedAt();
+        return isIssuedBefore(issuedAt != null ? issuedAt.getTime() : 0L, validAfter);
+    }
+
+    /**
+     * 判断 Token 是否签发于吊销时间点之前
+     *
+     * @param token      已验签的 Token
+     * @param validAfter 用户吊销时间点（毫秒），0 表示未吊销
+     * @return true 表示已吊销
+     */
+    public static boolean isRevoked(JwtToken token, long validAfter) {
+        return isIssuedBefore(token.issuedAt(), validAfter);
+    }
+
+    /**
+     * 将吊销时刻取整到秒（写入 Redis 与广播的值）
+     *
+     * @param epochMillis 吊销时刻（毫秒）
+     * @return 取整到秒的毫秒时间戳
+     */
+    public static long floorToSecond(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, 1000L);
+    }
+
+    /**
+     * 按秒比较；缺失签发时间（0）的 Token 在用户存在吊销时间点时一律视为已吊销
+     */
+    private static boolean isIssuedBefore(long issuedAt, long validAfter) {
+        return validAfter > 0 && Math.floorDiv(issuedAt, 1000L) < Math.floorDiv(validAfter, 1000L);
+    }
+
+    private TokenRevocationEpoch() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+}
@@ -13,7 +13,7 @@ import java.util.Date;
 /**
  * 实现功能【Token验证工具类】
  * <p>
- * 负责Token的解析、验证（签名、过期、类型）
+ * 负责Token的解析、验证（签名、过期、类型、jti 黑名单、用户吊销时间点）
  * 仅适用于 WebMvc 场景，使用 同步Redis 会阻塞线程，不可用于网关
  * </p>
  *
@@ -34,6 +34,37 @@ public class TokenValidatorUtils {
      * @return Claims
      */
     public Claims parseAndValidate(String token, TokenType expectedType) {
+        Claims claims = verify(token, expectedType);
+
+        try {
+            // 检查Token是否在黑名单中
+            if (tokenBlacklistUtils.isBlacklisted(claims.getId())) {
+                throw new BusinessException(ErrorCode.LOGIN_EXPIRED);
+            }
+
+            // 检查Token是否签发于用户吊销时间点之前（强制下线、改密等）
+            if (tokenBlacklistUtils.isRevokedByUser(claims)) {
+                throw new BusinessException(ErrorCode.LOGIN_EXPIRED);
+            }
+            return claims;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
+    }
+
+    /**
+     * 解析Token并校验签名、过期、类型（不访问 Redis，纯内存计算）
+     * <p>
+     * 供黑名单/吊销检查在 Redis 端原子完成的场景使用（如 RefreshTokenUtils 的刷新轮换与登出）
+     * </p>
+     *
+     * @param token        Token字符串
+     * @param expectedType 期望的Token类型（可为null，表示不验证类型）
+     * @return Claims
+     */
+    public Claims verify(String token, TokenType expectedType) {
         if (!StringUtils.hasText(token)) {
             throw new BusinessException(ErrorCode.INVALID_TOKEN);
         }
@@ -56,12 +87,10 @@ public class TokenValidatorUtils {
                 }
             }
 
-            // 检查Token是否在黑名单中
-            String jti = claims.getId();
-            if (StringUtils.hasText(jti) &&  tokenBlacklistUtils.isBlacklisted(jti)) {
-                throw new BusinessException(ErrorCode.LOGIN_EXPIRED);
+            // 黑名单依赖 jti，缺失视为无效 Token
+            if (!StringUtils.hasText(claims.getId())) {
+                throw new BusinessException(ErrorCode.INVALID_TOKEN);
             }
-
             return claims;
         } catch (BusinessException e) {
             throw e;
@@ -0,0 +1,78 @@
+package com.mms.common.security.warmup;
+
+import com.mms.common.core.permission.PermissionBits;
+import com.mms.common.core.permission.PermissionRegistry;
+import com.mms.common.core.warmup.WarmupTask;
+import com.mms.common.security.utils.AuthorityHeaderUtils;
+import com.mms.common.security.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 实现功能【安全热点路径预热任务】
+ * <p>
+ * 使用合成用户走一遍每个请求都会经过的安全路径：
+ * - JWT 签发与验签解析（密钥环、jjwt 解析器、精简 JWS 解码器、HMAC）
+ * - 权限位集编码/解码与位判断
+ * - 网关权限请求头的签名与验签（启用时）
+ * - 准备阶段读取一次权限注册表（按需加载的实现借此提前加载本地快照）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:44:37
+ */
+public class SecurityWarmupTask implements WarmupTask {
+
+    /**
+     * 合成用户ID（不对应真实用户，仅用于本地签发/解析）
+     */
+    private static final long WARMUP_USER_ID = -1L;
+
+    private static final String WARMUP_USERNAME = "warmup";
+
+    private static final PermissionBits WARMUP_BITS = PermissionBits.of(List.of(1, 7, 63, 64, 130));
+
+    private final JwtUtils jwtUtils;
+
+    private final AuthorityHeaderUtils authorityHeaderUtils;
+
+    private final PermissionRegistry permissionRegistry;
+
+    public SecurityWarmupTask(JwtUtils jwtUtils, AuthorityHeaderUtils authorityHeaderUtils, PermissionRegistry permissionRegistry) {
+        this.jwtUtils = jwtUtils;
+        this.authorityHeaderUtils = authorityHeaderUtils;
+        this.permissionRegistry = permissionRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return "security";
+    }
+
+    @Override
+    public void prepare() {
+        if (permissionRegistry != null) {
+            permissionRegistry.indexOf(WARMUP_USERNAME);
+        }
+    }
+
+    @Override
+    public void execute() {
+        String token = jwtUtils.generateAccessToken(WARMUP_USER_ID, WARMUP_USERNAME);
+        Claims claims = jwtUtils.parseToken(token);
+        jwtUtils.extractTokenType(claims);
+        jwtUtils.decode(token);
+
+        PermissionBits bits = PermissionBits.decode(WARMUP_BITS.encode());
+        bits.has(63);
+        bits.has(65);
+
+        if (authorityHeaderUtils != null && authorityHeaderUtils.isEnabled()) {
+            String userId = String.valueOf(WARMUP_USER_ID);
+            String header = authorityHeaderUtils.encode(userId, Set.of(WARMUP_USERNAME), bits.encode());
+            authorityHeaderUtils.decode(header, userId);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mms.common.security.utils;
+
+import com.mms.common.security.enums.TokenType;
+import com.mms.common.security.jws.JwtToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 实现功能【TokenRevocationEpoch 秒级边界测试】
+ * <p>
+ * iat 只精确到秒，吊销时间点按秒比较
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-19 10:41:08
+ */
+class TokenRevocationEpochTest {
+
+    /**
+     * 吊销时刻：某一秒内的第 700 毫秒
+     */
+    private static final long REVOKED_AT = 1_760_000_000_700L;
+
+    @Test
+    void floorToSecondDropsMillis() {
+        assertThat(TokenRevocationEpoch.floorToSecond(REVOKED_AT)).isEqualTo(1_760_000_000_000L);
+        assertThat(TokenRevocationEpoch.floorToSecond(1_760_000_000_000L)).isEqualTo(1_760_000_000_000L);
+    }
+
+    @Test
+    void tokenIssuedInSameSecondAsRevocationIsNotRevoked() {
+        long validAfter = TokenRevocationEpoch.floorToSecond(REVOKED_AT);
+        // 吊销后同一秒内重新登录，iat 为该秒
+        assertThat(TokenRevocationEpoch.isRevoked(token(1_760_000_000L), validAfter)).isFalse();
+        assertThat(TokenRevocationEpoch.isRevoked(claims(1_760_000_000L), validAfter)).isFalse();
+        // 存量未取整的吊销时间点同样按秒比较
+        assertThat(TokenRevocationEpoch.isRevoked(token(1_760_000_000L), REVOKED_AT)).isFalse();
+    }
+
+    @Test
+    void tokenIssuedInPreviousSecondIsRevoked() {
+        long validAfter = TokenRevocationEpoch.floorToSecond(REVOKED_AT);
+        assertThat(TokenRevocationEpoch.isRevoked(token(1_759_999_999L), validAfter)).isTrue();
+        assertThat(TokenRevocationEpoch.isRevoked(claims(1_759_999_999L), validAfter)).isTrue();
+    }
+
+    @Test
+    void tokenIssuedInLaterSecondIsNotRevoked() {
+        assertThat(TokenRevocationEpoch.isRevoked(token(1_760_000_001L), REVOKED_AT)).isFalse();
+    }
+
+    @Test
+    void noRevocationEpochNeverRevokes() {
+        assertThat(TokenRevocationEpoch.isRevoked(token(1_759_999_999L), 0L)).isFalse();
+    }
+
+    @Test
+    void missingIssuedAtIsRevokedWhenEpochExists() {
+        assertThat(TokenRevocationEpoch.isRevoked(Jwts.claims().build(), REVOKED_AT)).isTrue();
+    }
+
+    private static JwtToken token(long issuedAtSeconds) {
+        return new JwtToken("1", "alice", TokenType.ACCESS, "jti", issuedAtSeconds * 1000, (issuedAtSeconds + 60) * 1000);
+    }
+
+    private static Claims claims(long issuedAtSeconds) {
+        return Jwts.claims().issuedAt(new Date(issuedAtSeconds * 1000)).build();
+    }
+}
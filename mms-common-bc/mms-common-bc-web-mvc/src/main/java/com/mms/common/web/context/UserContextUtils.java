@@ -6,6 +6,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
 /**
  * 实现功能【用户上下文工具类】
  * <p>
@@ -72,7 +75,7 @@ public class UserContextUtils {
         userContext.setClientIp(clientIp);
         userContext.setExpiration(expiration);
         userContext.setUserAgent(userAgent);
-        userContext.setLoginLocation(loginLocation);
+        userContext.setLoginLocation(decodeHeader(loginLocation));
 
         return userContext;
     }
@@ -167,6 +170,23 @@ public class UserContextUtils {
         return context != null ? context.getLoginLocation() : null;
     }
 
+    /**
+     * 解码网关按 UTF-8 URL 编码透传的请求头（如包含中文的登录地点）
+     *
+     * @param value 请求头值
+     * @return 解码后的值，格式错误时返回原值
+     */
+    private static String decodeHeader(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
     /**
      * 私有构造函数，防止实例化
      */
@@ -0,0 +1,37 @@
+package com.mms.common.web.feign;
+
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.core.trace.TraceContext;
+import com.mms.common.core.trace.TraceContextHolder;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实现功能【Feign 链路追踪透传拦截器】
+ * <p>
+ * - 每次 Feign 调用作为一跳，基于当前请求的追踪上下文创建子 span，写入 traceparent/tracestate/X-Trace-Id
+ * - 不在请求线程内（如定时任务）发起的调用生成新的链路
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:26:39
+ */
+@Component
+public class TraceFeignRequestInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        TraceContext current = TraceContextHolder.get();
+        TraceContext clientSpan = current != null ? current.child() : TraceContext.newRoot();
+
+        template.removeHeader(GatewayConstants.Headers.TRACE_ID);
+        template.removeHeader(GatewayConstants.Headers.TRACEPARENT);
+        template.removeHeader(GatewayConstants.Headers.TRACESTATE);
+        template.header(GatewayConstants.Headers.TRACE_ID, clientSpan.getTraceId());
+        template.header(GatewayConstants.Headers.TRACEPARENT, clientSpan.toTraceparent());
+        if (clientSpan.getTraceState() != null) {
+            template.header(GatewayConstants.Headers.TRACESTATE, clientSpan.getTraceState());
+        }
+    }
+}
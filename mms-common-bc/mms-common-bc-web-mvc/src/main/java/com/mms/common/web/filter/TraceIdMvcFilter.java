@@ -1,23 +1,23 @@
 package com.mms.common.web.filter;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.core.trace.TraceContext;
+import com.mms.common.core.trace.TraceContextHolder;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.MDC;
 import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 
 
 import java.io.IOException;
-import java.util.UUID;
 
 /**
  * 实现功能【Servlet/MVC TraceId 过滤器】
  * <p>
- * - 从请求头读取 X-Trace-Id（若无则生成）
- * - 放入 MDC("traceId")，以便 Response 序列化时写回 traceId
+ * - 优先解析 W3C traceparent，其次兼容 X-Trace-Id（若都没有则生成新的链路）
+ * - 本服务作为一跳创建子 span，放入 TraceContextHolder 供 Feign 调用继续透传
+ * - traceId/spanId 放入 MDC，以便日志打印和 Response 序列化时写回 traceId
  * </p>
  *
  * @author li.hongyu
@@ -31,31 +31,32 @@ public class TraceIdMvcFilter implements Filter, Ordered {
 			throws IOException, ServletException {
 		HttpServletRequest httpRequest = (HttpServletRequest) request; // 只关心 HTTP 请求
 
-		// 优先从网关读取追踪 ID
-		String traceId = httpRequest.getHeader(GatewayConstants.Headers.TRACE_ID);
-		// 若网关未提供，则本地生成
-		if (!StringUtils.hasText(traceId)) {
-			traceId = generateTraceId();
-		}
+		// 优先从网关/上游服务读取追踪上下文，若未提供则本地生成
+		TraceContext traceContext = resolveTraceContext(httpRequest);
 
-		// 将追踪 ID 放进 MDC，便于日志打印和响应序列化写回
-		MDC.put(GatewayConstants.Mdc.TRACE_ID, traceId);
+		// 将追踪上下文绑定到当前线程，便于日志打印、响应序列化写回和 Feign 透传
+		TraceContextHolder.set(traceContext);
+		MDC.put(GatewayConstants.Mdc.TRACE_ID, traceContext.getTraceId());
+		MDC.put(GatewayConstants.Mdc.SPAN_ID, traceContext.getSpanId());
 
 		try {
 			// 放行给下游（Controller/拦截器等）
 			chain.doFilter(request, response);
 		} finally {
-			// 清理 MDC，防止线程复用造成脏数据
+			// 清理线程绑定数据，防止线程复用造成脏数据
+			TraceContextHolder.clear();
 			MDC.remove(GatewayConstants.Mdc.TRACE_ID);
+			MDC.remove(GatewayConstants.Mdc.SPAN_ID);
 		}
 	}
 
 	/**
-	 * 生成追踪 ID
+	 * 解析上游追踪上下文并创建本服务的 span
 	 */
-	private String generateTraceId() {
-		// 使用 UUID 并移除连字符，生成简洁且足够分布式的唯一 ID
-		return UUID.randomUUID().toString().replace("-", "");
+	private TraceContext resolveTraceContext(HttpServletRequest request) {
+		TraceContext incoming = TraceContext.resolve(request.getHeader(GatewayConstants.Headers.TRACEPARENT),
+				request.getHeader(GatewayConstants.Headers.TRACESTATE), request.getHeader(GatewayConstants.Headers.TRACE_ID));
+		return incoming != null ? incoming.child() : TraceContext.newRoot();
 	}
 
 	@Override
@@ -64,4 +65,3 @@ public class TraceIdMvcFilter implements Filter, Ordered {
 		return GatewayConstants.FilterOrder.TRACE_FILTER;
 	}
 }
-
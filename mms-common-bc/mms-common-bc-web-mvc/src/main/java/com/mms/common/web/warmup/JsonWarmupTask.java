@@ -0,0 +1,47 @@
+package com.mms.common.web.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.common.core.enums.ErrorCode;
+import com.mms.common.core.response.Response;
+import com.mms.common.core.warmup.WarmupTask;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实现功能【JSON 序列化预热任务】
+ * <p>
+ * 使用 Spring MVC 消息转换器同一个 ObjectMapper，对合成的 Response 做序列化与反序列化，
+ * 提前生成 Response/集合/日期时间的序列化器并触发 JIT 编译
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:55:41
+ */
+@Component
+public class JsonWarmupTask implements WarmupTask {
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "json";
+    }
+
+    @Override
+    public void execute() throws Exception {
+        Map<String, Object> data = Map.of(
+                "id", -1L,
+                "name", "warmup",
+                "createTime", LocalDateTime.now(),
+                "items", List.of(Map.of("code", "warmup", "sort", 1)));
+        byte[] json = objectMapper.writeValueAsBytes(Response.success(data));
+        objectMapper.readValue(json, JsonNode.class);
+        objectMapper.writeValueAsBytes(Response.fail(ErrorCode.NO_PERMISSION.getCode(), ErrorCode.NO_PERMISSION.getMessage()));
+    }
+}
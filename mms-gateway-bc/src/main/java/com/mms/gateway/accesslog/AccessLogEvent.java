@@ -0,0 +1,65 @@
+package com.mms.gateway.accesslog;
+
+/**
+ * 实现功能【访问日志事件】
+ * <p>
+ * 环形缓冲区中的预分配槽位，生产者填充、消费线程格式化后清空并复用，记录访问日志不产生新的事件对象
+ * 字段只在槽位被独占期间读写，发布/回收的可见性由环形缓冲区的序号保证
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:44:02
+ */
+public final class AccessLogEvent {
+
+    long timestamp;
+    String method;
+    String path;
+    String route;
+    int status;
+    String userId;
+    String clientIp;
+    long bytes;
+    long latencyMicros;
+    String traceId;
+
+    /**
+     * 填充事件
+     *
+     * @param timestamp     请求开始时间戳（毫秒）
+     * @param method        请求方法
+     * @param path          请求路径（不含查询串）
+     * @param route         路由ID
+     * @param status        响应状态码
+     * @param userId        用户ID
+     * @param clientIp      客户端IP
+     * @param bytes         响应体字节数
+     * @param latencyMicros 耗时（微秒）
+     * @param traceId       traceId
+     */
+    public void set(long timestamp, String method, String path, String route, int status, String userId,
+                    String clientIp, long bytes, long latencyMicros, String traceId) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.path = path;
+        this.route = route;
+        this.status = status;
+        this.userId = userId;
+        this.clientIp = clientIp;
+        this.bytes = bytes;
+        this.latencyMicros = latencyMicros;
+        this.traceId = traceId;
+    }
+
+    /**
+     * 清空引用，避免槽位长期持有已完成请求的字符串
+     */
+    void clear() {
+        method = null;
+        path = null;
+        route = null;
+        userId = null;
+        clientIp = null;
+        traceId = null;
+    }
+}
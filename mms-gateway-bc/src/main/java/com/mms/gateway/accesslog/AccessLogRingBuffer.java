@@ -0,0 +1,118 @@
+package com.mms.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * 实现功能【访问日志环形缓冲区（多生产者、单消费者，无锁有界）】
+ * <p>
+ * - 槽位在创建时一次性分配，每个槽位带一个序号：序号 == 写入位置 表示空闲，序号 == 位置 + 1 表示已发布
+ * - 生产者（Netty 事件循环线程）CAS 抢占写入位置后填充槽位，再发布序号；缓冲区满时立即返回 false，不阻塞、不自旋等待
+ * - 消费者（唯一的写盘线程）按顺序读取已发布的槽位，处理后把序号推进一圈归还给生产者
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:49:35
+ */
+public final class AccessLogRingBuffer {
+
+    private final AccessLogEvent[] slots;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    /**
+     * 下一个写入位置
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 下一个读取位置（仅消费线程写入）
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param requestedCapacity 期望容量（向上取整为 2 的幂）
+     */
+    public AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AccessLogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AccessLogEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入一条事件
+     *
+     * @param filler 填充槽位
+     * @return false 表示缓冲区已满，事件被丢弃
+     */
+    public boolean offer(Consumer<AccessLogEvent> filler) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    filler.accept(slots[index]);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // 槽位尚未被消费者归还：缓冲区已满
+                return false;
+            } else {
+                // 其他生产者已抢占该位置
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 批量读取已发布的事件（仅允许单个消费线程调用）
+     *
+     * @param handler  事件处理
+     * @param maxCount 最多读取条数
+     * @return 实际读取条数
+     */
+    public int drain(Consumer<AccessLogEvent> handler, int maxCount) {
+        long position = head.get();
+        int count = 0;
+        while (count < maxCount) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                // 尚未发布（为空，或生产者正在填充）
+                break;
+            }
+            AccessLogEvent event = slots[index];
+            handler.accept(event);
+            event.clear();
+            sequences.lazySet(index, position + slots.length);
+            position++;
+            count++;
+        }
+        head.lazySet(position);
+        return count;
+    }
+
+    /**
+     * 当前积压的事件数（近似值）
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(slots.length, tail.get() - head.get()));
+    }
+
+    /**
+     * 缓冲区容量
+     */
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,203 @@
+package com.mms.gateway.accesslog;
+
+import com.mms.gateway.config.GatewayAccessLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 实现功能【网关访问日志】
+ * <p>
+ * - 请求线程只把事件写入预分配的无锁环形缓冲区，不做格式化和文件 I/O
+ * - 独立的写盘线程批量取出事件、格式化后写入滚动文件，按刷盘间隔刷盘
+ * - 缓冲区使用率超过阈值时对成功请求按比例采样，缓冲区写满时直接丢弃，任何情况下都不阻塞事件循环
+ * - 指标：gateway.access-log.written / gateway.access-log.dropped（reason=sampled|full）/ gateway.access-log.pending
+ * 日志格式（空格分隔，缺失字段记为 -）：
+ * 时间 traceId 方法 路径 路由 状态码 响应字节数 耗时毫秒 用户ID 客户端IP
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 21:05:13
+ */
+@Slf4j
+@Component
+public class GatewayAccessLog {
+
+    /**
+     * 缓冲区为空时写盘线程的休眠时长
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").withZone(ZoneId.systemDefault());
+
+    private static final String EMPTY = "-";
+
+    @Resource
+    private GatewayAccessLogProperties properties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private AccessLogRingBuffer ringBuffer;
+
+    private RollingAccessLogFile file;
+
+    private Thread writerThread;
+
+    private volatile boolean running;
+
+    private final LongAdder written = new LongAdder();
+
+    private Counter droppedFull;
+
+    private Counter droppedSampled;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ringBuffer = new AccessLogRingBuffer(properties.getBufferSize());
+        file = new RollingAccessLogFile(properties.getPath(), properties.getMaxFileSize(), properties.getMaxHistory());
+
+        droppedFull = Counter.builder("gateway.access-log.dropped")
+                .description("缓冲区写满被丢弃的访问日志条数")
+                .tag("reason", "full")
+                .register(meterRegistry);
+        droppedSampled = Counter.builder("gateway.access-log.dropped")
+                .description("高负载采样时被丢弃的访问日志条数")
+                .tag("reason", "sampled")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.access-log.written", written, LongAdder::sum)
+                .description("已写入文件的访问日志条数")
+                .register(meterRegistry);
+        Gauge.builder("gateway.access-log.pending", ringBuffer, AccessLogRingBuffer::size)
+                .description("等待写盘的访问日志条数")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "gateway-access-log");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * 记录一次访问（不阻塞）
+     *
+     * @param timestamp     请求开始时间戳（毫秒）
+     * @param method        请求方法
+     * @param path          请求路径（不含查询串）
+     * @param route         路由ID
+     * @param status        响应状态码
+     * @param userId        用户ID
+     * @param clientIp      客户端IP
+     * @param bytes         响应体字节数
+     * @param latencyMicros 耗时（微秒）
+     * @param traceId       traceId
+     */
+    public void record(long timestamp, String method, String path, String route, int status, String userId,
+                       String clientIp, long bytes, long latencyMicros, String traceId) {
+        if (ringBuffer == null || !running) {
+            return;
+        }
+        // 高负载时对成功请求采样，优先保留错误请求
+        if (status < 400 && properties.getSampleRate() > 1
+                && ringBuffer.size() >= ringBuffer.capacity() * properties.getSampleThreshold()
+                && ThreadLocalRandom.current().nextInt(properties.getSampleRate()) != 0) {
+            droppedSampled.increment();
+            return;
+        }
+        boolean accepted = ringBuffer.offer(event -> event.set(timestamp, method, path, route, status, userId,
+                clientIp, bytes, latencyMicros, traceId));
+        if (!accepted) {
+            droppedFull.increment();
+        }
+    }
+
+    /**
+     * 写盘线程：批量取出事件写入文件，空闲时休眠并按间隔刷盘
+     */
+    private void runWriter() {
+        StringBuilder batch = new StringBuilder(properties.getBatchSize() * 160);
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (running || ringBuffer.size() > 0) {
+            int count = ringBuffer.drain(event -> append(batch, event), Math.max(1, properties.getBatchSize()));
+            try {
+                if (count > 0) {
+                    file.write(batch);
+                    written.add(count);
+                    dirty = true;
+                }
+                long now = System.nanoTime();
+                if (dirty && (count == 0 || now - lastFlush >= flushIntervalNanos)) {
+                    file.flush();
+                    lastFlush = now;
+                    dirty = false;
+                }
+            } catch (IOException e) {
+                log.warn("访问日志写入失败，丢弃 {} 条: {}", count, e.getMessage());
+            } finally {
+                batch.setLength(0);
+            }
+            if (count == 0 && running) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            log.warn("关闭访问日志文件失败: {}", e.getMessage());
+        }
+    }
+
+    private static void append(StringBuilder builder, AccessLogEvent event) {
+        TIME_FORMATTER.formatTo(Instant.ofEpochMilli(event.timestamp), builder);
+        builder.append(' ').append(orEmpty(event.traceId))
+                .append(' ').append(orEmpty(event.method))
+                .append(' ').append(orEmpty(event.path))
+                .append(' ').append(orEmpty(event.route))
+                .append(' ').append(event.status)
+                .append(' ').append(event.bytes)
+                .append(' ').append(event.latencyMicros / 1000).append('.');
+        long fraction = event.latencyMicros % 1000;
+        if (fraction < 100) {
+            builder.append(fraction < 10 ? "00" : "0");
+        }
+        builder.append(fraction)
+                .append(' ').append(orEmpty(event.userId))
+                .append(' ').append(orEmpty(event.clientIp))
+                .append('\n');
+    }
+
+    private static String orEmpty(String value) {
+        return value == null || value.isEmpty() ? EMPTY : value;
+    }
+}
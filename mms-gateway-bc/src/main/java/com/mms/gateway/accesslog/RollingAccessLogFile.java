@@ -0,0 +1,151 @@
+package com.mms.gateway.accesslog;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 实现功能【访问日志滚动文件】
+ * <p>
+ * - 文件名 access.yyyy-MM-dd.{序号}.log，跨天或超过单文件大小时切换到新文件
+ * - 切换日期时删除超过保留天数的旧文件
+ * - 仅由访问日志写盘线程使用，非线程安全
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:56:48
+ */
+@Slf4j
+final class RollingAccessLogFile implements AutoCloseable {
+
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("access\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)\\.log");
+
+    /**
+     * 写缓冲区大小
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    private final long maxFileSize;
+
+    private final int maxHistory;
+
+    private Writer writer;
+
+    private LocalDate currentDate;
+
+    private int currentIndex;
+
+    private long currentSize;
+
+    RollingAccessLogFile(String directory, long maxFileSize, int maxHistory) {
+        this.directory = Paths.get(directory);
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+    }
+
+    /**
+     * 写入一批已格式化的日志行
+     *
+     * @param lines 日志内容
+     */
+    void write(CharSequence lines) throws IOException {
+        LocalDate today = LocalDate.now();
+        if (writer == null || !today.equals(currentDate)) {
+            openForDate(today);
+        } else if (currentSize >= maxFileSize) {
+            openFile(today, currentIndex + 1);
+        }
+        writer.append(lines);
+        // 按字符数近似统计文件大小（访问日志基本为 ASCII）
+        currentSize += lines.length();
+    }
+
+    void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * 打开指定日期的日志文件：续写当天最后一个未写满的文件，并清理过期文件
+     */
+    private void openForDate(LocalDate date) throws IOException {
+        Files.createDirectories(directory);
+        int index = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "access.*.log")) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME_PATTERN.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                LocalDate fileDate = parseDate(matcher.group(1));
+                if (fileDate == null) {
+                    continue;
+                }
+                if (fileDate.equals(date)) {
+                    index = Math.max(index, Integer.parseInt(matcher.group(2)));
+                } else if (fileDate.isBefore(date.minusDays(maxHistory))) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+        Path last = resolve(date, index);
+        if (Files.exists(last) && Files.size(last) >= maxFileSize) {
+            index++;
+        }
+        openFile(date, index);
+    }
+
+    private void openFile(LocalDate date, int index) throws IOException {
+        close();
+        Path file = resolve(date, index);
+        writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        currentDate = date;
+        currentIndex = index;
+        currentSize = Files.size(file);
+    }
+
+    private Path resolve(LocalDate date, int index) {
+        return directory.resolve("access." + date + "." + index + ".log");
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除过期访问日志失败: {} - {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.mms.gateway.cache;
+
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.gateway.config.GatewayResponseCacheProperties;
+import com.mms.gateway.config.GatewayWhitelistConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.util.retry.Retry;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 实现功能【网关响应缓存】
+ * <p>
+ * - 按规则缓存下游 GET 接口的成功响应体，条目数与总字节数均有上限
+ * - 仅缓存白名单（gateway.whitelist.paths）内的路径：命中时不经下游鉴权，规则匹配到白名单外的路径一律忽略
+ * - 每个条目带强 ETag（响应体 SHA-256），供 If-None-Match 返回 304
+ * - 订阅 Redis 清除频道，下游服务写入字典/配置后按缓存名称清除
+ * - 每次清除递增代数，清除前发起、清除后才返回的回源响应不会写入缓存，避免旧数据回填
+ * - 命中/未命中/304/淘汰数通过 Micrometer 暴露（gateway.response.cache.*）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 18:52:30
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    /**
+     * 指标名前缀
+     */
+    private static final String METRIC_PREFIX = "gateway.response.cache";
+
+    private static final PathPatternParser PATH_PATTERN_PARSER = new PathPatternParser();
+
+    @Resource
+    private GatewayResponseCacheProperties properties;
+
+    @Resource
+    private GatewayWhitelistConfig whitelistConfig;
+
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 缓存（请求路径 + 查询串 -> 条目）
+     */
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 当前缓存的响应体总字节数
+     */
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    /**
+     * 清除代数
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 已编译的规则（配置热更新后按需重新编译）
+     */
+    private volatile CompiledRules compiledRules = new CompiledRules(null, List.of());
+
+    private final Disposable.Composite disposables = Disposables.composite();
+
+    @PostConstruct
+    public void start() {
+        FunctionCounter.builder(METRIC_PREFIX + ".hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".misses", misses, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".not-modified", notModified, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, LongAdder::sum).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", cache, Map::size).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".bytes", totalBytes, AtomicLong::get).register(meterRegistry);
+
+        ReactiveRedisMessageListenerContainer container =
+                new ReactiveRedisMessageListenerContainer(reactiveStringRedisTemplate.getConnectionFactory());
+        disposables.add(container::destroy);
+        disposables.add(container.receive(ChannelTopic.of(GatewayConstants.ResponseCache.PURGE_CHANNEL))
+                .doOnNext(message -> purge(message.getMessage()))
+                .doOnError(e -> {
+                    // 订阅中断期间可能漏掉清除消息，恢复前清空全部缓存
+                    purge(GatewayConstants.ResponseCache.ALL);
+                    log.warn("响应缓存清除频道订阅中断: {}", e.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        disposables.dispose();
+    }
+
+    /**
+     * 是否启用
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 单个响应体大小上限（字节）
+     */
+    public int maxBodyBytes() {
+        return properties.getMaxBodyBytes();
+    }
+
+    /**
+     * 查找匹配的缓存规则
+     *
+     * @param path 请求路径
+     * @return 规则；未匹配或路径不在白名单中时返回 null
+     */
+    public GatewayResponseCacheProperties.Rule match(String path) {
+        // 缓存命中由网关直接返回，下游的权限校验不会执行，需鉴权的接口不能缓存
+        if (!whitelistConfig.isWhitelisted(path)) {
+            return null;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (CompiledRule compiledRule : rules()) {
+            for (PathPattern pattern : compiledRule.patterns()) {
+                if (pattern.matches(pathContainer)) {
+                    return compiledRule.rule();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 读取缓存
+     *
+     * @param key 缓存键
+     * @return 条目；未命中或已过期返回 null
+     */
+    public Entry get(String key) {
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * 当前清除代数（回源前读取，写入时比对）
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key                缓存键
+     * @param rule               匹配的规则
+     * @param body               响应体
+     * @param contentType        响应类型
+     * @param expectedGeneration 回源前读取的清除代数，期间发生过清除时不写入
+     * @return 条目；超过大小限制或期间发生过清除时仍返回条目（仅用于生成 ETag），但不写入缓存
+     */
+    public Entry put(String key, GatewayResponseCacheProperties.Rule rule, byte[] body, MediaType contentType,
+                     long expectedGeneration) {
+        Entry entry = new Entry(rule.getName(), body, contentType, etag(body),
+                System.currentTimeMillis() + rule.getTtl().toMillis());
+        if (body.length > properties.getMaxBodyBytes() || generation.get() != expectedGeneration) {
+            return entry;
+        }
+
+        makeRoom(body.length);
+        Entry previous = cache.put(key, entry);
+        totalBytes.addAndGet(body.length - (previous != null ? previous.body().length : 0));
+        return entry;
+    }
+
+    /**
+     * 按缓存名称清除
+     *
+     * @param name 缓存名称，* 表示全部
+     */
+    public void purge(String name) {
+        generation.incrementAndGet();
+        boolean all = GatewayConstants.ResponseCache.ALL.equals(name);
+        cache.forEach((key, entry) -> {
+            if (all || entry.cacheName().equals(name)) {
+                remove(key, entry);
+            }
+        });
+        log.debug("网关响应缓存已清除: {}", name);
+    }
+
+    /**
+     * 记录一次 304 响应
+     */
+    public void recordNotModified() {
+        notModified.increment();
+    }
+
+    /**
+     * 腾出空间：先清理过期条目，仍超限时按迭代顺序淘汰
+     */
+    private void makeRoom(int incomingBytes) {
+        if (cache.size() < properties.getMaxEntries()
+                && totalBytes.get() + incomingBytes <= properties.getMaxTotalBytes()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        cache.forEach((key, entry) -> {
+            if (entry.expiresAt() <= now) {
+                remove(key, entry);
+            }
+        });
+
+        Iterator<Map.Entry<String, Entry>> iterator = cache.entrySet().iterator();
+        while (iterator.hasNext() && (cache.size() >= properties.getMaxEntries()
+                || totalBytes.get() + incomingBytes > properties.getMaxTotalBytes())) {
+            Map.Entry<String, Entry> next = iterator.next();
+            remove(next.getKey(), next.getValue());
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        if (cache.remove(key, entry)) {
+            totalBytes.addAndGet(-entry.body().length);
+            evictions.increment();
+        }
+    }
+
+    private List<CompiledRule> rules() {
+        List<GatewayResponseCacheProperties.Rule> source = properties.getRules();
+        CompiledRules current = compiledRules;
+        if (current.source() == source) {
+            return current.rules();
+        }
+        List<CompiledRule> rules = new ArrayList<>();
+        for (GatewayResponseCacheProperties.Rule rule : source) {
+            if (rule.getName() == null || rule.getTtl() == null || rule.getTtl().isNegative() || rule.getTtl().isZero()) {
+                log.warn("网关响应缓存规则无效，已忽略: {}", rule);
+                continue;
+            }
+            rules.add(new CompiledRule(rule, rule.getPatterns().stream().map(PATH_PATTERN_PARSER::parse).toList()));
+        }
+        compiledRules = new CompiledRules(source, rules);
+        return rules;
+    }
+
+    /**
+     * 强 ETag：响应体 SHA-256 的 base64url 前 22 位
+     */
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前 JVM 不支持 SHA-256", e);
+        }
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param cacheName   缓存名称
+     * @param body        响应体
+     * @param contentType 响应类型
+     * @param etag        ETag
+     * @param expiresAt   过期时间戳（毫秒）
+     */
+    public record Entry(String cacheName, byte[] body, MediaType contentType, String etag, long expiresAt) {
+    }
+
+    private record CompiledRule(GatewayResponseCacheProperties.Rule rule, List<PathPattern> patterns) {
+    }
+
+    private record CompiledRules(List<GatewayResponseCacheProperties.Rule> source, List<CompiledRule> rules) {
+    }
+}
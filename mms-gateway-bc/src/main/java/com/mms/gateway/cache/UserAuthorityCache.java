@@ -0,0 +1,214 @@
+package com.mms.gateway.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.common.core.permission.AuthoritySnapshot;
+import com.mms.gateway.config.GatewayAuthorityCacheProperties;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import com.mms.gateway.utils.GatewayJsonUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实现功能【网关用户权限缓存】
+ * <p>
+ * - 本地缓存优先，未命中时一次 GET 读取用户中心写入 Redis 的权限快照（角色集合与权限位集，AuthoritySnapshot 编码）
+ * - Redis 中同样不存在时返回空，由下游服务按原方式回源（网关不访问数据库/远程服务）
+ * - 本地缓存带有效期且容量有界
+ * - 订阅用户权限失效频道（用户中心在角色/权限变更后广播），收到后立即移除受影响用户；订阅中断时清空全部缓存，
+ *   消息丢失时角色/权限变更最长延迟一个有效期后在网关生效
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 14:25:19
+ */
+@Slf4j
+@Component
+public class UserAuthorityCache {
+
+    @Resource
+    private GatewayAuthorityCacheProperties properties;
+
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    /**
+     * 本地缓存（用户ID -> 缓存条目）
+     */
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private final Disposable.Composite disposables = Disposables.composite();
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ReactiveRedisMessageListenerContainer container =
+                new ReactiveRedisMessageListenerContainer(reactiveStringRedisTemplate.getConnectionFactory());
+        disposables.add(container::destroy);
+        disposables.add(container.receive(ChannelTopic.of(UserCenterConstants.UserAuthority.INVALIDATION_CHANNEL))
+                .doOnNext(message -> onInvalidation(message.getMessage()))
+                .doOnError(e -> {
+                    // 订阅中断期间可能漏掉失效消息，恢复前清空全部缓存
+                    invalidateAll();
+                    log.warn("用户权限失效频道订阅中断: {}", e.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        disposables.dispose();
+    }
+
+    /**
+     * 获取用户角色与权限
+     *
+     * @param userId 用户ID
+     * @return 用户权限；Redis 中也不存在时返回空 Mono
+     */
+    public Mono<UserAuthority> get(String userId) {
+        if (!StringUtils.hasText(userId)) {
+            return Mono.empty();
+        }
+
+        if (properties.isEnabled()) {
+            Entry entry = cache.get(userId);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    return Mono.just(entry.authority);
+                }
+                cache.remove(userId, entry);
+            }
+        }
+
+        String key = UserCenterConstants.UserAuthority.USER_AUTHORITY_PREFIX + userId;
+        return latencyMetrics.timeRedis("user-authority", reactiveStringRedisTemplate.opsForValue().get(key))
+                .flatMap(json -> {
+                    // 格式无法识别视为未缓存，交由下游回源
+                    AuthoritySnapshot snapshot = parseSnapshot(json);
+                    if (snapshot == null) {
+                        return Mono.empty();
+                    }
+                    UserAuthority authority = new UserAuthority(snapshot.getRoles(), snapshot.getPermissionBits().encode());
+                    put(userId, authority);
+                    return Mono.just(authority);
+                });
+    }
+
+    /**
+     * 使指定用户的本地缓存失效
+     *
+     * @param userId 用户ID
+     */
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+
+    /**
+     * 使全部本地缓存失效
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * 处理用户权限失效消息（逗号分隔的用户ID，或 * 表示全部）
+     */
+    private void onInvalidation(String message) {
+        if (UserCenterConstants.UserAuthority.INVALIDATE_ALL.equals(message)) {
+            invalidateAll();
+            return;
+        }
+        for (String userId : message.split(UserCenterConstants.UserAuthority.INVALIDATION_SEPARATOR)) {
+            invalidate(userId);
+        }
+    }
+
+    private void put(String userId, UserAuthority authority) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (cache.size() >= properties.getMaxSize()) {
+            evict();
+        }
+        cache.put(userId, new Entry(authority, System.currentTimeMillis() + properties.getTtl().toMillis()));
+    }
+
+    /**
+     * 腾出空间：先清理过期条目，仍超限时按迭代顺序淘汰约十分之一条目
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(entry -> entry.expiresAt <= now);
+
+        int maxSize = properties.getMaxSize();
+        int toRemove = cache.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> iterator = cache.keySet().iterator();
+        while (toRemove > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            toRemove--;
+        }
+    }
+
+    /**
+     * 解析用户中心写入的权限快照
+     * <p>
+     * RedisTemplate 使用 GenericJackson2JsonRedisSerializer，字符串值带引号（JSON 字符串），同时兼容不带引号的原始值
+     * </p>
+     *
+     * @return 解析结果，格式无法识别时返回 null
+     */
+    private AuthoritySnapshot parseSnapshot(String json) {
+        String encoded = json;
+        if (json.startsWith("\"")) {
+            JsonNode node = GatewayJsonUtils.readTree(json);
+            encoded = node != null && node.isTextual() ? node.asText() : null;
+        }
+        AuthoritySnapshot snapshot = AuthoritySnapshot.decode(encoded);
+        if (snapshot == null) {
+            log.warn("用户权限快照格式无法解析: {}", json);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 用户角色与权限
+     *
+     * @param roles          角色编码集合
+     * @param permissionBits 权限位集编码
+     */
+    public record UserAuthority(Set<String> roles, String permissionBits) {
+    }
+
+    /**
+     * 缓存条目
+     */
+    private record Entry(UserAuthority authority, long expiresAt) {
+    }
+}
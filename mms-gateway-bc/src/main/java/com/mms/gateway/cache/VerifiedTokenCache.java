@@ -0,0 +1,196 @@
+package com.mms.gateway.cache;
+
+import com.mms.common.security.jws.JwtToken;
+import com.mms.gateway.config.GatewayTokenCacheProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 实现功能【网关已验签 Token 本地缓存】
+ * <p>
+ * - 以 Token 的 SHA-256 摘要为 key，缓存已通过签名验证的 JwtToken，避免同一 Token 反复解析与验签
+ * - 条目在 Token 的 exp 到达后失效，读取时发现过期即移除
+ * - 容量有界：写入时若已满，先清理过期条目，仍然超限则淘汰部分条目
+ * - 只缓存验签结果，黑名单检查仍由调用方每次执行
+ * - 命中/未命中/淘汰数通过 Micrometer 暴露到 actuator（gateway.token.cache.*）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 11:05:12
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * 摘要算法
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * 指标名前缀
+     */
+    private static final String METRIC_PREFIX = "gateway.token.cache";
+
+    /**
+     * MessageDigest 非线程安全，按线程复用
+     */
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前 JVM 不支持 " + DIGEST_ALGORITHM, e);
+        }
+    });
+
+    @Resource
+    private GatewayTokenCacheProperties properties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 缓存（Token 摘要 -> 缓存条目）
+     */
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder(METRIC_PREFIX + ".hits", hits, LongAdder::sum)
+                .description("已验签 Token 缓存命中次数")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".misses", misses, LongAdder::sum)
+                .description("已验签 Token 缓存未命中次数")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, LongAdder::sum)
+                .description("已验签 Token 缓存淘汰次数（含过期）")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", cache, Map::size)
+                .description("已验签 Token 缓存当前条目数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 计算缓存 key（Token 摘要，缓存中不保留原始 Token），同一 Token 的 get/put 复用该 key，只计算一次摘要
+     *
+     * @param token 原始 Token
+     * @return 缓存 key；缓存关闭时返回 null
+     */
+    public String key(String token) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        MessageDigest messageDigest = DIGEST.get();
+        return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * 获取未过期的已验签 Token
+     *
+     * @param key 缓存 key（{@link #key(String)}）
+     * @return 命中时返回 JwtToken，否则返回 null
+     */
+    public JwtToken get(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            // 已过期，移除后按未命中处理，交由完整校验给出过期错误
+            if (cache.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.jwtToken;
+    }
+
+    /**
+     * 缓存已验签的 Token，有效期截止到 Token 的 exp
+     *
+     * @param key      缓存 key（{@link #key(String)}）
+     * @param jwtToken 已验签的 Token
+     */
+    public void put(String key, JwtToken jwtToken) {
+        if (key == null || jwtToken == null) {
+            return;
+        }
+        long expiration = jwtToken.expiration();
+        if (expiration <= System.currentTimeMillis()) {
+            return;
+        }
+
+        if (cache.size() >= properties.getMaxSize()) {
+            evict();
+        }
+        cache.put(key, new Entry(jwtToken, expiration));
+    }
+
+    /**
+     * 使缓存全部失效
+     */
+    public void invalidateAll() {
+        int size = cache.size();
+        cache.clear();
+        evictions.add(size);
+    }
+
+    /**
+     * 腾出空间：先清理过期条目，仍超限时按迭代顺序淘汰约十分之一条目
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        cache.entrySet().removeIf(e -> {
+            if (e.getValue().expiresAt <= now) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+
+        int maxSize = properties.getMaxSize();
+        if (cache.size() < maxSize) {
+            return;
+        }
+        int toRemove = Math.max(1, maxSize / 10);
+        Iterator<String> iterator = cache.keySet().iterator();
+        while (toRemove > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+            toRemove--;
+        }
+        log.debug("已验签 Token 缓存达到上限 {}，已淘汰部分条目", maxSize);
+    }
+
+    /**
+     * 缓存条目
+     */
+    private record Entry(JwtToken jwtToken, long expiresAt) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.mms.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【网关访问日志配置属性】
+ * <p>
+ * 访问日志写入独立的滚动文件（按天 + 按大小切分），不经过 logback：
+ * {path}/access.yyyy-MM-dd.{序号}.log
+ * 缓冲区大小、文件路径在启动时生效；采样阈值、采样率支持热更新
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:41:27
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class GatewayAccessLogProperties {
+
+    /**
+     * 是否启用访问日志
+     */
+    private boolean enabled = true;
+
+    /**
+     * 日志目录
+     */
+    private String path = "logs/access";
+
+    /**
+     * 环形缓冲区容量（向上取整为 2 的幂）
+     */
+    private int bufferSize = 16384;
+
+    /**
+     * 单次批量写入的最大条数
+     */
+    private int batchSize = 512;
+
+    /**
+     * 刷盘间隔（缓冲区空闲时最迟在该间隔后刷盘）
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 缓冲区使用率超过该比例时开始对成功请求采样（错误请求始终尝试记录）
+     */
+    private double sampleThreshold = 0.75;
+
+    /**
+     * 采样时每 N 条成功请求保留 1 条
+     */
+    private int sampleRate = 10;
+
+    /**
+     * 单个日志文件最大字节数
+     */
+    private long maxFileSize = 100L * 1024 * 1024;
+
+    /**
+     * 日志文件保留天数
+     */
+    private int maxHistory = 30;
+}
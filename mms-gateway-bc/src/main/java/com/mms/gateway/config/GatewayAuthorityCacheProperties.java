@@ -0,0 +1,37 @@
+package com.mms.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【网关用户权限本地缓存配置属性】
+ * <p>
+ *
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 14:20:45
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.authority-cache")
+public class GatewayAuthorityCacheProperties {
+
+    /**
+     * 是否启用本地缓存（关闭时每次都读取 Redis）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地缓存有效期（角色/权限变更后最长延迟该时长在网关生效）
+     */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /**
+     * 最大缓存条目数
+     */
+    private int maxSize = 10000;
+}
@@ -0,0 +1,73 @@
+package com.mms.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【网关自适应并发限制配置属性】
+ * <p>
+ * 每个路由（下游服务）独立维护并发上限，按下游 RTT 的变化自动收缩/放大，超出上限的请求直接返回 503
+ * 示例：
+ * gateway:
+ *   concurrency-limit:
+ *     initial-limit: 50
+ *     max-limit: 500
+ *     rtt-tolerance: 1.5
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:31:44
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public class GatewayConcurrencyLimitProperties {
+
+    /**
+     * 是否启用自适应并发限制
+     */
+    private boolean enabled = true;
+
+    /**
+     * 初始并发上限
+     */
+    private int initialLimit = 50;
+
+    /**
+     * 并发上限下限
+     */
+    private int minLimit = 10;
+
+    /**
+     * 并发上限上限
+     */
+    private int maxLimit = 500;
+
+    /**
+     * 允许的 RTT 膨胀倍数：短期 RTT 不超过长期 RTT 的该倍数时视为下游未排队
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * 每次调整时新上限所占的权重（0~1，越小调整越平滑）
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * 长期 RTT 指数移动平均的窗口（以采样窗口个数计）
+     */
+    private int longWindow = 600;
+
+    /**
+     * 采样窗口最短时长
+     */
+    private Duration sampleWindow = Duration.ofMillis(200);
+
+    /**
+     * 采样窗口最少样本数（样本不足时延长窗口）
+     */
+    private int minWindowSamples = 10;
+}
@@ -0,0 +1,43 @@
+package com.mms.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【网关IP归属地解析配置属性】
+ * <p>
+ * 使用 ip2region xdb 格式的离线数据库，文件以内存映射方式加载
+ * 更新数据库时请先写入临时文件再 mv 覆盖（原地改写已映射的文件会导致读取异常）
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 17:32:10
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.ip-location")
+public class GatewayIpLocationProperties {
+
+    /**
+     * 是否启用IP归属地解析
+     */
+    private boolean enabled = true;
+
+    /**
+     * xdb 数据库文件路径（未配置或文件不存在时不解析，登录地点为空）
+     */
+    private String dbPath;
+
+    /**
+     * 热点IP缓存条目数
+     */
+    private int cacheSize = 4096;
+
+    /**
+     * 检查数据库文件变更的间隔（文件路径或修改时间变化时自动重新加载）
+     */
+    private Duration reloadCheckInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,151 @@
+package com.mms.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 实现功能【网关限流配置属性】
+ * <p>
+ * 支持通过 Nacos 热更新：配置刷新后下一个请求即按新的限额计算，已有令牌桶状态保留
+ * 示例：
+ * gateway:
+ *   rate-limit:
+ *     mode: REDIS
+ *     defaults:
+ *       ip: { capacity: 200, replenish-rate: 100 }
+ *     routes:
+ *       usercenter-route:
+ *         route: { capacity: 2000, replenish-rate: 1000 }
+ *         user: { capacity: 50, replenish-rate: 20 }
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 16:05:31
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class GatewayRateLimitProperties {
+
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 令牌桶存储模式
+     */
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * 本地令牌桶最大数量（超出后清理已回满的桶）
+     */
+    private int maxLocalBuckets = 100000;
+
+    /**
+     * 默认限额（路由未单独配置的维度使用该限额）
+     */
+    private RouteLimit defaults = RouteLimit.defaults();
+
+    /**
+     * 按路由ID配置的限额
+     */
+    private Map<String, RouteLimit> routes = new LinkedHashMap<>();
+
+    /**
+     * 获取指定路由的限额（路由未配置的维度回退默认限额）
+     *
+     * @param routeId 路由ID
+     * @return 限额
+     */
+    public RouteLimit resolve(String routeId) {
+        RouteLimit routeLimit = routeId != null ? routes.get(routeId) : null;
+        if (routeLimit == null) {
+            return defaults;
+        }
+        RouteLimit resolved = new RouteLimit();
+        resolved.setRoute(routeLimit.getRoute() != null ? routeLimit.getRoute() : defaults.getRoute());
+        resolved.setIp(routeLimit.getIp() != null ? routeLimit.getIp() : defaults.getIp());
+        resolved.setUser(routeLimit.getUser() != null ? routeLimit.getUser() : defaults.getUser());
+        return resolved;
+    }
+
+    /**
+     * 令牌桶存储模式
+     */
+    public enum Mode {
+        /**
+         * 单节点本地令牌桶（各网关实例独立计数）
+         */
+        LOCAL,
+        /**
+         * Redis 全局令牌桶（所有网关实例共享计数，Redis 不可用时回退本地）
+         */
+        REDIS
+    }
+
+    /**
+     * 单个路由的限额（未配置的维度不限流）
+     */
+    @Data
+    public static class RouteLimit {
+
+        /**
+         * 路由整体限额
+         */
+        private Limit route;
+
+        /**
+         * 单个客户端IP限额
+         */
+        private Limit ip;
+
+        /**
+         * 单个用户限额（仅已认证请求）
+         */
+        private Limit user;
+
+        private static RouteLimit defaults() {
+            RouteLimit routeLimit = new RouteLimit();
+            routeLimit.setIp(new Limit(200, 100));
+            routeLimit.setUser(new Limit(200, 100));
+            return routeLimit;
+        }
+    }
+
+    /**
+     * 令牌桶限额
+     */
+    @Data
+    public static class Limit {
+
+        /**
+         * 桶容量（允许的突发请求数）
+         */
+        private int capacity;
+
+        /**
+         * 每秒补充的令牌数
+         */
+        private double replenishRate;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, double replenishRate) {
+            this.capacity = capacity;
+            this.replenishRate = replenishRate;
+        }
+
+        /**
+         * 是否为有效限额
+         */
+        public boolean isValid() {
+            return capacity > 0 && replenishRate > 0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.mms.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 实现功能【网关响应缓存配置属性】
+ * <p>
+ * 仅缓存规则中列出的 GET 接口，且这些接口的响应不能因用户而异；
+ * 缓存命中时不经下游鉴权，规则只对白名单（gateway.whitelist.paths）内的公开接口生效，需鉴权的接口即使匹配也不缓存
+ * 示例（/base/public/** 为假设的公开接口，需同时出现在 gateway.whitelist.paths 中）：
+ * gateway:
+ *   response-cache:
+ *     enabled: true
+ *     rules:
+ *       - name: dict
+ *         patterns: [/base/public/dict-data/**]
+ *         ttl: 10m
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 18:40:12
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class GatewayResponseCacheProperties {
+
+    /**
+     * 是否启用响应缓存（需显式开启）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 最大缓存条目数
+     */
+    private int maxEntries = 2000;
+
+    /**
+     * 缓存响应体总大小上限（字节）
+     */
+    private long maxTotalBytes = 32L * 1024 * 1024;
+
+    /**
+     * 单个响应体大小上限（字节），超过时不缓存
+     */
+    private int maxBodyBytes = 256 * 1024;
+
+    /**
+     * 缓存规则
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * 缓存规则
+     */
+    @Data
+    public static class Rule {
+
+        /**
+         * 缓存名称（下游服务按名称清除，如 dict、config）
+         */
+        private String name;
+
+        /**
+         * 网关路径模式（PathPattern 语法）
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * 缓存有效期
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mms.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【网关 Token 吊销过滤器配置属性】
+ * <p>
+ * 分桶参数仅在启动时读取，运行期修改需重启网关生效；用户吊销时间点缓存与黑名单批量查询参数运行期生效
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 11:52:06
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.revocation")
+public class GatewayRevocationProperties {
+
+    /**
+     * 是否启用本地吊销过滤器（关闭时每个请求都查询 Redis 黑名单）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 分桶时长（按 Token 过期时间分桶，整桶过期后直接丢弃）
+     */
+    private Duration bucketDuration = Duration.ofMinutes(5);
+
+    /**
+     * 每个桶预期容纳的吊销数量
+     */
+    private int expectedInsertionsPerBucket = 1024;
+
+    /**
+     * 期望误判率
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * 全量从 Redis 重建的间隔（兜底发布/订阅消息丢失）
+     */
+    private Duration resyncInterval = Duration.ofMinutes(5);
+
+    /**
+     * 用户吊销时间点本地缓存有效期（到期后重新读取 Redis，兜底发布/订阅消息丢失）
+     */
+    private Duration epochCacheTtl = Duration.ofMinutes(5);
+
+    /**
+     * 用户吊销时间点本地缓存最大用户数（写满后整体清空）
+     */
+    private int epochCacheMaxSize = 100_000;
+
+    /**
+     * 是否合并黑名单查询（关闭时每次查询单独发送 EXISTS）
+     */
+    private boolean blacklistBatchEnabled = true;
+
+    /**
+     * 黑名单查询合并窗口（窗口内到达的查询合并为一次 MGET）
+     */
+    private Duration blacklistBatchWindow = Duration.ofNanos(200_000);
+
+    /**
+     * 单批最多合并的 key 数（达到后立即发送，不再等待窗口结束）
+     */
+    private int blacklistBatchMaxSize = 64;
+
+    /**
+     * 进行中的黑名单查询数低于该值时直接查询，不进入合并窗口（低负载下不增加延迟）
+     */
+    private int blacklistBatchBypassThreshold = 8;
+}
@@ -0,0 +1,30 @@
+package com.mms.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实现功能【网关已验签 Token 缓存配置属性】
+ * <p>
+ *
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 11:02:37
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.token-cache")
+public class GatewayTokenCacheProperties {
+
+    /**
+     * 是否启用本地缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存条目数
+     */
+    private int maxSize = 10000;
+}
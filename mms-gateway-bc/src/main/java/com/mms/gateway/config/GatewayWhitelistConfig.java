@@ -1,6 +1,7 @@
 package com.mms.gateway.config;
 
-import com.mms.gateway.utils.GatewayPathMatcherUtils;
+import com.mms.gateway.matcher.GatewayWhitelistMatcher;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +13,8 @@ import java.util.List;
  * 实现功能【网关白名单配置类】
  * <p>
  * 统一管理网关白名单路径，支持通过配置文件动态配置
+ * 路径列表变更时（含 Nacos 刷新 gateway.whitelist.paths 触发的重新绑定）重新预编译匹配器并整体替换，
+ * 请求侧只读取当前匹配器引用，无需加锁
  * </p>
  *
  * @author li.hongyu
@@ -27,6 +30,12 @@ public class GatewayWhitelistConfig {
      */
     private List<String> paths = new ArrayList<>();
 
+    /**
+     * 预编译的白名单匹配器（配置刷新时整体替换）
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile GatewayWhitelistMatcher matcher;
+
     /**
      * 默认白名单路径（如果配置文件中没有配置，则使用默认值）
      */
@@ -49,6 +58,8 @@ public class GatewayWhitelistConfig {
         this.paths.add("/base/webjars/**");           // Base 服务 Knife4j 静态资源
         this.paths.add("/base/swagger-resources/**"); // Base 服务 Swagger 资源
         this.paths.add("/base/favicon.ico");          // Base 服务 favicon 图标
+
+        this.matcher = GatewayWhitelistMatcher.compile(this.paths);
     }
 
     /**
@@ -58,6 +69,8 @@ public class GatewayWhitelistConfig {
      */
     public void setPaths(List<String> paths) {
         this.paths = paths != null ? paths : new ArrayList<>();
+        // 先编译完成再替换引用，刷新期间的请求仍使用旧匹配器
+        this.matcher = GatewayWhitelistMatcher.compile(this.paths);
     }
 
     /**
@@ -67,7 +80,7 @@ public class GatewayWhitelistConfig {
      * @return 如果路径在白名单中则返回 true
      */
     public boolean isWhitelisted(String path) {
-        return GatewayPathMatcherUtils.isWhitelisted(path, this.paths);
+        return matcher.isWhitelisted(path);
     }
 }
 
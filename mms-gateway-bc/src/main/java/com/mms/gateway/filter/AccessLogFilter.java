@@ -0,0 +1,114 @@
+package com.mms.gateway.filter;
+
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.gateway.accesslog.GatewayAccessLog;
+import com.mms.gateway.config.GatewayAccessLogProperties;
+import com.mms.gateway.header.GatewayForwardHeaders;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import com.mms.gateway.utils.GatewayExceptionUtils;
+import com.mms.gateway.utils.GatewayTraceUtils;
+import jakarta.annotation.Resource;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 实现功能【网关访问日志过滤器】
+ * <p>
+ * - 紧跟 TraceFilter 执行，鉴权失败、限流、缓存命中等在网关直接返回的请求同样记录
+ * - 统计响应体字节数与总耗时，请求结束时交给 GatewayAccessLog 异步写盘
+ * - 用户ID、客户端IP 在请求结束时从透传请求头累加器读取（由后续过滤器写入）
+ * - 异常由 GatewayExceptionHandler 在过滤器链之外写响应，此处按异常类型解析状态码；客户端断开记为 499
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 21:14:36
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    /**
+     * 客户端断开连接时记录的状态码
+     */
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+
+    @Resource
+    private GatewayAccessLogProperties properties;
+
+    @Resource
+    private GatewayAccessLog accessLog;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        LongAdder bytes = new LongAdder();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.add(buffer.readableByteCount())));
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return super.writeAndFlushWith(Flux.from(body).map(part ->
+                        Flux.from(part).doOnNext(buffer -> bytes.add(buffer.readableByteCount()))));
+            }
+        };
+
+        ServerWebExchange decorated = exchange.mutate().response(response).build();
+        return chain.filter(decorated)
+                .doOnError(failure::set)
+                .doFinally(signalType -> record(decorated, timestamp, start, bytes.sum(), signalType, failure.get()));
+    }
+
+    private void record(ServerWebExchange exchange, long timestamp, long start, long bytes,
+                        SignalType signalType, Throwable failure) {
+        ServerHttpRequest request = exchange.getRequest();
+        accessLog.record(timestamp,
+                request.getMethod().name(),
+                request.getURI().getRawPath(),
+                GatewayLatencyMetrics.routeId(exchange),
+                status(exchange, signalType, failure),
+                GatewayForwardHeaders.getFirst(exchange, GatewayConstants.Headers.USER_ID),
+                GatewayForwardHeaders.getFirst(exchange, GatewayConstants.Headers.CLIENT_IP),
+                bytes,
+                (System.nanoTime() - start) / 1000,
+                GatewayTraceUtils.getTraceId(exchange));
+    }
+
+    private int status(ServerWebExchange exchange, SignalType signalType, Throwable failure) {
+        if (signalType == SignalType.CANCEL) {
+            return CLIENT_CLOSED_REQUEST;
+        }
+        if (failure != null) {
+            return GatewayExceptionUtils.resolveHttpStatus(failure).value();
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? status.value() : 200;
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayConstants.FilterOrder.ACCESS_LOG_FILTER;
+    }
+}
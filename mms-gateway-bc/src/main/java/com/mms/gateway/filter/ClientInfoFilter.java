@@ -1,6 +1,10 @@
 package com.mms.gateway.filter;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.gateway.header.GatewayForwardHeaders;
+import com.mms.gateway.location.IpLocationResolver;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import jakarta.annotation.Resource;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -11,6 +15,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.net.InetSocketAddress;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 实现功能【客户端IP提取过滤器】
@@ -28,8 +34,20 @@ import java.net.InetSocketAddress;
 @Component
 public class ClientInfoFilter implements GlobalFilter, Ordered {
 
+    // 耗时指标
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    // IP归属地解析
+    @Resource
+    private IpLocationResolver ipLocationResolver;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return latencyMetrics.observeFilter("client-info", exchange, chain, this::doFilter);
+    }
+
+    private Mono<Void> doFilter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         
         // 提取客户端真实IP
@@ -38,18 +56,17 @@ public class ClientInfoFilter implements GlobalFilter, Ordered {
         // 提取用户代理（浏览器信息）
         String userAgent = getUserAgent(request);
         
-        // 提取登录地点（通过IP解析，暂时为null，后续可接入IP解析服务）
+        // 提取登录地点（通过离线IP数据库解析）
         String loginLocation = getLoginLocation(clientIp);
         
-        // 将信息放入请求头，透传到下游服务
-        ServerHttpRequest mutatedRequest = request.mutate()
-                .header(GatewayConstants.Headers.CLIENT_IP, clientIp)
-                .header(GatewayConstants.Headers.USER_AGENT, userAgent)
-                .header(GatewayConstants.Headers.LOGIN_LOCATION, loginLocation)
-                .build();
+        // 将信息放入请求头，透传到下游服务（由 ForwardHeadersFilter 统一写入）
+        GatewayForwardHeaders.of(exchange)
+                .set(GatewayConstants.Headers.CLIENT_IP, clientIp)
+                .set(GatewayConstants.Headers.USER_AGENT, userAgent)
+                .set(GatewayConstants.Headers.LOGIN_LOCATION, loginLocation);
         
         // 继续过滤器链
-        return chain.filter(exchange.mutate().request(mutatedRequest).build());
+        return chain.filter(exchange);
     }
 
     /**
@@ -106,25 +123,17 @@ public class ClientInfoFilter implements GlobalFilter, Ordered {
     }
 
     /**
-     * 获取登录地点（通过IP地址解析）
+     * 获取登录地点（通过离线IP数据库解析）
      * <p>
-     * 注意：IP地址解析需要第三方服务或IP地址库，这里暂时返回null
-     * 后续可以接入IP解析服务（如：高德地图API、百度地图API、ip2region等）
+     * 归属地包含中文，按 UTF-8 做 URL 编码后放入请求头，下游读取时解码
      * </p>
      *
      * @param clientIp 客户端IP地址
-     * @return 登录地点，如果无法解析则返回null
+     * @return 登录地点，如果无法解析则返回空字符串
      */
     private String getLoginLocation(String clientIp) {
-        // TODO: 接入IP地址解析服务
-        // 可以使用：
-        // 1. ip2region（本地IP地址库，速度快，但需要定期更新）
-        // 2. 高德地图API（需要网络请求，有调用次数限制）
-        // 3. 百度地图API（需要网络请求，有调用次数限制）
-        // 4. 其他IP解析服务
-        
-        // 暂时返回空字符串，后续实现
-        return "";
+        String location = ipLocationResolver.resolve(clientIp);
+        return location.isEmpty() ? location : URLEncoder.encode(location, StandardCharsets.UTF_8);
     }
 
     @Override
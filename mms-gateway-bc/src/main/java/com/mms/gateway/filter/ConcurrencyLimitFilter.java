@@ -0,0 +1,82 @@
+package com.mms.gateway.filter;
+
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.core.enums.ErrorCode;
+import com.mms.common.core.response.Response;
+import com.mms.gateway.config.GatewayConcurrencyLimitProperties;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import com.mms.gateway.ratelimit.AdaptiveConcurrencyLimiter;
+import com.mms.gateway.utils.GatewayResponseUtils;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * 实现功能【网关自适应并发限制过滤器】
+ * <p>
+ * - 在转发到下游之前执行，只有真正需要访问下游的请求占用并发名额（鉴权失败、限流、缓存命中均不计入）
+ * - 请求结束时把下游耗时反馈给限制器，由限制器按 RTT 变化自动调整各路由的并发上限
+ * - 超出上限的请求直接返回 503，避免在下游 Tomcat 排队拖慢所有路由
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:48:52
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    @Resource
+    private GatewayConcurrencyLimitProperties properties;
+
+    @Resource
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return latencyMetrics.observeFilter("concurrency-limit", exchange, chain, this::doFilter);
+    }
+
+    private Mono<Void> doFilter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = GatewayLatencyMetrics.routeId(exchange);
+        AdaptiveConcurrencyLimiter.RouteLimiter limiter = concurrencyLimiter.limiter(routeId);
+        if (!limiter.tryAcquire()) {
+            return reject(exchange, routeId, limiter);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signalType -> limiter.release(System.nanoTime() - start, signalType != SignalType.CANCEL));
+    }
+
+    /**
+     * 写入 503 响应
+     */
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, AdaptiveConcurrencyLimiter.RouteLimiter limiter) {
+        concurrencyLimiter.recordRejected(routeId);
+        log.debug("下游并发已达上限，route：{}，limit：{}，path：{}", routeId, limiter.getLimit(), exchange.getRequest().getURI().getPath());
+
+        ErrorCode errorCode = ErrorCode.SERVICE_UNAVAILABLE;
+        return GatewayResponseUtils.writeError(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+                Response.error(errorCode.getCode(), errorCode.getMessage()));
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayConstants.FilterOrder.CONCURRENCY_LIMIT_FILTER;
+    }
+}
@@ -0,0 +1,33 @@
+package com.mms.gateway.filter;
+
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.gateway.header.GatewayForwardHeaders;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 实现功能【透传请求头写入过滤器】
+ * <p>
+ * 在 MMS 全局过滤器全部执行完、路由转发之前，把各过滤器累加的透传请求头一次性写入请求
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 18:16:05
+ */
+@Component
+public class ForwardHeadersFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(GatewayForwardHeaders.apply(exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayConstants.FilterOrder.FORWARD_HEADERS_FILTER;
+    }
+}
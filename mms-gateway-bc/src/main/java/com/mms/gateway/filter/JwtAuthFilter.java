@@ -4,12 +4,21 @@ import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.security.constants.JwtConstants;
 import com.mms.common.security.enums.TokenType;
+import com.mms.common.security.jws.JwtToken;
+import com.mms.common.security.utils.AuthorityHeaderUtils;
 import com.mms.common.security.utils.ReactiveTokenValidatorUtils;
+import com.mms.gateway.cache.UserAuthorityCache;
+import com.mms.gateway.cache.VerifiedTokenCache;
 import com.mms.gateway.config.GatewayWhitelistConfig;
+import com.mms.gateway.header.GatewayForwardHeaders;
+import com.mms.gateway.revocation.BlacklistLookupBatcher;
+import com.mms.gateway.revocation.RevokedJtiFilter;
+import com.mms.gateway.revocation.UserRevocationEpochCache;
 import com.mms.common.core.constants.gateway.GatewayConstants;
 import com.mms.gateway.utils.GatewayResponseUtils;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -20,15 +29,13 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Date;
-import java.util.Optional;
-
 /**
  * 实现功能【JWT 鉴权过滤器】
  * <p>
  * - 支持白名单放行
  * - 校验 Authorization: Bearer <token>
  * - 解析用户信息并透传到下游
+ * - 解析用户角色/权限并以签名请求头透传，下游服务直接验签使用
  * - 未认证/无效时返回标准响应体（带 traceId）
  * </p>
  *
@@ -47,8 +54,40 @@ public class JwtAuthFilter implements GlobalFilter, Ordered {
     @Resource
     private ReactiveTokenValidatorUtils reactiveTokenValidatorUtils;
 
+    // 已验签 Token 本地缓存
+    @Resource
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // 本地 Token 吊销过滤器
+    @Resource
+    private RevokedJtiFilter revokedJtiFilter;
+
+    // jti 黑名单批量查询
+    @Resource
+    private BlacklistLookupBatcher blacklistLookupBatcher;
+
+    // 用户吊销时间点本地缓存
+    @Resource
+    private UserRevocationEpochCache userRevocationEpochCache;
+
+    // 用户权限缓存
+    @Resource
+    private UserAuthorityCache userAuthorityCache;
+
+    // 用户权限请求头编解码
+    @Resource
+    private AuthorityHeaderUtils authorityHeaderUtils;
+
+    // 耗时指标
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return latencyMetrics.observeFilter("jwt-auth", exchange, chain, this::doFilter);
+    }
+
+    private Mono<Void> doFilter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
 
@@ -70,46 +109,44 @@ public class JwtAuthFilter implements GlobalFilter, Ordered {
             return GatewayResponseUtils.writeError(exchange, HttpStatus.UNAUTHORIZED, e.getMessage());
         }
         
-        // 解析并验证Token（验证类型必须是ACCESS，并检查黑名单）
-        return reactiveTokenValidatorUtils.parseAndValidate(token, TokenType.ACCESS)
-                .flatMap(claims -> {
-                    // 从 Token 中获取 userId
-                    String userId = Optional.ofNullable(claims.get(JwtConstants.Claims.USER_ID))
-                            .map(Object::toString)
-                            .orElse(null);
-                    // 从 Token 中获取 username
-                    String username = Optional.ofNullable(claims.get(JwtConstants.Claims.USERNAME))
-                            .map(Object::toString)
-                            .orElse(null);
-                    // 从 Token 中获取 jti（Token 标识）
-                    String jti = claims.getId();
-                    // 从 Token 中获取 expiration（Token 过期时间）
-                    Date expiration = claims.getExpiration();
-
-                    // 将用户信息透传到下游服务
-                    ServerHttpRequest mutatedRequest = request.mutate()
-                            .headers(httpHeaders -> {
+        // 解析并验证Token（验证类型必须是ACCESS，并检查用户吊销时间点与黑名单）
+        return verifyAccessToken(token)
+                .flatMap(jwtToken -> {
+                    // 从 Token 中获取 userId、username、jti（Token 标识）与 expiration（Token 过期时间）
+                    String userId = jwtToken.userId();
+                    String username = jwtToken.username();
+                    String jti = jwtToken.jti();
+                    long expiration = jwtToken.expiration();
+
+                    // 解析用户角色/权限（本地缓存 -> Redis），签名后透传，下游服务无需再访问 Redis/远程服务
+                    return resolveAuthorityHeader(userId)
+                            .defaultIfEmpty("")
+                            .flatMap(authorityHeader -> {
+                                // 将用户信息透传到下游服务（由 ForwardHeadersFilter 统一写入请求头）
+                                GatewayForwardHeaders headers = GatewayForwardHeaders.of(exchange);
                                 if (StringUtils.hasText(userId)) {
                                     // 将 userId 添加到请求头，供下游服务使用
-                                    httpHeaders.set(GatewayConstants.Headers.USER_ID, userId);
+                                    headers.set(GatewayConstants.Headers.USER_ID, userId);
                                 }
                                 if (StringUtils.hasText(username)) {
                                     // 将 username 添加到请求头，供下游服务使用
-                                    httpHeaders.set(GatewayConstants.Headers.USER_NAME, username);
+                                    headers.set(GatewayConstants.Headers.USER_NAME, username);
                                 }
                                 if (StringUtils.hasText(jti)) {
                                     // 将 jti 添加到请求头，供下游服务使用（用于黑名单）
-                                    httpHeaders.set(GatewayConstants.Headers.TOKEN_JTI, jti);
+                                    headers.set(GatewayConstants.Headers.TOKEN_JTI, jti);
                                 }
-                                if (expiration != null) {
+                                if (expiration > 0) {
                                     // 将 expiration 添加到请求头，供下游服务使用（用于黑名单TTL计算）
-                                    httpHeaders.set(GatewayConstants.Headers.TOKEN_EXP, String.valueOf(expiration.getTime()));
+                                    headers.set(GatewayConstants.Headers.TOKEN_EXP, String.valueOf(expiration));
                                 }
-                            })
-                            .build();
+                                // 将签名后的角色/权限添加到请求头，供下游服务直接构建权限；
+                                // 未解析到权限时移除客户端自带的同名请求头，下游按原方式加载权限
+                                headers.set(GatewayConstants.Headers.USER_AUTHORITY, authorityHeader);
 
-                    // 继续过滤器链
-                    return chain.filter(exchange.mutate().request(mutatedRequest).build());
+                                // 继续过滤器链
+                                return chain.filter(exchange);
+                            });
                 })
                 .onErrorResume(BusinessException.class, e -> {
                     // Token验证失败（业务异常：过期、无效、黑名单等）
@@ -123,6 +160,65 @@ public class JwtAuthFilter implements GlobalFilter, Ordered {
                 });
     }
 
+    /**
+     * 验证访问令牌
+     * <p>
+     * - 本地缓存命中时跳过解析与验签，仅执行过期/类型校验
+     * - 按用户吊销时间点校验（本地缓存 -> Redis），拒绝强制下线前签发的 Token
+     * - 本地吊销过滤器判定一定未吊销时跳过 Redis 黑名单检查，否则回退 Redis 精确检查（高并发时合并为批量查询）
+     * </p>
+     */
+    private Mono<JwtToken> verifyAccessToken(String token) {
+        final JwtToken jwtToken;
+        try {
+            String cacheKey = verifiedTokenCache.key(token);
+            JwtToken cachedToken = verifiedTokenCache.get(cacheKey);
+            if (cachedToken != null) {
+                jwtToken = reactiveTokenValidatorUtils.checkToken(cachedToken, TokenType.ACCESS);
+            } else {
+                jwtToken = reactiveTokenValidatorUtils.verify(token, TokenType.ACCESS);
+                verifiedTokenCache.put(cacheKey, jwtToken);
+            }
+        } catch (BusinessException e) {
+            return Mono.error(e);
+        }
+
+        return userRevocationEpochCache.validAfter(jwtToken.userId())
+                .flatMap(validAfter -> reactiveTokenValidatorUtils.checkRevocationEpoch(jwtToken, validAfter))
+                .flatMap(this::checkBlacklist);
+    }
+
+    /**
+     * jti 黑名单检查：本地吊销过滤器判定一定未吊销时跳过 Redis，否则经批量查询合并后访问 Redis
+     */
+    private Mono<JwtToken> checkBlacklist(JwtToken jwtToken) {
+        if (!revokedJtiFilter.mightBeRevoked(jwtToken.jti(), jwtToken.expiration())) {
+            return Mono.just(jwtToken);
+        }
+        return blacklistLookupBatcher.isBlacklisted(jwtToken.jti())
+                .flatMap(blacklisted -> Boolean.TRUE.equals(blacklisted)
+                        ? Mono.error(new BusinessException(ErrorCode.LOGIN_EXPIRED))
+                        : Mono.just(jwtToken));
+    }
+
+    /**
+     * 解析并编码用户权限请求头
+     * <p>
+     * 未配置签名密钥、缓存未命中或 Redis 异常时返回空，不影响认证结果
+     * </p>
+     */
+    private Mono<String> resolveAuthorityHeader(String userId) {
+        if (!authorityHeaderUtils.isEnabled() || !StringUtils.hasText(userId)) {
+            return Mono.empty();
+        }
+        return userAuthorityCache.get(userId)
+                .mapNotNull(authority -> authorityHeaderUtils.encode(userId, authority.roles(), authority.permissionBits()))
+                .onErrorResume(e -> {
+                    log.warn("解析用户权限失败，由下游服务自行加载: userId={} - {}", userId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
     @Override
     public int getOrder() {
         // 在 TraceFilter 之后执行，保证 traceId 已经生成并透传到请求头
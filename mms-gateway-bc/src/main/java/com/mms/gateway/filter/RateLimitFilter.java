@@ -0,0 +1,128 @@
+package com.mms.gateway.filter;
+
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.core.enums.ErrorCode;
+import com.mms.common.core.response.Response;
+import com.mms.gateway.config.GatewayRateLimitProperties;
+import com.mms.gateway.header.GatewayForwardHeaders;
+import com.mms.gateway.ratelimit.TokenBucketRateLimiter;
+import com.mms.gateway.utils.GatewayResponseUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【网关限流过滤器】
+ * <p>
+ * - 按路由、客户端IP（ClientInfoFilter 透传）、用户ID（JwtAuthFilter 透传）三个维度做令牌桶限流
+ * - 任一维度令牌不足即拒绝，返回 429 与 Retry-After，过载在网关层被削掉，不会排队到下游 Tomcat
+ * - 限额读取自 GatewayRateLimitProperties，可通过 Nacos 热更新
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 16:28:14
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    @Resource
+    private GatewayRateLimitProperties properties;
+
+    @Resource
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return latencyMetrics.observeFilter("rate-limit", exchange, chain, this::doFilter);
+    }
+
+    private Mono<Void> doFilter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = GatewayLatencyMetrics.routeId(exchange);
+        List<TokenBucketRateLimiter.Bucket> buckets = resolveBuckets(exchange, routeId);
+        return rateLimiter.tryAcquire(buckets)
+                .flatMap(waitNanos -> {
+                    if (waitNanos <= 0) {
+                        return chain.filter(exchange);
+                    }
+                    return reject(exchange, routeId, waitNanos);
+                });
+    }
+
+    /**
+     * 组装本次请求涉及的令牌桶（未配置限额的维度跳过）
+     */
+    private List<TokenBucketRateLimiter.Bucket> resolveBuckets(ServerWebExchange exchange, String routeId) {
+        GatewayRateLimitProperties.RouteLimit routeLimit = properties.resolve(routeId);
+        List<TokenBucketRateLimiter.Bucket> buckets = new ArrayList<>(3);
+
+        addBucket(buckets, routeLimit.getRoute(), routeId + ":route");
+
+        String userId = GatewayForwardHeaders.getFirst(exchange, GatewayConstants.Headers.USER_ID);
+        if (StringUtils.hasText(userId)) {
+            addBucket(buckets, routeLimit.getUser(), routeId + ":user:" + userId);
+        }
+
+        String clientIp = GatewayForwardHeaders.getFirst(exchange, GatewayConstants.Headers.CLIENT_IP);
+        if (StringUtils.hasText(clientIp)) {
+            addBucket(buckets, routeLimit.getIp(), routeId + ":ip:" + clientIp);
+        }
+        return buckets;
+    }
+
+    private void addBucket(List<TokenBucketRateLimiter.Bucket> buckets, GatewayRateLimitProperties.Limit limit, String key) {
+        if (limit != null && limit.isValid()) {
+            buckets.add(new TokenBucketRateLimiter.Bucket(key, limit));
+        }
+    }
+
+    /**
+     * 写入 429 响应
+     */
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, long waitNanos) {
+        Counter.builder("gateway.rate-limit.rejected")
+                .description("网关限流拒绝次数")
+                .tag("route", routeId)
+                .register(meterRegistry)
+                .increment();
+
+        // Retry-After 以秒为单位，向上取整且至少为 1
+        long retryAfterSeconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        log.debug("请求被限流，route：{}，path：{}，retryAfter：{}s", routeId, exchange.getRequest().getURI().getPath(), retryAfterSeconds);
+
+        ErrorCode errorCode = ErrorCode.RATE_LIMIT_EXCEEDED;
+        return GatewayResponseUtils.writeError(exchange, HttpStatus.TOO_MANY_REQUESTS,
+                Response.error(errorCode.getCode(), errorCode.getMessage()));
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayConstants.FilterOrder.RATE_LIMIT_FILTER;
+    }
+}
@@ -0,0 +1,164 @@
+package com.mms.gateway.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.core.response.Response;
+import com.mms.gateway.cache.ResponseCache;
+import com.mms.gateway.config.GatewayResponseCacheProperties;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import com.mms.gateway.utils.GatewayJsonUtils;
+import jakarta.annotation.Resource;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 实现功能【网关响应缓存过滤器】
+ * <p>
+ * - 仅处理命中缓存规则且在白名单内的 GET 请求，在鉴权、限流之后执行
+ * - 命中：直接由网关内存返回；请求带 If-None-Match 且 ETag 一致时返回 304
+ * - 未命中：回源下游，HTTP 200 且业务码为成功的响应写入缓存，并附带 ETag；
+ *   响应体最多缓冲 max-body-bytes，超出（含未声明长度的分块响应）时将已缓冲部分与剩余部分直接透传，不缓存
+ * - 响应头 X-Gateway-Cache 标记 HIT / MISS；Cache-Control: no-cache 要求客户端每次携带 ETag 重新校验
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:05:47
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String HIT = "HIT";
+    private static final String MISS = "MISS";
+
+    @Resource
+    private ResponseCache responseCache;
+
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return latencyMetrics.observeFilter("response-cache", exchange, chain, this::doFilter);
+    }
+
+    private Mono<Void> doFilter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!responseCache.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        String path = request.getURI().getRawPath();
+        GatewayResponseCacheProperties.Rule rule = responseCache.match(path);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String rawQuery = request.getURI().getRawQuery();
+        String key = rawQuery != null ? path + "?" + rawQuery : path;
+        ResponseCache.Entry entry = responseCache.get(key);
+        if (entry != null) {
+            return writeCached(exchange, entry);
+        }
+
+        long generation = responseCache.generation();
+        ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpHeaders headers = getHeaders();
+                if (getStatusCode() != HttpStatus.OK || headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                        || headers.getContentLength() > responseCache.maxBodyBytes()) {
+                    return super.writeWith(body);
+                }
+                // 累计超过上限前的数据块合为一组，上游结束时整组发出；超过上限后逐块发出
+                int maxBodyBytes = responseCache.maxBodyBytes();
+                long[] size = {0L};
+                Flux<List<DataBuffer>> groups = Flux.<DataBuffer>from(body)
+                        .bufferUntil(buffer -> (size[0] += buffer.readableByteCount()) > maxBodyBytes);
+                return groups.switchOnFirst((first, all) -> {
+                    if (!first.hasValue() || size[0] > maxBodyBytes) {
+                        return super.writeWith(all.concatMapIterable(Function.identity()));
+                    }
+                    byte[] bytes = read(first.get(), (int) size[0]);
+                    if (isSuccessBody(bytes)) {
+                        ResponseCache.Entry stored = responseCache.put(key, rule, bytes, headers.getContentType(), generation);
+                        headers.setETag(stored.etag());
+                        headers.setCacheControl(CacheControl.noCache());
+                    }
+                    headers.set(GatewayConstants.Headers.CACHE_STATUS, MISS);
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }).then();
+            }
+        };
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    /**
+     * 由缓存写出响应（ETag 一致时返回 304）
+     */
+    private Mono<Void> writeCached(ServerWebExchange exchange, ResponseCache.Entry entry) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(entry.etag());
+        headers.setCacheControl(CacheControl.noCache());
+        headers.set(GatewayConstants.Headers.CACHE_STATUS, HIT);
+
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(entry.etag())) {
+            responseCache.recordNotModified();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (entry.contentType() != null) {
+            headers.setContentType(entry.contentType());
+        }
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    /**
+     * 读取并释放数据块
+     */
+    private static byte[] read(List<DataBuffer> buffers, int size) {
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    /**
+     * 仅缓存业务成功的响应（下游业务异常同样以 HTTP 200 返回）
+     */
+    private boolean isSuccessBody(byte[] bytes) {
+        JsonNode node = GatewayJsonUtils.readTree(new String(bytes, StandardCharsets.UTF_8));
+        return node != null && node.path("code").asInt() == Response.SUCCESS_CODE;
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayConstants.FilterOrder.RESPONSE_CACHE_FILTER;
+    }
+}
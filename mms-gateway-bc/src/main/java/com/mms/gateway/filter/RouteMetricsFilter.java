@@ -0,0 +1,99 @@
+package com.mms.gateway.filter;
+
+import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 实现功能【路由下游耗时统计过滤器】
+ * <p>
+ * - 紧挨在负载均衡过滤器之前执行，统计的耗时只包含选实例 + 转发到下游（lb://usercenter、lb://base）的部分
+ * - 按路由统计在途请求数（gateway.route.inflight）与下游耗时（gateway.route.duration）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 17:03:18
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 各路由在途请求数
+     */
+    private final Map<String, AtomicInteger> inflight = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String routeId = GatewayLatencyMetrics.routeId(exchange);
+        AtomicInteger routeInflight = inflight.computeIfAbsent(routeId, this::registerInflightGauge);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            routeInflight.incrementAndGet();
+            return chain.filter(exchange)
+                    .doFinally(signalType -> {
+                        routeInflight.decrementAndGet();
+                        latencyMetrics.recordRoute(routeId, outcome(exchange, signalType), start);
+                    });
+        });
+    }
+
+    private AtomicInteger registerInflightGauge(String routeId) {
+        AtomicInteger counter = new AtomicInteger();
+        Gauge.builder("gateway.route.inflight", counter, AtomicInteger::get)
+                .description("网关转发到下游的在途请求数")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return counter;
+    }
+
+    /**
+     * 结果：按响应状态码分类（2xx -> success 等），异常/取消单独标记
+     */
+    private String outcome(ServerWebExchange exchange, SignalType signalType) {
+        if (signalType == SignalType.ON_ERROR) {
+            return "error";
+        }
+        if (signalType == SignalType.CANCEL) {
+            return "cancel";
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status == null) {
+            return "unknown";
+        }
+        if (status.is2xxSuccessful()) {
+            return "success";
+        }
+        if (status.is3xxRedirection()) {
+            return "redirection";
+        }
+        if (status.is4xxClientError()) {
+            return "client_error";
+        }
+        return status.is5xxServerError() ? "server_error" : "unknown";
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayConstants.FilterOrder.ROUTE_METRICS_FILTER;
+    }
+}
@@ -1,20 +1,25 @@
 package com.mms.gateway.filter;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
-import com.mms.gateway.utils.GatewayMdcUtils;
+import com.mms.common.core.trace.TraceContext;
+import com.mms.gateway.header.GatewayForwardHeaders;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
 import com.mms.gateway.utils.GatewayTraceUtils;
+import jakarta.annotation.Resource;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
 /**
  * 实现功能【TraceId 追踪过滤器】
  * <p>
- * - 每个请求生成/提取 traceId
- * - 放入请求头并写入 MDC
+ * - 每个请求解析 W3C traceparent（兼容 X-Trace-Id），不存在时生成新的链路
+ * - 网关作为一跳创建子 span，透传 traceparent/tracestate/X-Trace-Id 到下游
+ * - 追踪上下文写入 Reactor Context，不写线程绑定的 MDC（Netty 线程复用会串请求）
  * <p>
  *
  * @author li.hongyu
@@ -23,23 +28,28 @@ import reactor.core.publisher.Mono;
 @Component
 public class TraceFilter implements GlobalFilter, Ordered {
 
+	// 耗时指标
+	@Resource
+	private GatewayLatencyMetrics latencyMetrics;
+
 	@Override
 	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-		// 从请求头读取 traceId；若不存在则生成新的 traceId
-		String traceId = GatewayTraceUtils.getOrGenerateTraceId(exchange);
+		return latencyMetrics.observeFilter("trace", exchange, chain, this::doFilter);
+	}
 
-		// 写入 MDC，便于日志打印关联
-		GatewayMdcUtils.putTraceId(traceId);
+	private Mono<Void> doFilter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		// 解析上游追踪上下文（不存在时生成新的链路），并创建网关 span
+		TraceContext traceContext = GatewayTraceUtils.resolveTraceContext(exchange);
 
-		// 将 traceId 透传到下游服务（写入请求头）
-		ServerHttpRequest mutated = exchange.getRequest()
-				.mutate()
-				.header(GatewayConstants.Headers.TRACE_ID, traceId) // 添加追踪 ID 到请求头
-				.build();
+		// 将追踪上下文透传到下游服务（由 ForwardHeadersFilter 统一写入请求头）
+		GatewayForwardHeaders.of(exchange)
+				.set(GatewayConstants.Headers.TRACE_ID, traceContext.getTraceId())
+				.set(GatewayConstants.Headers.TRACEPARENT, traceContext.toTraceparent())
+				.set(GatewayConstants.Headers.TRACESTATE, traceContext.getTraceState());
 
-		// 继续过滤器链，并在完成后清理 MDC
-		return chain.filter(exchange.mutate().request(mutated).build())
-				.doFinally(signalType -> GatewayMdcUtils.removeTraceId()); // 清理 MDC，避免线程复用污染
+		// 继续过滤器链，追踪上下文随 Reactor Context 向后传递
+		return chain.filter(exchange)
+				.contextWrite(Context.of(TraceContext.class, traceContext));
 	}
 
 	@Override
@@ -2,6 +2,7 @@ package com.mms.gateway.handler;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
 import com.mms.gateway.utils.GatewayExceptionUtils;
+import com.mms.gateway.utils.GatewayMdcUtils;
 import com.mms.gateway.utils.GatewayResponseUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
@@ -37,7 +38,14 @@ public class GatewayExceptionHandler implements ErrorWebExceptionHandler, Ordere
 		// 根据异常和状态码解析用户友好的错误消息
 		String message = GatewayExceptionUtils.resolveMessage(ex, status);
 
-		// 根据异常类型和状态码决定日志级别
+		// 根据异常类型和状态码决定日志级别（日志带上当前请求的 traceId）
+		GatewayMdcUtils.runWithTraceId(exchange, () -> logException(method, path, status, message, ex));
+
+		// 使用统一的响应工具写入错误响应
+		return GatewayResponseUtils.writeError(exchange, status, message);
+	}
+
+	private void logException(String method, String path, HttpStatus status, String message, Throwable ex) {
 		if (status.is5xxServerError()) {
 			// 5xx错误记录ERROR级别，包含完整堆栈
 			log.error("网关异常: {} {} - status={}, message={}, exception={}", 
@@ -47,9 +55,6 @@ public class GatewayExceptionHandler implements ErrorWebExceptionHandler, Ordere
 			log.warn("网关异常: {} {} - status={}, message={}, exception={}", 
 					method, path, status.value(), message, ex.getClass().getSimpleName());
 		}
-
-		// 使用统一的响应工具写入错误响应
-		return GatewayResponseUtils.writeError(exchange, status, message);
 	}
 
 	@Override
@@ -0,0 +1,110 @@
+package com.mms.gateway.header;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 实现功能【网关透传请求头累加器】
+ * <p>
+ * 各全局过滤器不再各自 request.mutate()，而是把要透传到下游的请求头（GatewayConstants.Headers.*）写入本累加器，
+ * 由 ForwardHeadersFilter 在路由前一次性写入请求，每个请求只复制一次请求头、只创建一次 request/exchange 包装对象
+ * - 累加器保存在 exchange 属性中，mutate 后的 exchange 共享同一份属性
+ * - 同一个请求的过滤器按顺序执行，无需加锁
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 18:10:42
+ */
+public final class GatewayForwardHeaders {
+
+    /**
+     * exchange 属性名
+     */
+    private static final String ATTRIBUTE = GatewayForwardHeaders.class.getName();
+
+    /**
+     * 待写入的请求头（值为 null 表示移除）
+     */
+    private final Map<String, String> pending = new LinkedHashMap<>(16);
+
+    private GatewayForwardHeaders() {
+    }
+
+    /**
+     * 获取当前请求的累加器（不存在时创建）
+     *
+     * @param exchange 请求交换对象
+     * @return 累加器
+     */
+    public static GatewayForwardHeaders of(ServerWebExchange exchange) {
+        GatewayForwardHeaders headers = exchange.getAttribute(ATTRIBUTE);
+        if (headers == null) {
+            headers = new GatewayForwardHeaders();
+            exchange.getAttributes().put(ATTRIBUTE, headers);
+        }
+        return headers;
+    }
+
+    /**
+     * 读取请求头：优先返回已写入累加器的值，否则返回原始请求中的值
+     *
+     * @param exchange 请求交换对象
+     * @param name     请求头名称
+     * @return 请求头值，不存在或已移除时返回 null
+     */
+    public static String getFirst(ServerWebExchange exchange, String name) {
+        GatewayForwardHeaders headers = exchange.getAttribute(ATTRIBUTE);
+        if (headers != null && headers.pending.containsKey(name)) {
+            return headers.pending.get(name);
+        }
+        return exchange.getRequest().getHeaders().getFirst(name);
+    }
+
+    /**
+     * 设置请求头（覆盖原值；值为空时移除该请求头，避免透传客户端伪造的同名请求头）
+     *
+     * @param name  请求头名称
+     * @param value 请求头值
+     * @return 当前累加器
+     */
+    public GatewayForwardHeaders set(String name, String value) {
+        pending.put(name, StringUtils.hasText(value) ? value : null);
+        return this;
+    }
+
+    /**
+     * 移除请求头
+     *
+     * @param name 请求头名称
+     * @return 当前累加器
+     */
+    public GatewayForwardHeaders remove(String name) {
+        pending.put(name, null);
+        return this;
+    }
+
+    /**
+     * 将累加的请求头一次性写入请求
+     *
+     * @param exchange 请求交换对象
+     * @return 写入后的请求交换对象；没有待写入的请求头时返回原对象
+     */
+    public static ServerWebExchange apply(ServerWebExchange exchange) {
+        GatewayForwardHeaders headers = exchange.getAttribute(ATTRIBUTE);
+        if (headers == null || headers.pending.isEmpty()) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(request -> request.headers(httpHeaders -> headers.pending.forEach((name, value) -> {
+                    if (value != null) {
+                        httpHeaders.set(name, value);
+                    } else {
+                        httpHeaders.remove(name);
+                    }
+                })))
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.mms.gateway.location;
+
+import com.mms.gateway.config.GatewayIpLocationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实现功能【IP 归属地解析器】
+ * <p>
+ * - 基于内存映射的离线 IP 数据库，纯内存二分查找，无网络 I/O
+ * - 热点 IP 结果缓存在随数据库一起替换的有界 Map 中，写满后整体清空
+ * - 定期检查数据库文件路径/修改时间，变化时加载新库并原子替换，无需重启
+ * - 数据库未配置或加载失败时返回空字符串，与未接入解析前的行为一致
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 17:51:26
+ */
+@Slf4j
+@Component
+public class IpLocationResolver {
+
+    /**
+     * 地区字段中表示"无数据"的占位值
+     */
+    private static final String EMPTY_FIELD = "0";
+
+    /**
+     * 地区字段分隔符（国家|区域|省份|城市|运营商）
+     */
+    private static final String FIELD_SEPARATOR = "\\|";
+
+    @Resource
+    private GatewayIpLocationProperties properties;
+
+    /**
+     * 当前加载的数据库
+     */
+    private volatile Loaded loaded;
+
+    private Disposable reloadTask;
+
+    @PostConstruct
+    public void init() {
+        reloadIfChanged();
+        reloadTask = Flux.interval(properties.getReloadCheckInterval(), properties.getReloadCheckInterval(), Schedulers.boundedElastic())
+                .subscribe(tick -> reloadIfChanged());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (reloadTask != null) {
+            reloadTask.dispose();
+        }
+    }
+
+    /**
+     * 解析 IP 归属地
+     *
+     * @param ip 客户端 IP
+     * @return 归属地（如"中国 广东省 深圳市"）；无法解析时返回空字符串
+     */
+    public String resolve(String ip) {
+        Loaded current = loaded;
+        if (current == null || !properties.isEnabled()) {
+            return "";
+        }
+        String cached = current.cache.get(ip);
+        if (cached != null) {
+            return cached;
+        }
+
+        long ipValue = IpRegionDatabase.parseIpv4(ip);
+        if (ipValue < 0) {
+            // 非 IPv4（IPv6、unknown 等）不解析也不缓存
+            return "";
+        }
+        String location = format(current.database.search(ipValue));
+        if (current.cache.size() >= properties.getCacheSize()) {
+            current.cache.clear();
+        }
+        current.cache.put(ip, location);
+        return location;
+    }
+
+    /**
+     * 文件路径或修改时间发生变化时重新加载数据库
+     */
+    public synchronized void reloadIfChanged() {
+        String dbPath = properties.getDbPath();
+        if (!StringUtils.hasText(dbPath)) {
+            if (loaded != null) {
+                log.info("IP数据库路径已移除，停止解析登录地点");
+            }
+            loaded = null;
+            return;
+        }
+
+        Path path = Paths.get(dbPath);
+        try {
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            Loaded current = loaded;
+            if (current != null && current.path.equals(path) && current.lastModified == lastModified) {
+                return;
+            }
+            loaded = new Loaded(path, lastModified, IpRegionDatabase.open(path), new ConcurrentHashMap<>());
+            log.info("IP数据库加载完成: {}", path);
+        } catch (IOException e) {
+            // 加载失败时保留旧库，下个周期重试
+            log.warn("IP数据库加载失败: {} - {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 将 "中国|0|广东省|深圳市|电信" 格式化为 "中国 广东省 深圳市"（去除占位值、重复值与运营商）
+     */
+    private static String format(String region) {
+        if (region == null) {
+            return "";
+        }
+        String[] fields = region.split(FIELD_SEPARATOR);
+        StringJoiner joiner = new StringJoiner(" ");
+        String previous = null;
+        for (int i = 0; i < Math.min(fields.length, 4); i++) {
+            String field = fields[i];
+            if (field.isEmpty() || EMPTY_FIELD.equals(field) || Objects.equals(field, previous)) {
+                continue;
+            }
+            joiner.add(field);
+            previous = field;
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 已加载的数据库及其结果缓存
+     */
+    private record Loaded(Path path, long lastModified, IpRegionDatabase database, Map<String, String> cache) {
+    }
+}
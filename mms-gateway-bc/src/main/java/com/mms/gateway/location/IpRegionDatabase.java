@@ -0,0 +1,126 @@
+package com.mms.gateway.location;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 实现功能【IP 区段数据库（ip2region xdb 格式，IPv4）】
+ * <p>
+ * 文件结构（小端序）：
+ * - 256 字节头部
+ * - 向量索引：按 IP 前两段划分 256 * 256 个槽，每槽 8 字节（该槽区段索引的起始、结束偏移）
+ * - 区段索引：每条 14 字节（起始IP 4、结束IP 4、地区长度 2、地区偏移 4），按起始IP升序
+ * - 地区数据：UTF-8 字符串，如 "中国|0|广东省|深圳市|电信"
+ * 整个文件内存映射后只做绝对位置读取，不修改缓冲区状态，可被多线程无锁并发查询
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 17:38:45
+ */
+public final class IpRegionDatabase {
+
+    private static final int HEADER_LENGTH = 256;
+    private static final int VECTOR_INDEX_COLS = 256;
+    private static final int VECTOR_INDEX_ENTRY_SIZE = 8;
+    private static final int VECTOR_INDEX_LENGTH = 256 * VECTOR_INDEX_COLS * VECTOR_INDEX_ENTRY_SIZE;
+    private static final int SEGMENT_INDEX_SIZE = 14;
+
+    private final ByteBuffer buffer;
+
+    private IpRegionDatabase(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * 以只读内存映射方式打开数据库文件
+     *
+     * @param path 文件路径
+     * @return 数据库
+     * @throws IOException 文件读取失败或格式不正确
+     */
+    public static IpRegionDatabase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= HEADER_LENGTH + VECTOR_INDEX_LENGTH || size > Integer.MAX_VALUE) {
+                throw new IOException("IP数据库文件格式不正确: " + path);
+            }
+            // 映射在通道关闭后依然有效
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            return new IpRegionDatabase(buffer);
+        }
+    }
+
+    /**
+     * 查询 IPv4 地址所属地区
+     *
+     * @param ip IPv4 地址（无符号 32 位整数）
+     * @return 地区字符串；未收录时返回 null
+     */
+    public String search(long ip) {
+        int il0 = (int) ((ip >>> 24) & 0xFF);
+        int il1 = (int) ((ip >>> 16) & 0xFF);
+        int vectorOffset = HEADER_LENGTH + (il0 * VECTOR_INDEX_COLS + il1) * VECTOR_INDEX_ENTRY_SIZE;
+        long startPtr = Integer.toUnsignedLong(buffer.getInt(vectorOffset));
+        long endPtr = Integer.toUnsignedLong(buffer.getInt(vectorOffset + 4));
+
+        // 在该槽的区段索引内二分查找
+        long low = 0;
+        long high = (endPtr - startPtr) / SEGMENT_INDEX_SIZE;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int offset = (int) (startPtr + middle * SEGMENT_INDEX_SIZE);
+            if (ip < Integer.toUnsignedLong(buffer.getInt(offset))) {
+                high = middle - 1;
+            } else if (ip > Integer.toUnsignedLong(buffer.getInt(offset + 4))) {
+                low = middle + 1;
+            } else {
+                int dataLength = Short.toUnsignedInt(buffer.getShort(offset + 8));
+                int dataPtr = buffer.getInt(offset + 10);
+                byte[] data = new byte[dataLength];
+                buffer.get(dataPtr, data);
+                return new String(data, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析点分十进制 IPv4 地址（不做 DNS 解析）
+     *
+     * @param ip IP 字符串
+     * @return 无符号 32 位整数；不是合法 IPv4 地址时返回 -1
+     */
+    public static long parseIpv4(String ip) {
+        if (ip == null || ip.isEmpty() || ip.length() > 15) {
+            return -1;
+        }
+        long result = 0;
+        int part = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                part = part * 10 + (c - '0');
+                if (++digits > 3 || part > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && digits > 0 && ++dots <= 3) {
+                result = (result << 8) | part;
+                part = 0;
+                digits = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            return -1;
+        }
+        return (result << 8) | part;
+    }
+}
@@ -0,0 +1,259 @@
+package com.mms.gateway.matcher;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实现功能【网关白名单预编译匹配器】
+ * <p>
+ * - 构建时一次性编译全部白名单模式，实例不可变，可安全地被多线程共享
+ * - 按路径段组织字面量前缀树：纯字面量模式精确命中，"前缀/**" 模式在前缀节点直接放行
+ * - 含通配符/变量的模式挂在其字面量前缀节点上，仅当请求路径走到该节点时才用预编译的 PathPattern 兜底匹配
+ * - 含编码字符、矩阵参数、空段或尾斜杠的路径不走前缀树，直接用预编译 PathPattern 全量匹配，保证与原语义一致
+ * - 内置有界的路径判定缓存，热点路径命中后无需再遍历前缀树
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 10:12:45
+ */
+public final class GatewayWhitelistMatcher {
+
+    /**
+     * 路径模式解析器（线程安全）
+     */
+    private static final PathPatternParser PATH_PATTERN_PARSER = new PathPatternParser();
+
+    /**
+     * 路径判定缓存的最大条目数
+     */
+    private static final int DECISION_CACHE_MAX_SIZE = 4096;
+
+    /**
+     * 空匹配器（白名单为空时使用）
+     */
+    private static final GatewayWhitelistMatcher EMPTY = new GatewayWhitelistMatcher(new Node(), Collections.emptyList());
+
+    /**
+     * 前缀树根节点
+     */
+    private final Node root;
+
+    /**
+     * 全部预编译模式（慢路径使用）
+     */
+    private final List<PathPattern> allPatterns;
+
+    /**
+     * 路径判定缓存（路径 -> 是否命中白名单）
+     */
+    private final Map<String, Boolean> decisionCache = new ConcurrentHashMap<>();
+
+    private GatewayWhitelistMatcher(Node root, List<PathPattern> allPatterns) {
+        this.root = root;
+        this.allPatterns = allPatterns;
+    }
+
+    /**
+     * 根据白名单模式列表构建匹配器
+     *
+     * @param patterns 白名单路径模式列表
+     * @return 预编译后的匹配器
+     */
+    public static GatewayWhitelistMatcher compile(List<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return EMPTY;
+        }
+
+        Node root = new Node();
+        List<PathPattern> allPatterns = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            if (!StringUtils.hasText(pattern)) {
+                continue;
+            }
+            PathPattern compiledPattern = PATH_PATTERN_PARSER.parse(pattern);
+            allPatterns.add(compiledPattern);
+            insert(root, compiledPattern);
+        }
+        return new GatewayWhitelistMatcher(root, List.copyOf(allPatterns));
+    }
+
+    /**
+     * 检查路径是否在白名单中
+     *
+     * @param path 待检查的路径
+     * @return 如果路径在白名单中则返回 true
+     */
+    public boolean isWhitelisted(String path) {
+        if (path == null || allPatterns.isEmpty()) {
+            return false;
+        }
+
+        Boolean cached = decisionCache.get(path);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean result = isSimplePath(path) ? matchByTrie(path) : matchAll(path);
+        // 路径中可能带有业务 ID，基数不可控；超过上限时整体清空，让热点路径重新进入缓存
+        if (decisionCache.size() >= DECISION_CACHE_MAX_SIZE) {
+            decisionCache.clear();
+        }
+        decisionCache.put(path, result);
+        return result;
+    }
+
+    /**
+     * 沿前缀树逐段匹配
+     */
+    private boolean matchByTrie(String path) {
+        PathContainer pathContainer = null;
+        Node node = root;
+        int length = path.length();
+        int start = 1;
+        while (true) {
+            if (node.matchAllBelow) {
+                return true;
+            }
+            if (node.fallbacks != null) {
+                if (pathContainer == null) {
+                    pathContainer = PathContainer.parsePath(path);
+                }
+                for (PathPattern fallback : node.fallbacks) {
+                    if (fallback.matches(pathContainer)) {
+                        return true;
+                    }
+                }
+            }
+            if (start >= length) {
+                return node.exact;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node == null) {
+                return false;
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * 慢路径：逐个使用预编译模式匹配
+     */
+    private boolean matchAll(String path) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (PathPattern pattern : allPatterns) {
+            if (pattern.matches(pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断路径能否直接按字面量分段匹配（以 / 开头、无尾斜杠、无空段、无编码字符与矩阵参数）
+     */
+    private static boolean isSimplePath(String path) {
+        int length = path.length();
+        if (length == 0 || path.charAt(0) != '/' || (length > 1 && path.charAt(length - 1) == '/')) {
+            return false;
+        }
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            char c = path.charAt(i);
+            if (c == '%' || c == ';' || (c == '/' && previous == '/')) {
+                return false;
+            }
+            previous = c;
+        }
+        return true;
+    }
+
+    /**
+     * 将模式插入前缀树
+     */
+    private static void insert(Node root, PathPattern compiledPattern) {
+        String pattern = compiledPattern.getPatternString();
+        String[] segments = StringUtils.tokenizeToStringArray(pattern, "/");
+        boolean rooted = pattern.startsWith("/");
+        boolean trailingSlash = pattern.length() > 1 && pattern.endsWith("/");
+        if (!rooted || trailingSlash || pattern.contains("//")) {
+            // 非常规写法不参与前缀树，交给 PathPattern 兜底
+            root.addFallback(compiledPattern);
+            return;
+        }
+
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean last = i == segments.length - 1;
+            if (last && "**".equals(segment)) {
+                node.matchAllBelow = true;
+                return;
+            }
+            if (!isLiteral(segment)) {
+                node.addFallback(compiledPattern);
+                return;
+            }
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.exact = true;
+    }
+
+    /**
+     * 判断路径段是否为纯字面量
+     */
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || c == '}' || c == '\\' || c == '%' || c == ';') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 前缀树节点（仅在构建阶段修改，发布后只读）
+     */
+    private static final class Node {
+
+        /**
+         * 子节点（路径段 -> 节点）
+         */
+        private final Map<String, Node> children = new HashMap<>();
+
+        /**
+         * 是否存在以当前节点结束的纯字面量模式
+         */
+        private boolean exact;
+
+        /**
+         * 是否存在 "当前前缀/**" 模式
+         */
+        private boolean matchAllBelow;
+
+        /**
+         * 以当前节点为字面量前缀的通配模式
+         */
+        private List<PathPattern> fallbacks;
+
+        private void addFallback(PathPattern pattern) {
+            if (fallbacks == null) {
+                fallbacks = new ArrayList<>();
+            }
+            fallbacks.add(pattern);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.mms.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.Resource;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【网关耗时 actuator 端点】
+ * <p>
+ * 汇总网关过滤器、路由下游、Redis 调用以及 Spring Cloud Gateway 自带请求计时器的耗时分布（毫秒）：
+ * - GET /actuator/gatewaylatency：全部计时器
+ * - GET /actuator/gatewaylatency/{name}：指定计时器，如 gateway.filter.duration
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 17:14:52
+ */
+@Component
+@Endpoint(id = "gatewaylatency")
+public class GatewayLatencyEndpoint {
+
+    /**
+     * 端点汇总的计时器
+     */
+    private static final List<String> TIMER_NAMES = List.of(
+            GatewayLatencyMetrics.FILTER_DURATION,
+            GatewayLatencyMetrics.ROUTE_DURATION,
+            GatewayLatencyMetrics.REDIS_DURATION,
+            "spring.cloud.gateway.requests"
+    );
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> latencies() {
+        Map<String, List<Map<String, Object>>> result = new LinkedHashMap<>();
+        for (String name : TIMER_NAMES) {
+            result.put(name, latency(name));
+        }
+        return result;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> latency(@Selector String name) {
+        List<Map<String, Object>> timers = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(name).timers()) {
+            timers.add(describe(timer));
+        }
+        timers.sort(Comparator.comparing(timer -> timer.get("tags").toString()));
+        return timers;
+    }
+
+    private Map<String, Object> describe(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : timer.getId().getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("tags", tags);
+        description.put("count", snapshot.count());
+        description.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+        description.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            description.put(percentileKey(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return description;
+    }
+
+    /**
+     * 0.5 -> p50，0.99 -> p99，0.999 -> p999
+     */
+    private static String percentileKey(double percentile) {
+        return "p" + new BigDecimal(Double.toString(percentile)).movePointRight(2)
+                .stripTrailingZeros().toPlainString().replace(".", "");
+    }
+}
@@ -0,0 +1,199 @@
+package com.mms.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Resource;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+/**
+ * 实现功能【网关耗时指标】
+ * <p>
+ * - gateway.filter.duration：各全局过滤器自身耗时（进入过滤器到调用下一个过滤器/直接响应），按 filter/route/outcome 打标签
+ * - gateway.redis.duration：网关发起的 Redis 调用耗时，按 operation/outcome 打标签
+ * - 所有计时器发布 p50/p99/p999，可通过 /actuator/gatewaylatency 或 /actuator/metrics 查看
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 16:52:36
+ */
+@Component
+public class GatewayLatencyMetrics {
+
+    /**
+     * 过滤器耗时指标名
+     */
+    public static final String FILTER_DURATION = "gateway.filter.duration";
+
+    /**
+     * 路由下游耗时指标名
+     */
+    public static final String ROUTE_DURATION = "gateway.route.duration";
+
+    /**
+     * Redis 调用耗时指标名
+     */
+    public static final String REDIS_DURATION = "gateway.redis.duration";
+
+    /**
+     * 发布的百分位
+     */
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    /**
+     * 未匹配到路由时使用的路由标识
+     */
+    private static final String UNKNOWN_ROUTE = "unknown";
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 计时器缓存（按标签值逐级查找，请求路径上不拼接 key、不构建 Meter.Id）
+     * filter -> route -> outcome -> Timer
+     */
+    private final Map<String, Map<String, Map<String, Timer>>> filterTimers = new ConcurrentHashMap<>();
+
+    /**
+     * route -> outcome -> Timer
+     */
+    private final Map<String, Map<String, Timer>> routeTimers = new ConcurrentHashMap<>();
+
+    /**
+     * operation -> outcome -> Timer
+     */
+    private final Map<String, Map<String, Timer>> redisTimers = new ConcurrentHashMap<>();
+
+    /**
+     * 记录过滤器自身耗时
+     * <p>
+     * 以包装后的 chain 被调用的时刻作为过滤器结束时间，下游耗时不计入；
+     * 过滤器未调用 chain 直接结束（如鉴权失败、限流）时按结束信号记录
+     * </p>
+     *
+     * @param filter   过滤器名称
+     * @param exchange 请求交换对象
+     * @param chain    过滤器链
+     * @param body     过滤器逻辑
+     * @return Mono<Void>
+     */
+    public Mono<Void> observeFilter(String filter, ServerWebExchange exchange, GatewayFilterChain chain,
+                                    BiFunction<ServerWebExchange, GatewayFilterChain, Mono<Void>> body) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            GatewayFilterChain timedChain = mutated -> {
+                if (recorded.compareAndSet(false, true)) {
+                    recordFilter(filter, mutated, "pass", start);
+                }
+                return chain.filter(mutated);
+            };
+            return body.apply(exchange, timedChain)
+                    .doFinally(signalType -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            recordFilter(filter, exchange, outcome(signalType, "short-circuit"), start);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * 记录 Redis 调用耗时（订阅时开始计时）
+     *
+     * @param operation 操作名称
+     * @param call      Redis 调用
+     * @return 原调用结果
+     */
+    public <T> Mono<T> timeRedis(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doFinally(signalType -> {
+                String outcome = outcome(signalType, "success");
+                Map<String, Timer> timers = child(redisTimers, operation);
+                Timer timer = timers.get(outcome);
+                if (timer == null) {
+                    timer = timers.computeIfAbsent(outcome,
+                            key -> register(REDIS_DURATION, Tags.of("operation", operation, "outcome", key)));
+                }
+                record(timer, start);
+            });
+        });
+    }
+
+    /**
+     * 记录路由下游耗时
+     *
+     * @param routeId 路由ID
+     * @param outcome 结果
+     * @param start   开始时间（System.nanoTime）
+     */
+    public void recordRoute(String routeId, String outcome, long start) {
+        Map<String, Timer> timers = child(routeTimers, routeId);
+        Timer timer = timers.get(outcome);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(outcome, key -> register(ROUTE_DURATION, Tags.of("route", routeId, "outcome", key)));
+        }
+        record(timer, start);
+    }
+
+    /**
+     * 获取请求匹配的路由ID
+     *
+     * @param exchange 请求交换对象
+     * @return 路由ID，未匹配时返回 unknown
+     */
+    public static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : UNKNOWN_ROUTE;
+    }
+
+    private void recordFilter(String filter, ServerWebExchange exchange, String outcome, long start) {
+        String route = routeId(exchange);
+        Map<String, Timer> timers = child(child(filterTimers, filter), route);
+        Timer timer = timers.get(outcome);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(outcome,
+                    key -> register(FILTER_DURATION, Tags.of("filter", filter, "route", route, "outcome", key)));
+        }
+        record(timer, start);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer register(String name, Tags tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取下一级缓存（已存在时不分配对象）
+     */
+    private static <V> Map<String, V> child(Map<String, Map<String, V>> parent, String key) {
+        Map<String, V> child = parent.get(key);
+        return child != null ? child : parent.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+    }
+
+    private static String outcome(SignalType signalType, String completeOutcome) {
+        return switch (signalType) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancel";
+            default -> completeOutcome;
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package com.mms.gateway.ratelimit;
+
+import com.mms.gateway.config.GatewayConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 实现功能【自适应并发限制器（Gradient 算法）】
+ * <p>
+ * 每个路由维护一个并发上限 limit，请求在途数达到 limit 时直接拒绝：
+ * - 每个采样窗口计算短期平均 RTT，并以指数移动平均维护长期 RTT（下游空闲时的基准耗时）
+ * - gradient = clamp(rttTolerance * 长期RTT / 短期RTT, 0.5, 1.0)，下游开始排队时 RTT 升高、gradient 变小
+ * - newLimit = limit * gradient + sqrt(limit)，sqrt(limit) 为允许的排队余量，RTT 平稳时上限缓慢增长
+ * - 在途请求不足上限一半时不调整（流量不足以证明更高的上限安全）
+ * 这样下游变慢时网关会自动收紧放行的并发，多余请求在网关快速失败，而不是堆积在下游 Tomcat 队列里
+ * 指标：gateway.concurrency.limit / gateway.concurrency.inflight / gateway.concurrency.rejected（按 route 打标签）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:40:17
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    @Resource
+    private GatewayConcurrencyLimitProperties properties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 各路由的限制器
+     */
+    private final Map<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * 各路由的拒绝计数器
+     */
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    /**
+     * 获取指定路由的限制器（不存在时创建并注册指标）
+     *
+     * @param routeId 路由ID
+     * @return 限制器
+     */
+    public RouteLimiter limiter(String routeId) {
+        return limiters.computeIfAbsent(routeId, this::createLimiter);
+    }
+
+    /**
+     * 记录一次拒绝
+     *
+     * @param routeId 路由ID
+     */
+    public void recordRejected(String routeId) {
+        rejectedCounters.computeIfAbsent(routeId, id -> Counter.builder("gateway.concurrency.rejected")
+                        .description("网关并发限制拒绝次数")
+                        .tag("route", id)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private RouteLimiter createLimiter(String routeId) {
+        RouteLimiter limiter = new RouteLimiter(properties);
+        Gauge.builder("gateway.concurrency.limit", limiter, RouteLimiter::getLimit)
+                .description("网关当前允许的下游并发上限")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, RouteLimiter::getInflight)
+                .description("网关受并发限制的在途请求数")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * 单个路由的限制器
+     */
+    public static final class RouteLimiter {
+
+        private final GatewayConcurrencyLimitProperties properties;
+
+        private final AtomicInteger inflight = new AtomicInteger();
+
+        /**
+         * 当前采样窗口内的最大在途数
+         */
+        private final AtomicInteger windowMaxInflight = new AtomicInteger();
+
+        private final LongAdder windowRttSum = new LongAdder();
+
+        private final LongAdder windowSamples = new LongAdder();
+
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+        /**
+         * 估算的并发上限（保留小数，避免平滑后取整导致无法增长）
+         */
+        private double estimatedLimit;
+
+        /**
+         * 长期 RTT（纳秒）
+         */
+        private double longRtt;
+
+        private volatile int limit;
+
+        private RouteLimiter(GatewayConcurrencyLimitProperties properties) {
+            this.properties = properties;
+            this.estimatedLimit = properties.getInitialLimit();
+            this.limit = properties.getInitialLimit();
+        }
+
+        /**
+         * 尝试占用一个并发名额
+         *
+         * @return true 表示放行，调用方必须在请求结束后调用 release
+         */
+        public boolean tryAcquire() {
+            while (true) {
+                int current = inflight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inflight.compareAndSet(current, current + 1)) {
+                    windowMaxInflight.accumulateAndGet(current + 1, Math::max);
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * 释放并发名额
+         *
+         * @param rttNanos 下游耗时（纳秒）
+         * @param sample   是否作为 RTT 样本（客户端取消等不反映下游耗时的情况传 false）
+         */
+        public void release(long rttNanos, boolean sample) {
+            inflight.decrementAndGet();
+            if (!sample) {
+                return;
+            }
+            windowRttSum.add(rttNanos);
+            windowSamples.increment();
+
+            long now = System.nanoTime();
+            long start = windowStart.get();
+            if (now - start < properties.getSampleWindow().toNanos()
+                    || windowSamples.sum() < properties.getMinWindowSamples()
+                    || !windowStart.compareAndSet(start, now)) {
+                return;
+            }
+            // 只有关闭窗口的线程执行调整
+            long samples = windowSamples.sumThenReset();
+            long rttSum = windowRttSum.sumThenReset();
+            int maxInflight = windowMaxInflight.getAndSet(inflight.get());
+            if (samples > 0) {
+                update((double) rttSum / samples, maxInflight);
+            }
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public int getInflight() {
+            return inflight.get();
+        }
+
+        private synchronized void update(double shortRtt, int maxInflight) {
+            if (longRtt <= 0) {
+                longRtt = shortRtt;
+            } else {
+                longRtt += (shortRtt - longRtt) / Math.max(1, properties.getLongWindow());
+            }
+            // 下游长时间变慢后恢复时，长期 RTT 偏高会让 gradient 长期为 1，加速衰减使其尽快跟上
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            if (maxInflight < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRtt / shortRtt));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            double smoothing = properties.getSmoothing();
+            newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+            newLimit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+
+            estimatedLimit = newLimit;
+            limit = (int) newLimit;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.mms.gateway.ratelimit;
+
+import com.mms.gateway.config.GatewayRateLimitProperties;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 实现功能【网关令牌桶限流器】
+ * <p>
+ * 令牌桶按 GCRA（通用信元速率算法）实现：每个桶只保存一个"理论到达时间"，
+ * 与补充令牌的写法等价，但状态只有一个 long，可用 CAS 无锁更新
+ * - LOCAL：ConcurrentHashMap + AtomicLong，桶数超限时清理已回满的桶（回满的桶与新桶等价）
+ * - REDIS：Lua 脚本原子地检查并扣减同一请求涉及的全部桶，时间取自 Redis 服务端，Redis 异常时回退本地
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 16:12:47
+ */
+@Slf4j
+@Component
+public class TokenBucketRateLimiter {
+
+    /**
+     * Redis 令牌桶 key 前缀
+     */
+    private static final String REDIS_KEY_PREFIX = "mms:gateway:rate-limit:";
+
+    /**
+     * KEYS：各桶 key；ARGV：每个桶依次为发放间隔、突发容忍量（微秒）
+     * 先检查全部桶，全部放行后再统一扣减；返回需要等待的最大微秒数（0 表示放行）
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local wait = 0
+            local next_tats = {}
+            for i, key in ipairs(KEYS) do
+                local interval = tonumber(ARGV[i * 2 - 1])
+                local tolerance = tonumber(ARGV[i * 2])
+                local tat = tonumber(redis.call('GET', key))
+                if tat == nil or tat < now then
+                    tat = now
+                end
+                local next_tat = tat + interval
+                local delay = next_tat - now - tolerance
+                if delay > wait then
+                    wait = delay
+                end
+                next_tats[i] = next_tat
+            end
+            if wait > 0 then
+                return math.ceil(wait)
+            end
+            for i, key in ipairs(KEYS) do
+                redis.call('SET', key, string.format('%d', next_tats[i]), 'PX', math.ceil((next_tats[i] - now) / 1000) + 1)
+            end
+            return 0
+            """, Long.class);
+
+    @Resource
+    private GatewayRateLimitProperties properties;
+
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    /**
+     * 本地令牌桶（key -> 理论到达时间，System.nanoTime 纳秒）
+     */
+    private final Map<String, AtomicLong> localBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * 是否正在清理本地桶
+     */
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    /**
+     * Redis 是否可用（仅用于避免每个请求都打印回退日志）
+     */
+    private volatile boolean redisAvailable = true;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("gateway.rate-limit.local.buckets", localBuckets, Map::size)
+                .description("网关本地令牌桶数量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 尝试从全部令牌桶各取一个令牌
+     *
+     * @param buckets 本次请求涉及的令牌桶
+     * @return 需要等待的纳秒数，0 表示放行
+     */
+    public Mono<Long> tryAcquire(List<Bucket> buckets) {
+        if (buckets.isEmpty()) {
+            return Mono.just(0L);
+        }
+        if (properties.getMode() != GatewayRateLimitProperties.Mode.REDIS) {
+            return Mono.just(tryAcquireLocal(buckets));
+        }
+        return tryAcquireRedis(buckets)
+                .doOnNext(wait -> {
+                    if (!redisAvailable) {
+                        redisAvailable = true;
+                        log.info("Redis 限流已恢复");
+                    }
+                })
+                .onErrorResume(e -> {
+                    if (redisAvailable) {
+                        redisAvailable = false;
+                        log.warn("Redis 限流失败，回退本地令牌桶: {}", e.getMessage());
+                    }
+                    return Mono.just(tryAcquireLocal(buckets));
+                });
+    }
+
+    private Mono<Long> tryAcquireRedis(List<Bucket> buckets) {
+        List<String> keys = new ArrayList<>(buckets.size());
+        List<String> args = new ArrayList<>(buckets.size() * 2);
+        for (Bucket bucket : buckets) {
+            long intervalMicros = intervalNanos(bucket.limit()) / 1000;
+            keys.add(REDIS_KEY_PREFIX + bucket.key());
+            args.add(Long.toString(intervalMicros));
+            args.add(Long.toString(intervalMicros * bucket.limit().getCapacity()));
+        }
+        return latencyMetrics.timeRedis("rate-limit", reactiveStringRedisTemplate.execute(ACQUIRE_SCRIPT, keys, args).next())
+                .map(waitMicros -> TimeUnit.MICROSECONDS.toNanos(waitMicros))
+                .defaultIfEmpty(0L);
+    }
+
+    private long tryAcquireLocal(List<Bucket> buckets) {
+        long now = System.nanoTime();
+        if (localBuckets.size() > properties.getMaxLocalBuckets()) {
+            sweep(now);
+        }
+        // 逐个扣减，某个桶拒绝时前面的桶已扣减的令牌不退回（与单桶限流相比仅略微偏严）
+        for (Bucket bucket : buckets) {
+            long wait = acquire(localBuckets.computeIfAbsent(bucket.key(), key -> new AtomicLong(now)),
+                    bucket.limit(), now);
+            if (wait > 0) {
+                return wait;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * GCRA：理论到达时间 + 发放间隔 超出 当前时间 + 突发容忍量 时拒绝
+     */
+    private long acquire(AtomicLong theoreticalArrival, GatewayRateLimitProperties.Limit limit, long now) {
+        long interval = intervalNanos(limit);
+        long tolerance = interval * limit.getCapacity();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * 清理已回满的桶（同一时刻只允许一个线程清理）
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            localBuckets.values().removeIf(theoreticalArrival -> theoreticalArrival.get() - now <= 0);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static long intervalNanos(GatewayRateLimitProperties.Limit limit) {
+        return Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / limit.getReplenishRate()));
+    }
+
+    /**
+     * 令牌桶
+     *
+     * @param key   桶标识（路由 + 维度 + 维度值）
+     * @param limit 限额
+     */
+    public record Bucket(String key, GatewayRateLimitProperties.Limit limit) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.mms.gateway.revocation;
+
+import com.mms.common.security.constants.JwtConstants;
+import com.mms.gateway.config.GatewayRevocationProperties;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 实现功能【网关 jti 黑名单批量查询】
+ * <p>
+ * - 高并发时将短时间窗口（gateway.revocation.blacklist-batch-window）内到达的黑名单查询合并为一次 MGET，
+ *   结果按 key 分发回各个等待中的 Mono，提高单个 Redis 连接可承载的查询量
+ * - 单批达到 blacklist-batch-max-size 个 key 时立即发送；同一批内相同 jti 只查询一次
+ * - 进行中的查询数低于 blacklist-batch-bypass-threshold 时直接 EXISTS，低负载下不引入窗口等待
+ * - 批量查询失败时该批所有等待方收到同一个错误，由调用方按 Redis 异常处理
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 21:08:44
+ */
+@Slf4j
+@Component
+public class BlacklistLookupBatcher {
+
+    @Resource
+    private GatewayRevocationProperties properties;
+
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 进行中的查询数（含直接查询与等待合并的查询）
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Object lock = new Object();
+
+    /**
+     * 待发送的查询（Redis key -> 等待方），由 lock 保护
+     */
+    private Map<String, List<MonoSink<Boolean>>> pending = new HashMap<>();
+
+    /**
+     * 是否已安排窗口到期发送，由 lock 保护
+     */
+    private boolean flushScheduled;
+
+    private DistributionSummary batchSize;
+
+    @PostConstruct
+    public void registerMetrics() {
+        batchSize = DistributionSummary.builder("gateway.revocation.blacklist.batch.size")
+                .description("黑名单合并查询每批 key 数")
+                .register(meterRegistry);
+        Gauge.builder("gateway.revocation.blacklist.in-flight", inFlight, AtomicInteger::get)
+                .description("进行中的黑名单查询数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 查询 jti 是否在黑名单中
+     *
+     * @param jti Token 标识
+     * @return true 表示已加入黑名单
+     */
+    public Mono<Boolean> isBlacklisted(String jti) {
+        String key = JwtConstants.CacheKeys.TOKEN_BLACKLIST_PREFIX + jti;
+        return Mono.defer(() -> {
+            int concurrent = inFlight.getAndIncrement();
+            Mono<Boolean> lookup = properties.isBlacklistBatchEnabled() && concurrent >= properties.getBlacklistBatchBypassThreshold()
+                    ? Mono.create(sink -> enqueue(key, sink))
+                    : latencyMetrics.timeRedis("token-blacklist", reactiveStringRedisTemplate.hasKey(key)).defaultIfEmpty(false);
+            return lookup.doFinally(signalType -> inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * 加入待发送批次：达到单批上限时立即发送，否则确保窗口到期时发送
+     */
+    private void enqueue(String key, MonoSink<Boolean> sink) {
+        Map<String, List<MonoSink<Boolean>>> batch = null;
+        boolean schedule = false;
+        synchronized (lock) {
+            pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(sink);
+            if (pending.size() >= properties.getBlacklistBatchMaxSize()) {
+                batch = pending;
+                pending = new HashMap<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                schedule = true;
+            }
+        }
+        if (batch != null) {
+            execute(batch);
+        } else if (schedule) {
+            Schedulers.parallel().schedule(this::flush, properties.getBlacklistBatchWindow().toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 窗口到期：发送当前累积的查询
+     */
+    private void flush() {
+        Map<String, List<MonoSink<Boolean>>> batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        execute(batch);
+    }
+
+    /**
+     * 发送一次 MGET，并将结果分发给各等待方（值存在即在黑名单中）
+     */
+    private void execute(Map<String, List<MonoSink<Boolean>>> batch) {
+        List<String> keys = new ArrayList<>(batch.keySet());
+        batchSize.record(keys.size());
+        latencyMetrics.timeRedis("token-blacklist-batch", reactiveStringRedisTemplate.opsForValue().multiGet(keys))
+                .defaultIfEmpty(List.of())
+                .subscribe(values -> {
+                    for (int i = 0; i < keys.size(); i++) {
+                        boolean exists = i < values.size() && values.get(i) != null;
+                        batch.get(keys.get(i)).forEach(sink -> sink.success(exists));
+                    }
+                }, e -> {
+                    log.warn("黑名单合并查询失败: keys={} - {}", keys.size(), e.getMessage());
+                    batch.values().forEach(sinks -> sinks.forEach(sink -> sink.error(e)));
+                });
+    }
+}
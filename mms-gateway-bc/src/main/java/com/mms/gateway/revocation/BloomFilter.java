@@ -0,0 +1,114 @@
+package com.mms.gateway.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 实现功能【字符串布隆过滤器（无锁）】
+ * <p>
+ * - 位数组基于 AtomicLongArray，写入使用 CAS，读写均无需加锁
+ * - 使用 64 位 FNV-1a 哈希拆成两段做双重哈希，生成 k 个位下标
+ * - 只会误报（判定可能存在），不会漏报
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 11:48:20
+ */
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * 位数组
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * 位数组长度（bit）
+     */
+    private final int bitSize;
+
+    /**
+     * 哈希函数个数
+     */
+    private final int hashCount;
+
+    /**
+     * 按预期元素数量与误判率创建布隆过滤器
+     *
+     * @param expectedInsertions 预期元素数量
+     * @param falsePositiveRate  期望误判率（0 ~ 1）
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        // m = -n * ln(p) / (ln2)^2，k = m / n * ln2
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.bitSize = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        this.bits = new AtomicLongArray((bitSize + 63) >>> 6);
+    }
+
+    /**
+     * 写入元素
+     *
+     * @param value 元素
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在
+     *
+     * @param value 元素
+     * @return false 表示一定不存在；true 表示可能存在
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = index(h1 + i * h2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int combinedHash) {
+        // 取非负后对位数组长度取模
+        return (combinedHash & Integer.MAX_VALUE) % bitSize;
+    }
+
+    private void setBit(int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        // 追加一次位混合，改善低位分布
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
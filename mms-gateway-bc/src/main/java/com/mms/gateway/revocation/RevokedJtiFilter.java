@@ -0,0 +1,220 @@
+package com.mms.gateway.revocation;
+
+import com.mms.common.security.constants.JwtConstants;
+import com.mms.common.security.enums.TokenType;
+import com.mms.gateway.config.GatewayRevocationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实现功能【网关本地 Token 吊销过滤器】
+ * <p>
+ * - 按 Token 过期时间分桶，每桶一个布隆过滤器；桶内 Token 全部过期后整桶丢弃
+ * - 先订阅吊销频道（TokenBlacklistUtils 每次加入黑名单都会广播），订阅成功后再从 Redis 全量扫描黑名单补齐
+ * - 订阅成功且首次补齐完成前、订阅断开期间均视为"未就绪"，此时一律回退到 Redis 黑名单检查
+ * - 定期全量扫描兜底发布/订阅消息丢失；只增不删，不会与实时消息产生覆盖竞争
+ * - 判定为"一定未吊销"的请求不再访问 Redis，布隆过滤器为阳性时才回退到 Redis 精确检查
+ * - 网关只校验 ACCESS Token，REFRESH Token 的吊销消息直接忽略
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 12:03:44
+ */
+@Slf4j
+@Component
+public class RevokedJtiFilter {
+
+    /**
+     * 黑名单 key 扫描批大小
+     */
+    private static final long SCAN_COUNT = 1000;
+
+    /**
+     * 扫描补齐时由 PTTL 推算过期时间的容差，推算值附近的桶都会写入，避免落错桶导致漏判
+     */
+    private static final long SEED_EXPIRATION_SKEW_MILLIS = 5000;
+
+    @Resource
+    private GatewayRevocationProperties properties;
+
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 分桶（桶序号 = 过期时间 / 桶时长 -> 布隆过滤器）
+     */
+    private final Map<Long, BloomFilter> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 是否就绪（订阅有效且已完成全量补齐）
+     */
+    private volatile boolean ready;
+
+    /**
+     * 桶时长（毫秒，启动时确定）
+     */
+    private long bucketMillis;
+
+    private final Disposable.Composite disposables = Disposables.composite();
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("gateway.revocation.filter.ready", this, filter -> filter.ready ? 1 : 0)
+                .description("本地吊销过滤器是否就绪（0 表示全部回退 Redis）")
+                .register(meterRegistry);
+        Gauge.builder("gateway.revocation.filter.buckets", buckets, Map::size)
+                .description("本地吊销过滤器当前桶数")
+                .register(meterRegistry);
+
+        if (!properties.isEnabled()) {
+            log.info("网关本地吊销过滤器未启用，黑名单检查全部走 Redis");
+            return;
+        }
+        bucketMillis = Math.max(1000L, properties.getBucketDuration().toMillis());
+
+        ReactiveRedisMessageListenerContainer container =
+                new ReactiveRedisMessageListenerContainer(reactiveStringRedisTemplate.getConnectionFactory());
+        disposables.add(container::destroy);
+
+        // 订阅成功后再扫描补齐，扫描期间到达的消息照常写入，二者合并后不会遗漏
+        disposables.add(container.receiveLater(ChannelTopic.of(JwtConstants.Channels.TOKEN_REVOKED))
+                .doOnSubscribe(subscription -> ready = false)
+                .flatMapMany(messages -> Flux.merge(
+                        messages.doOnNext(message -> onRevocation(message.getMessage())).then(),
+                        resync().doOnSuccess(count -> {
+                            ready = true;
+                            log.info("网关本地吊销过滤器就绪，已从 Redis 补齐 {} 个吊销记录", count);
+                        })))
+                .doOnError(e -> {
+                    ready = false;
+                    log.warn("Token吊销频道订阅中断，黑名单检查回退 Redis: {}", e.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+
+        // 定期全量补齐并清理过期桶
+        Duration interval = properties.getResyncInterval();
+        disposables.add(Flux.interval(interval, interval)
+                .concatMap(tick -> resync().onErrorResume(e -> {
+                    log.warn("Token吊销记录定期补齐失败: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        ready = false;
+        disposables.dispose();
+    }
+
+    /**
+     * 判断 Token 是否可能已被吊销
+     *
+     * @param jti            Token唯一标识
+     * @param expirationTime Token过期时间戳（毫秒）
+     * @return false 表示一定未吊销，可跳过 Redis；true 表示需要回退 Redis 精确检查
+     */
+    public boolean mightBeRevoked(String jti, long expirationTime) {
+        if (!ready) {
+            return true;
+        }
+        BloomFilter bucket = buckets.get(expirationTime / bucketMillis);
+        return bucket != null && bucket.mightContain(jti);
+    }
+
+    /**
+     * 处理吊销广播消息（格式：tokenType:expirationMillis:jti）
+     */
+    private void onRevocation(String message) {
+        String[] parts = message.split(JwtConstants.Channels.MESSAGE_SEPARATOR, 3);
+        if (parts.length != 3 || !TokenType.ACCESS.name().equals(parts[0])) {
+            return;
+        }
+        try {
+            add(parts[2], Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            log.warn("忽略格式错误的Token吊销消息: {}", message);
+        }
+    }
+
+    /**
+     * 从 Redis 全量扫描黑名单补齐，并清理已过期的桶
+     *
+     * @return 补齐的记录数
+     */
+    private Mono<Long> resync() {
+        pruneExpiredBuckets();
+        String prefix = JwtConstants.CacheKeys.TOKEN_BLACKLIST_PREFIX;
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_COUNT).build();
+        return reactiveStringRedisTemplate.scan(options)
+                .flatMap(key -> Mono.zip(
+                        reactiveStringRedisTemplate.opsForValue().get(key).defaultIfEmpty(""),
+                        reactiveStringRedisTemplate.getExpire(key).defaultIfEmpty(Duration.ZERO))
+                        .filter(tuple -> isAccessType(tuple.getT1()) && !tuple.getT2().isNegative() && !tuple.getT2().isZero())
+                        .doOnNext(tuple -> {
+                            String jti = key.substring(prefix.length());
+                            long estimated = System.currentTimeMillis() + tuple.getT2().toMillis();
+                            long firstBucket = (estimated - SEED_EXPIRATION_SKEW_MILLIS) / bucketMillis;
+                            long lastBucket = (estimated + SEED_EXPIRATION_SKEW_MILLIS) / bucketMillis;
+                            for (long bucketId = firstBucket; bucketId <= lastBucket; bucketId++) {
+                                addToBucket(bucketId, jti);
+                            }
+                        }), 16)
+                .count();
+    }
+
+    /**
+     * 黑名单值由 RedisTemplate 以 JSON 写入（带引号），兼容原始字符串
+     */
+    private boolean isAccessType(String value) {
+        if (!StringUtils.hasText(value)) {
+            // 值缺失时按 ACCESS 处理，宁可多写也不漏判
+            return true;
+        }
+        return !value.contains(TokenType.REFRESH.name());
+    }
+
+    private void add(String jti, long expirationTime) {
+        if (expirationTime <= System.currentTimeMillis()) {
+            return;
+        }
+        addToBucket(expirationTime / bucketMillis, jti);
+    }
+
+    private void addToBucket(long bucketId, String jti) {
+        if (!StringUtils.hasText(jti) || bucketId < System.currentTimeMillis() / bucketMillis) {
+            return;
+        }
+        buckets.computeIfAbsent(bucketId,
+                        id -> new BloomFilter(properties.getExpectedInsertionsPerBucket(), properties.getFalsePositiveRate()))
+                .put(jti);
+    }
+
+    private void pruneExpiredBuckets() {
+        long currentBucket = System.currentTimeMillis() / bucketMillis;
+        buckets.keySet().removeIf(id -> id < currentBucket);
+    }
+}
@@ -0,0 +1,168 @@
+package com.mms.gateway.revocation;
+
+import com.mms.common.security.constants.JwtConstants;
+import com.mms.common.security.utils.TokenRevocationEpoch;
+import com.mms.gateway.config.GatewayRevocationProperties;
+import com.mms.gateway.metrics.GatewayLatencyMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实现功能【网关用户吊销时间点本地缓存】
+ * <p>
+ * - 按用户缓存 tokens-valid-after（未吊销的用户缓存为 0），命中时不访问 Redis
+ * - 订阅用户吊销频道（TokenBlacklistUtils.revokeAllTokens 广播），收到消息立即更新本地值
+ * - 订阅成功前、订阅断开期间视为"未就绪"，一律读取 Redis；订阅（重新）建立时清空缓存，丢弃期间可能漏掉更新的旧值
+ * - 条目到期（gateway.revocation.epoch-cache-ttl）后重新读取 Redis，兜底发布/订阅消息丢失
+ * - 吊销时间点只增不减，本地写入取较大值，避免并发的 Redis 读取结果覆盖较新的广播
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 20:16:32
+ */
+@Slf4j
+@Component
+public class UserRevocationEpochCache {
+
+    @Resource
+    private GatewayRevocationProperties properties;
+
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Resource
+    private GatewayLatencyMetrics latencyMetrics;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 缓存（用户ID -> 吊销时间点）
+     */
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 是否就绪（订阅有效）
+     */
+    private volatile boolean ready;
+
+    private final Disposable.Composite disposables = Disposables.composite();
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("gateway.revocation.epoch.ready", this, epochCache -> epochCache.ready ? 1 : 0)
+                .description("用户吊销时间点本地缓存是否就绪（0 表示全部读取 Redis）")
+                .register(meterRegistry);
+        Gauge.builder("gateway.revocation.epoch.size", cache, Map::size)
+                .description("用户吊销时间点本地缓存用户数")
+                .register(meterRegistry);
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        ReactiveRedisMessageListenerContainer container =
+                new ReactiveRedisMessageListenerContainer(reactiveStringRedisTemplate.getConnectionFactory());
+        disposables.add(container::destroy);
+        disposables.add(container.receiveLater(ChannelTopic.of(JwtConstants.Channels.USER_TOKENS_REVOKED))
+                .doOnSubscribe(subscription -> ready = false)
+                .flatMapMany(messages -> {
+                    cache.clear();
+                    ready = true;
+                    log.info("用户吊销时间点本地缓存就绪");
+                    return messages;
+                })
+                .doOnNext(message -> onRevocation(message.getMessage()))
+                .doOnError(e -> {
+                    ready = false;
+                    log.warn("用户吊销频道订阅中断，吊销时间点回退 Redis: {}", e.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        ready = false;
+        disposables.dispose();
+    }
+
+    /**
+     * 获取用户吊销时间点
+     *
+     * @param userId 用户ID
+     * @return 毫秒时间戳，未吊销时为 0
+     */
+    public Mono<Long> validAfter(String userId) {
+        if (!StringUtils.hasText(userId)) {
+            return Mono.just(0L);
+        }
+        if (ready) {
+            Entry entry = cache.get(userId);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                return Mono.just(entry.validAfter());
+            }
+        }
+        return latencyMetrics.timeRedis("token-valid-after",
+                        reactiveStringRedisTemplate.opsForValue().get(TokenRevocationEpoch.key(userId)))
+                .map(TokenRevocationEpoch::parse)
+                .defaultIfEmpty(0L)
+                .map(validAfter -> put(userId, validAfter));
+    }
+
+    /**
+     * 处理用户吊销广播消息（格式：userId:validAfterMillis）
+     */
+    private void onRevocation(String message) {
+        int separatorIndex = message.lastIndexOf(JwtConstants.Channels.MESSAGE_SEPARATOR);
+        if (separatorIndex <= 0) {
+            log.warn("忽略格式错误的用户吊销消息: {}", message);
+            return;
+        }
+        long validAfter = TokenRevocationEpoch.parse(message.substring(separatorIndex + 1));
+        if (validAfter > 0) {
+            put(message.substring(0, separatorIndex), validAfter);
+        }
+    }
+
+    /**
+     * 写入缓存（取较大的吊销时间点）
+     *
+     * @return 写入后的吊销时间点
+     */
+    private long put(String userId, long validAfter) {
+        if (cache.size() >= properties.getEpochCacheMaxSize()) {
+            cache.clear();
+        }
+        long expiresAt = System.currentTimeMillis() + properties.getEpochCacheTtl().toMillis();
+        return cache.merge(userId, new Entry(validAfter, expiresAt),
+                (previous, current) -> new Entry(Math.max(previous.validAfter(), current.validAfter()), expiresAt))
+                .validAfter();
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param validAfter 吊销时间点（毫秒）
+     * @param expiresAt  本地过期时间戳（毫秒）
+     */
+    private record Entry(long validAfter, long expiresAt) {
+    }
+}
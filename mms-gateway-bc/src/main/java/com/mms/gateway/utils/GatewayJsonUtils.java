@@ -1,6 +1,7 @@
 package com.mms.gateway.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
 
@@ -54,6 +55,20 @@ public class GatewayJsonUtils {
         }
     }
 
+    /**
+     * 将 JSON 字符串解析为树结构
+     *
+     * @param json JSON 字符串
+     * @return 解析结果，格式错误时返回 null
+     */
+    public static JsonNode readTree(String json) {
+        try {
+            return OBJECT_MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
     /**
      * 私有构造函数，防止实例化
      */
@@ -1,14 +1,16 @@
 package com.mms.gateway.utils;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.core.trace.TraceContext;
 import org.slf4j.MDC;
-import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
  * 实现功能【网关 MDC 工具类】
  * <p>
- * 统一处理 MDC（Mapped Diagnostic Context）操作，便于日志追踪
+ * 网关运行在 Netty 事件循环线程上，一个请求的各阶段可能在不同线程执行，同一线程也会交替处理多个请求，
+ * 因此不能在过滤器入口写入 MDC、在结束时清理（会串到其他请求的日志里）。
+ * 只在需要打印日志的同步代码块内临时写入，代码块结束立即恢复
  * </p>
  *
  * @author li.hongyu
@@ -17,52 +19,35 @@ import org.springframework.web.server.ServerWebExchange;
 public class GatewayMdcUtils {
 
     /**
-     * 从请求头中提取 TraceId 并放入 MDC
+     * 在 MDC 中带上当前请求的 traceId/spanId 执行同步代码（如打印日志）
      *
      * @param exchange 请求交换对象
+     * @param action   同步执行的代码
      */
-    public static void putTraceIdFromRequest(ServerWebExchange exchange) {
-        String traceId = exchange.getRequest().getHeaders().getFirst(GatewayConstants.Headers.TRACE_ID);
-        if (StringUtils.hasText(traceId)) {
-            MDC.put(GatewayConstants.Mdc.TRACE_ID, traceId);
+    public static void runWithTraceId(ServerWebExchange exchange, Runnable action) {
+        TraceContext context = GatewayTraceUtils.getTraceContext(exchange);
+        if (context == null) {
+            action.run();
+            return;
         }
-    }
-
-    /**
-     * 将 TraceId 放入 MDC
-     *
-     * @param traceId 追踪 ID
-     */
-    public static void putTraceId(String traceId) {
-        if (StringUtils.hasText(traceId)) {
-            MDC.put(GatewayConstants.Mdc.TRACE_ID, traceId);
+        String previousTraceId = MDC.get(GatewayConstants.Mdc.TRACE_ID);
+        String previousSpanId = MDC.get(GatewayConstants.Mdc.SPAN_ID);
+        MDC.put(GatewayConstants.Mdc.TRACE_ID, context.getTraceId());
+        MDC.put(GatewayConstants.Mdc.SPAN_ID, context.getSpanId());
+        try {
+            action.run();
+        } finally {
+            restore(GatewayConstants.Mdc.TRACE_ID, previousTraceId);
+            restore(GatewayConstants.Mdc.SPAN_ID, previousSpanId);
         }
     }
 
-    /**
-     * 从请求头中获取 TraceId
-     *
-     * @param exchange 请求交换对象
-     * @return TraceId，如果不存在则返回 null
-     */
-    public static String getTraceIdFromRequest(ServerWebExchange exchange) {
-        return exchange.getRequest().getHeaders().getFirst(GatewayConstants.Headers.TRACE_ID);
-    }
-
-    /**
-     * 从 MDC 中获取 TraceId
-     *
-     * @return TraceId，如果不存在则返回 null
-     */
-    public static String getTraceIdFromMdc() {
-        return MDC.get(GatewayConstants.Mdc.TRACE_ID);
-    }
-
-    /**
-     * 移除 MDC 中的 TraceId
-     */
-    public static void removeTraceId() {
-        MDC.remove(GatewayConstants.Mdc.TRACE_ID);
+    private static void restore(String key, String previous) {
+        if (previous != null) {
+            MDC.put(key, previous);
+        } else {
+            MDC.remove(key);
+        }
     }
 
     /**
@@ -72,4 +57,3 @@ public class GatewayMdcUtils {
         throw new UnsupportedOperationException("工具类不允许实例化");
     }
 }
-
@@ -22,7 +22,7 @@ public class GatewayResponseUtils {
     /**
      * 写入错误响应
      * <p>
-     * 自动处理 traceId 的提取和 MDC 的清理
+     * traceId 直接取自当前请求的追踪上下文，不经过线程绑定的 MDC
      * </p>
      *
      * @param exchange 请求交换对象
@@ -31,21 +31,8 @@ public class GatewayResponseUtils {
      * @return Mono<Void>
      */
     public static Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status, String message) {
-        ServerHttpResponse response = exchange.getResponse();
-        response.setStatusCode(status);
-        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-
-        // 将 traceId 放入 MDC，便于统一响应结构（如日志/返回体）写回 traceId
-        GatewayMdcUtils.putTraceIdFromRequest(exchange);
-
         // 标准错误响应体（与后端服务保持一致的 Response 结构）
-        Response<Object> body = Response.error(status.value(), message);
-        byte[] bytes = GatewayJsonUtils.toJsonBytes(body);
-        DataBuffer buffer = response.bufferFactory().wrap(bytes);
-
-        // 写入响应并清理 MDC
-        return response.writeWith(Mono.just(buffer))
-                .doFinally(signalType -> GatewayMdcUtils.removeTraceId());
+        return writeError(exchange, status, Response.error(status.value(), message));
     }
 
     /**
@@ -61,15 +48,12 @@ public class GatewayResponseUtils {
         response.setStatusCode(status);
         response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
 
-        // 将 traceId 放入 MDC
-        GatewayMdcUtils.putTraceIdFromRequest(exchange);
+        // 写回当前请求的 traceId（Response 默认从 MDC 读取，在网关线程上不可靠）
+        body.setTraceId(GatewayTraceUtils.getTraceId(exchange));
 
         byte[] bytes = GatewayJsonUtils.toJsonBytes(body);
         DataBuffer buffer = response.bufferFactory().wrap(bytes);
-
-        // 写入响应并清理 MDC
-        return response.writeWith(Mono.just(buffer))
-                .doFinally(signalType -> GatewayMdcUtils.removeTraceId());
+        return response.writeWith(Mono.just(buffer));
     }
 
     /**
@@ -1,15 +1,19 @@
 package com.mms.gateway.utils;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
-import org.springframework.util.StringUtils;
+import com.mms.common.core.trace.TraceContext;
+import com.mms.gateway.header.GatewayForwardHeaders;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.server.ServerWebExchange;
-
-import java.util.UUID;
+import reactor.core.publisher.Mono;
 
 /**
  * 实现功能【网关 TraceId 工具类】
  * <p>
- * 统一处理 TraceId 的生成和提取逻辑
+ * 统一处理链路追踪上下文的生成和提取逻辑：
+ * - 优先解析 W3C traceparent，其次兼容 X-Trace-Id，都没有时生成新的链路
+ * - 网关自身作为一跳，创建子 span 后透传给下游
+ * - 上下文保存在 exchange 属性与 Reactor Context 中，不依赖线程绑定的 MDC
  * </p>
  *
  * @author li.hongyu
@@ -18,39 +22,56 @@ import java.util.UUID;
 public class GatewayTraceUtils {
 
     /**
-     * 从请求中提取或生成 TraceId
-     * <p>
-     * 如果请求头中已存在 TraceId，则使用现有的；否则生成新的
-     * </p>
+     * exchange 属性名
+     */
+    private static final String TRACE_CONTEXT_ATTR = TraceContext.class.getName();
+
+    /**
+     * 解析请求的追踪上下文并创建网关 span，结果保存到 exchange 属性
      *
      * @param exchange 请求交换对象
-     * @return TraceId
+     * @return 网关 span 的追踪上下文
      */
-    public static String getOrGenerateTraceId(ServerWebExchange exchange) {
-        String incomingTraceId = exchange.getRequest().getHeaders().getFirst(GatewayConstants.Headers.TRACE_ID);
-        return StringUtils.hasText(incomingTraceId) ? incomingTraceId : generateTraceId();
+    public static TraceContext resolveTraceContext(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        TraceContext incoming = TraceContext.resolve(headers.getFirst(GatewayConstants.Headers.TRACEPARENT),
+                headers.getFirst(GatewayConstants.Headers.TRACESTATE), headers.getFirst(GatewayConstants.Headers.TRACE_ID));
+        TraceContext context = incoming != null ? incoming.child() : TraceContext.newRoot();
+        exchange.getAttributes().put(TRACE_CONTEXT_ATTR, context);
+        return context;
     }
 
     /**
-     * 生成新的 TraceId
-     * <p>
-     * 使用 UUID 生成，并移除连字符以保持简洁
-     * </p>
+     * 获取 exchange 上已解析的追踪上下文
      *
-     * @return 生成的 TraceId
+     * @param exchange 请求交换对象
+     * @return 追踪上下文，TraceFilter 执行前返回 null
      */
-    public static String generateTraceId() {
-        return UUID.randomUUID().toString().replace("-", "");
+    public static TraceContext getTraceContext(ServerWebExchange exchange) {
+        return exchange.getAttribute(TRACE_CONTEXT_ATTR);
     }
 
     /**
-     * 从请求头中提取 TraceId
+     * 从 Reactor Context 获取当前请求的追踪上下文（TraceFilter 之后的响应式调用链中可用）
+     *
+     * @return 追踪上下文，不存在时为空
+     */
+    public static Mono<TraceContext> currentTraceContext() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(TraceContext.class)));
+    }
+
+    /**
+     * 获取当前请求的 TraceId
      *
      * @param exchange 请求交换对象
      * @return TraceId，如果不存在则返回 null
      */
     public static String getTraceId(ServerWebExchange exchange) {
-        return exchange.getRequest().getHeaders().getFirst(GatewayConstants.Headers.TRACE_ID);
+        TraceContext context = getTraceContext(exchange);
+        if (context != null) {
+            return context.getTraceId();
+        }
+        return GatewayForwardHeaders.getFirst(exchange, GatewayConstants.Headers.TRACE_ID);
     }
 
     /**
@@ -60,4 +81,3 @@ public class GatewayTraceUtils {
         throw new UnsupportedOperationException("工具类不允许实例化");
     }
 }
-
@@ -0,0 +1,73 @@
+package com.mms.gateway.warmup;
+
+import com.mms.common.core.enums.ErrorCode;
+import com.mms.common.core.response.Response;
+import com.mms.common.core.trace.TraceContext;
+import com.mms.common.core.warmup.WarmupTask;
+import com.mms.gateway.cache.ResponseCache;
+import com.mms.gateway.config.GatewayWhitelistConfig;
+import com.mms.gateway.location.IpLocationResolver;
+import com.mms.gateway.utils.GatewayJsonUtils;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 实现功能【网关请求热点路径预热任务】
+ * <p>
+ * 使用合成请求数据走一遍全局过滤器中的纯内存路径：
+ * - 链路上下文（traceparent）解析与子 Span 生成
+ * - 白名单匹配、响应缓存规则匹配
+ * - 客户端 IP 归属地解析
+ * - 网关错误响应 JSON 序列化与响应体解析
+ * 不发起下游调用，JWT 验签由安全模块的预热任务覆盖
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:58:20
+ */
+@Component
+public class GatewayRequestWarmupTask implements WarmupTask {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    /**
+     * 合成请求路径（同时覆盖白名单命中与未命中）
+     */
+    private static final List<String> PATHS = List.of(
+            "/usercenter/auth/login",
+            "/usercenter/user/page",
+            "/base/dict/data/list",
+            "/actuator/health");
+
+    private static final String CLIENT_IP = "127.0.0.1";
+
+    @Resource
+    private GatewayWhitelistConfig whitelistConfig;
+
+    @Resource
+    private ResponseCache responseCache;
+
+    @Resource
+    private IpLocationResolver ipLocationResolver;
+
+    @Override
+    public String getName() {
+        return "gateway-request";
+    }
+
+    @Override
+    public void execute() {
+        TraceContext.parse(TRACEPARENT, null).child().toTraceparent();
+        for (String path : PATHS) {
+            whitelistConfig.isWhitelisted(path);
+            responseCache.match(path);
+        }
+        ipLocationResolver.resolve(CLIENT_IP);
+
+        byte[] body = GatewayJsonUtils.toJsonBytes(Response.error(ErrorCode.INVALID_TOKEN.getCode(), ErrorCode.INVALID_TOKEN.getMessage()));
+        GatewayJsonUtils.readTree(new String(body, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,41 @@
+package com.mms.gateway.warmup;
+
+import com.mms.common.core.warmup.WarmupTask;
+import jakarta.annotation.Resource;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【网关 Reactive Redis 预热任务】
+ * <p>
+ * 每轮发送一次 PING，提前建立 Lettuce 共享连接并走通 Reactor 命令链路，
+ * 避免首批请求（黑名单、限流、权限缓存）承担建连与类加载开销
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 19:59:47
+ */
+@Component
+public class ReactiveRedisWarmupTask implements WarmupTask {
+
+    /**
+     * 单次 PING 超时
+     */
+    private static final Duration PING_TIMEOUT = Duration.ofSeconds(2);
+
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Override
+    public String getName() {
+        return "redis";
+    }
+
+    @Override
+    public void execute() {
+        reactiveStringRedisTemplate.execute(ReactiveRedisConnection::ping).blockLast(PING_TIMEOUT);
+    }
+}
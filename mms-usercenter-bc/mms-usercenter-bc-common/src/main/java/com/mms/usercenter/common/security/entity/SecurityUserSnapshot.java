@@ -0,0 +1,55 @@
+package com.mms.usercenter.common.security.entity;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 实现功能【用户认证快照】
+ * <p>
+ * 请求级 SecurityUser 的精简快照，不含密码等敏感字段，
+ * 本地缓存与 Redis 中保存该对象，version 与 Redis 中的用户版本号一致时有效
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 21:24:10
+ */
+@Data
+public class SecurityUserSnapshot implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+    private String username;
+    private String realName;
+    private Integer status;
+    private Integer locked;
+    private Set<String> roles = new HashSet<>();
+    private Set<String> permissions = new HashSet<>();
+
+    /**
+     * 生成快照时读取到的用户版本号
+     */
+    private long version;
+
+    /**
+     * 转换为 SecurityUser（每次返回新实例，集合为副本）
+     *
+     * @return SecurityUser
+     */
+    public SecurityUser toSecurityUser() {
+        SecurityUser securityUser = new SecurityUser();
+        securityUser.setUserId(userId);
+        securityUser.setUsername(username);
+        securityUser.setRealName(realName);
+        securityUser.setStatus(status);
+        securityUser.setLocked(locked);
+        securityUser.setRoles(roles != null ? new HashSet<>(roles) : new HashSet<>());
+        securityUser.setPermissions(permissions != null ? new HashSet<>(permissions) : new HashSet<>());
+        return securityUser;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mms.usercenter.common.security.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【用户权限缓存失效配置属性】
+ * <p>
+ * 角色/权限变更后按受影响用户清除权限缓存并广播失效通知
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 22:08:41
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.authority-invalidation")
+public class AuthorityInvalidationProperties {
+
+    /**
+     * 是否启用（关闭时权限缓存仅依赖过期时间失效）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 合并窗口：首个变更提交后等待该时长再统一处理，窗口内的连续变更只清除一次
+     */
+    private Duration debounceWindow = Duration.ofMillis(500);
+
+    /**
+     * 每批处理的 ID 数（反查 SQL 的 IN 列表长度、单次 Redis 管道命令数、单条通知消息的用户数）
+     */
+    private int batchSize = 500;
+
+    /**
+     * 受影响用户数超过该值时广播全部失效，各实例直接清空本地缓存
+     */
+    private int broadcastAllThreshold = 10_000;
+}
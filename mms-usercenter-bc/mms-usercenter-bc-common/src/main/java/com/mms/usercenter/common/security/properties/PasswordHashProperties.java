@@ -0,0 +1,75 @@
+package com.mms.usercenter.common.security.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【密码哈希配置属性】
+ * <p>
+ * 参数调整后，已有密码在用户下次登录成功时按新参数重新哈希
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 23:18:06
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.password-hash")
+public class PasswordHashProperties {
+
+    /**
+     * 新密码使用的算法（已有密码按自身格式校验）
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    /**
+     * BCrypt 成本因子（log2 轮数，4~31）
+     */
+    private int bcryptCost = 10;
+
+    /**
+     * Argon2id 内存开销（KiB）
+     */
+    private int argon2MemoryKib = 19 * 1024;
+
+    /**
+     * Argon2id 迭代次数
+     */
+    private int argon2Iterations = 2;
+
+    /**
+     * Argon2id 并行度
+     */
+    private int argon2Parallelism = 1;
+
+    /**
+     * 哈希线程数（0 表示 CPU 核数）
+     */
+    private int threads = 0;
+
+    /**
+     * 等待队列长度，队列已满时直接拒绝（系统繁忙）
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * 单次哈希最长等待时间（含排队），超时按系统繁忙处理
+     */
+    private Duration timeout = Duration.ofSeconds(3);
+
+    /**
+     * 登录成功时，若已存储的哈希算法或参数与当前配置不一致，是否重新哈希
+     */
+    private boolean rehashOnLogin = true;
+
+    /**
+     * 密码哈希算法
+     */
+    public enum Algorithm {
+        BCRYPT,
+        ARGON2ID
+    }
+}
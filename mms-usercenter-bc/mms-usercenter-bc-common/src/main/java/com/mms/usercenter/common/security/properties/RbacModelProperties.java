@@ -0,0 +1,33 @@
+package com.mms.usercenter.common.security.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【RBAC 内存模型配置属性】
+ * <p>
+ * 用户中心各实例在内存中保存角色与权限模型，权限缓存未命中时据此计算用户有效权限；
+ * 模型按变更通知增量更新，版本落后或未加载时回源数据库，定期全量加载兜底
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 22:37:12
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.rbac-model")
+public class RbacModelProperties {
+
+    /**
+     * 是否启用（关闭时权限缓存未命中直接查询数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 全量重新加载间隔（兜底变更通知丢失）
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,37 @@
+package com.mms.usercenter.common.security.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 实现功能【用户认证快照缓存配置属性】
+ * <p>
+ * Redis 层过期时间见 UserCenterConstants.Principal
+ * <p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 21:25:37
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.user-cache")
+public class SecurityUserCacheProperties {
+
+    /**
+     * 是否启用（关闭时每次请求查询数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地缓存有效期（其他实例修改用户后，本实例最多在该时长内使用旧快照）
+     */
+    private Duration localTtl = Duration.ofSeconds(10);
+
+    /**
+     * 本地缓存最大用户数（写满后清理过期条目，仍超限则整体清空）
+     */
+    private int localMaxSize = 10_000;
+}
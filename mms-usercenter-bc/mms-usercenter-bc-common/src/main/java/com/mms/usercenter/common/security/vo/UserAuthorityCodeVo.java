@@ -0,0 +1,30 @@
+package com.mms.usercenter.common.security.vo;
+
+import lombok.Data;
+
+/**
+ * 用户角色/权限编码查询行（一条 SQL 同时返回角色编码与权限编码）
+ */
+@Data
+public class UserAuthorityCodeVo {
+
+    /**
+     * 类型：角色
+     */
+    public static final String TYPE_ROLE = "ROLE";
+
+    /**
+     * 类型：权限
+     */
+    public static final String TYPE_PERMISSION = "PERMISSION";
+
+    /**
+     * 编码类型（ROLE / PERMISSION）
+     */
+    private String type;
+
+    /**
+     * 角色编码或权限编码
+     */
+    private String code;
+}
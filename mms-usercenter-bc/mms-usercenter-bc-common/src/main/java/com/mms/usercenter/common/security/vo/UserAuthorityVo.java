@@ -27,5 +27,10 @@ public class UserAuthorityVo implements Serializable {
      * 权限编码集合
      */
     private Set<String> permissions = new HashSet<>();
+
+    /**
+     * 权限位集编码（PermissionBits 编码）
+     */
+    private String permissionBits;
 }
 
@@ -10,15 +10,17 @@ import com.mms.usercenter.common.auth.dto.PermissionStatusSwitchDto;
 import com.mms.usercenter.common.auth.dto.PermissionUpdateDto;
 import com.mms.usercenter.common.auth.vo.PermissionVo;
 import com.mms.common.core.constants.security.PermissionConstants;
+import com.mms.usercenter.service.auth.cache.PermissionTreeCache;
 import com.mms.usercenter.service.auth.service.PermissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Resource;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 实现功能【权限/菜单管理 Controller】
  * <p>
@@ -88,12 +90,23 @@ public class PermissionController {
         return Response.success();
     }
 
+    /**
+     * 查询权限树
+     * <p>
+     * 直接写出快照中预序列化的响应体；响应携带 ETag，请求 If-None-Match 一致时由 Spring MVC 返回 304（不写响应体）
+     * </p>
+     */
     @Operation(summary = "查询权限树")
     @RequiresPermission(PermissionConstants.PERMISSION_VIEW)
     @GetMapping("/tree")
-    public Response<List<PermissionVo>> listPermissionTree(@RequestParam(required = false) String permissionType,
-                                                           @RequestParam(required = false) Integer status,
-                                                           @RequestParam(required = false) Integer visible) {
-        return Response.success(permissionService.listPermissionTree(permissionType, status, visible));
+    public ResponseEntity<byte[]> listPermissionTree(@RequestParam(required = false) String permissionType,
+                                                     @RequestParam(required = false) Integer status,
+                                                     @RequestParam(required = false) Integer visible) {
+        PermissionTreeCache.Snapshot snapshot = permissionService.getPermissionTreeSnapshot(permissionType, status, visible);
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
     }
 }
\ No newline at end of file
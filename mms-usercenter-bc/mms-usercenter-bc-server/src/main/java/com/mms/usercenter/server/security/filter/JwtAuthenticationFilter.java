@@ -1,14 +1,17 @@
 package com.mms.usercenter.server.security.filter;
 
 import com.mms.common.core.constants.gateway.GatewayConstants;
+import com.mms.common.core.permission.PermissionBitsAuthenticationToken;
+import com.mms.common.core.permission.PermissionRegistry;
+import com.mms.common.security.utils.AuthorityHeaderUtils;
 import com.mms.usercenter.common.security.entity.SecurityUser;
+import com.mms.usercenter.service.security.cache.SecurityUserCache;
 import com.mms.usercenter.service.security.service.impl.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -16,14 +19,16 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * 实现功能【JWT 认证过滤器】
  * <p>
  * 作用说明：
  * 1. 从网关透传的 Header 中读取用户名（网关已验证 JWT token）
- * 2. 调用 UserDetailsService 加载用户详情和权限信息
- * 3. 创建 Authentication 对象并设置到 SecurityContext
+ * 2. 优先使用网关签名透传的角色/权限请求头，缺失或无效时从用户认证快照缓存（本地 -> Redis -> 数据库）加载，
+ *    未透传用户ID时调用 UserDetailsService 加载用户详情和权限信息
+ * 3. 创建携带权限位集的 Authentication 对象并设置到 SecurityContext
  * 4. 为后续的方法级权限控制（@PreAuthorize）和 SecurityUtils 提供支持
  * <p>
  * 与网关的关系：
@@ -40,6 +45,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final UserDetailsServiceImpl userDetailsService;
 
+    private final SecurityUserCache securityUserCache;
+
+    private final AuthorityHeaderUtils authorityHeaderUtils;
+
+    private final PermissionRegistry permissionRegistry;
+
     /**
      * 过滤器核心逻辑
      * <p>
@@ -70,12 +81,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // 加载用户详情和权限
-        SecurityUser userDetails = (SecurityUser) userDetailsService.loadUserByUsername(username);
+        // 优先使用网关签名透传的角色/权限，验签失败或缺失时再加载用户详情和权限（优先读取认证快照缓存）
+        SecurityUser userDetails = fromAuthorityHeader(request, username);
+        if (userDetails == null) {
+            userDetails = securityUserCache.get(parseUserId(request.getHeader(GatewayConstants.Headers.USER_ID)), username);
+        }
+        if (userDetails == null) {
+            userDetails = (SecurityUser) userDetailsService.loadUserByUsername(username);
+        }
 
         // 创建 Authentication 对象
-        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities());
+        PermissionBitsAuthenticationToken authentication = new PermissionBitsAuthenticationToken(
+                userDetails, userDetails.getAuthorities(), permissionRegistry.toBits(userDetails.getPermissions()));
         
         // 设置认证详情（IP 地址、Session ID 等）
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -86,4 +103,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 继续过滤器链
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * 解析网关透传的用户ID
+     *
+     * @return 用户ID，缺失或格式错误时返回 null
+     */
+    private Long parseUserId(String userId) {
+        if (!StringUtils.hasText(userId)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 根据网关透传的签名权限头构建 SecurityUser（不含密码等敏感信息）
+     *
+     * @return 权限头有效时返回 SecurityUser，否则返回 null
+     */
+    private SecurityUser fromAuthorityHeader(HttpServletRequest request, String username) {
+        String userId = request.getHeader(GatewayConstants.Headers.USER_ID);
+        AuthorityHeaderUtils.Authority authority =
+                authorityHeaderUtils.decode(request.getHeader(GatewayConstants.Headers.USER_AUTHORITY), userId);
+        if (authority == null) {
+            return null;
+        }
+        // 注册表尚未同步到位集中的全部下标时无法还原权限编码，回源加载
+        Set<String> permissions = permissionRegistry.toCodes(authority.permissionBits());
+        if (permissions == null) {
+            permissionRegistry.requestReload();
+            return null;
+        }
+        try {
+            SecurityUser securityUser = new SecurityUser();
+            securityUser.setUserId(Long.parseLong(authority.userId()));
+            securityUser.setUsername(username);
+            securityUser.setRoles(authority.roles());
+            securityUser.setPermissions(permissions);
+            return securityUser;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
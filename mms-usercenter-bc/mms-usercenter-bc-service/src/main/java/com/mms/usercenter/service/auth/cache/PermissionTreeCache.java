@@ -0,0 +1,214 @@
+package com.mms.usercenter.service.auth.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.common.core.exceptions.ServerException;
+import com.mms.common.core.response.Response;
+import com.mms.common.database.utils.TransactionUtils;
+import com.mms.usercenter.common.auth.vo.PermissionVo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 实现功能【权限树快照缓存】
+ * <p>
+ * - 按查询条件（permissionType, status, visible）缓存权限树快照：树、预序列化的 Response JSON 与强 ETag
+ * - 快照携带生成时的版本号，与当前版本号一致才视为有效；权限写操作提交后自增 Redis 版本号并广播，各实例随即重建
+ * - 版本号先于查库读取，构建期间版本号变化时该快照下次访问即失效，不会以旧数据冒充新版本
+ * - 本地版本号每 {@link UserCenterConstants.PermissionTree#REVALIDATE_MILLIS} 毫秒与 Redis 校验一次，兜底广播丢失
+ * - 快照不可修改，命中时不查库、不转换、不序列化
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 23:02:27
+ */
+@Slf4j
+@Component
+public class PermissionTreeCache {
+
+    @Resource
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Resource
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    /**
+     * 快照（查询条件 -> 快照）
+     */
+    private final Map<Key, Snapshot> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 已知的最新版本号（-1 表示尚未读取）
+     */
+    private final AtomicLong version = new AtomicLong(-1);
+
+    /**
+     * 上次与 Redis 校验版本号的时间戳（毫秒）
+     */
+    private volatile long versionCheckedAt;
+
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    public void start() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(this::onMessage, ChannelTopic.of(UserCenterConstants.PermissionTree.CHANGED_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        container.destroy();
+    }
+
+    /**
+     * 获取权限树快照
+     *
+     * @param permissionType 权限类型（可选）
+     * @param status         状态（可选）
+     * @param visible        是否显示（可选）
+     * @param loader         快照失效时构建权限树
+     * @return 快照
+     */
+    public Snapshot get(String permissionType, Integer status, Integer visible, Supplier<List<PermissionVo>> loader) {
+        long current = currentVersion();
+        Key key = new Key(permissionType, status, visible);
+        Snapshot snapshot = cache.get(key);
+        if (snapshot != null && snapshot.version() == current) {
+            return snapshot;
+        }
+
+        List<PermissionVo> tree = Collections.unmodifiableList(loader.get());
+        byte[] json = serialize(tree);
+        snapshot = new Snapshot(tree, json, etag(json), current);
+        if (cache.size() >= UserCenterConstants.PermissionTree.MAX_SNAPSHOTS) {
+            cache.clear();
+        }
+        cache.put(key, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 在当前事务提交后自增版本号并广播（无事务时立即执行）
+     */
+    public void invalidateAfterCommit() {
+        TransactionUtils.afterCommit(this::bumpVersion);
+    }
+
+    private void bumpVersion() {
+        try {
+            Long next = redisTemplate.opsForValue().increment(UserCenterConstants.PermissionTree.VERSION_KEY);
+            if (next == null) {
+                return;
+            }
+            observe(next);
+            byte[] channel = UserCenterConstants.PermissionTree.CHANGED_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            byte[] body = String.valueOf(next).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+        } catch (Exception e) {
+            // 事务已提交，至少清除本实例快照；其他实例在下次权限变更后重建
+            cache.clear();
+            log.warn("权限树版本号更新失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 当前版本号（超过校验间隔时读取 Redis）
+     */
+    private long currentVersion() {
+        long now = System.currentTimeMillis();
+        if (version.get() < 0 || now - versionCheckedAt > UserCenterConstants.PermissionTree.REVALIDATE_MILLIS) {
+            try {
+                Object value = redisTemplate.opsForValue().get(UserCenterConstants.PermissionTree.VERSION_KEY);
+                observe(value instanceof Number number ? number.longValue() : 0L);
+            } catch (Exception e) {
+                // Redis 不可用时沿用本地版本号
+                observe(0L);
+                log.warn("权限树版本号读取失败：{}", e.getMessage());
+            }
+            versionCheckedAt = now;
+        }
+        return version.get();
+    }
+
+    private void observe(long observed) {
+        version.accumulateAndGet(observed, Math::max);
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            observe(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("忽略格式错误的权限树版本消息: {}", body);
+        }
+    }
+
+    /**
+     * 预序列化为统一响应体（不携带构建时请求的 traceId）
+     */
+    private byte[] serialize(List<PermissionVo> tree) {
+        Response<List<PermissionVo>> response = Response.success(tree);
+        response.setTraceId(null);
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new ServerException("权限树序列化失败", e);
+        }
+    }
+
+    /**
+     * 强 ETag：响应体 SHA-256 的 base64url 前 22 位
+     */
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前 JVM 不支持 SHA-256", e);
+        }
+    }
+
+    /**
+     * 查询条件
+     */
+    private record Key(String permissionType, Integer status, Integer visible) {
+    }
+
+    /**
+     * 权限树快照（只读，调用方不得修改 tree 及其节点）
+     *
+     * @param tree    权限树
+     * @param json    预序列化的 Response JSON
+     * @param etag    强 ETag
+     * @param version 生成时的版本号
+     */
+    public record Snapshot(List<PermissionVo> tree, byte[] json, String etag, long version) {
+    }
+}
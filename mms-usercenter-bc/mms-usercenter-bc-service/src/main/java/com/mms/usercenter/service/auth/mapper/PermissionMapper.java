@@ -2,6 +2,7 @@ package com.mms.usercenter.service.auth.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.mms.usercenter.common.auth.entity.PermissionEntity;
+import com.mms.usercenter.common.security.vo.UserAuthorityCodeVo;
 import org.apache.ibatis.annotations.Mapper;
 
 import java.util.List;
@@ -16,4 +17,9 @@ public interface PermissionMapper extends BaseMapper<PermissionEntity> {
      * 根据用户ID查询该用户拥有的权限编码集合
      */
     List<String> selectPermissionCodesByUserId(Long userId);
+
+    /**
+     * 根据用户ID一次查询该用户的角色编码与权限编码（按 type 区分）
+     */
+    List<UserAuthorityCodeVo> selectAuthorityCodesByUserId(Long userId);
 }
\ No newline at end of file
@@ -3,6 +3,10 @@ package com.mms.usercenter.service.auth.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.mms.usercenter.common.auth.entity.RolePermissionEntity;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 实现功能【角色权限关联实体 Mapper】
@@ -16,4 +20,11 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface RolePermissionMapper extends BaseMapper<RolePermissionEntity> {
 
+    /**
+     * 查询通过角色间接拥有指定权限的用户ID（权限变更时确定受影响的用户）
+     *
+     * @param permissionIds 权限ID集合（不能为空）
+     * @return 用户ID列表（去重）
+     */
+    List<Long> selectUserIdsByPermissionIds(@Param("permissionIds") Collection<Long> permissionIds);
 }
\ No newline at end of file
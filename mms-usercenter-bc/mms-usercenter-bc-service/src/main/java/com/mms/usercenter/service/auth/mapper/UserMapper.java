@@ -28,6 +28,14 @@ public interface UserMapper extends BaseMapper<UserEntity> {
      */
     UserEntity selectByUsername(@Param("username") String username);
 
+    /**
+     * 根据ID查询用户认证所需字段（id、username、real_name、status、locked，不含密码）
+     *
+     * @param userId 用户ID
+     * @return 用户实体（仅包含上述字段）
+     */
+    UserEntity selectPrincipalById(@Param("userId") Long userId);
+
     /**
      * 分页查询用户列表
      *
@@ -3,6 +3,10 @@ package com.mms.usercenter.service.auth.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.mms.usercenter.common.auth.entity.UserRoleEntity;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 实现功能【用户角色关联实体 Mapper】
@@ -16,4 +20,19 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface UserRoleMapper extends BaseMapper<UserRoleEntity> {
 
+    /**
+     * 查询关联了指定角色的用户ID（角色变更时确定受影响的用户）
+     *
+     * @param roleIds 角色ID集合（不能为空）
+     * @return 用户ID列表（去重）
+     */
+    List<Long> selectUserIdsByRoleIds(@Param("roleIds") Collection<Long> roleIds);
+
+    /**
+     * 查询用户关联的角色ID（不区分角色状态，由调用方按内存中的角色状态过滤）
+     *
+     * @param userId 用户ID
+     * @return 角色ID列表
+     */
+    List<Long> selectRoleIdsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
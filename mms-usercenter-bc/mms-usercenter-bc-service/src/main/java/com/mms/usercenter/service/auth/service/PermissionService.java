@@ -7,6 +7,7 @@ import com.mms.usercenter.common.auth.dto.PermissionPageQueryDto;
 import com.mms.usercenter.common.auth.dto.PermissionStatusSwitchDto;
 import com.mms.usercenter.common.auth.dto.PermissionUpdateDto;
 import com.mms.usercenter.common.auth.vo.PermissionVo;
+import com.mms.usercenter.service.auth.cache.PermissionTreeCache;
 
 import java.util.List;
 
@@ -64,4 +65,13 @@ public interface PermissionService {
      * @param visible        可选：0/1
      */
     List<PermissionVo> listPermissionTree(String permissionType, Integer status, Integer visible);
+
+    /**
+     * 返回权限树快照（含预序列化的响应体与 ETag），可按类型/状态/可见性过滤
+     *
+     * @param permissionType 可选：menu/button/api
+     * @param status         可选：0/1
+     * @param visible        可选：0/1
+     */
+    PermissionTreeCache.Snapshot getPermissionTreeSnapshot(String permissionType, Integer status, Integer visible);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.mms.usercenter.service.auth.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.core.exceptions.ServerException;
@@ -16,14 +17,16 @@ import com.mms.usercenter.common.auth.dto.RefreshTokenDto;
 import com.mms.usercenter.common.auth.entity.UserEntity;
 import com.mms.usercenter.common.auth.vo.LoginVo;
 import com.mms.usercenter.common.security.properties.LoginSecurityProperties;
+import com.mms.usercenter.common.security.properties.PasswordHashProperties;
 import com.mms.usercenter.common.security.utils.LoginSecurityUtils;
 import com.mms.usercenter.common.auth.entity.UserLoginLogEntity;
 import com.mms.usercenter.service.auth.mapper.UserMapper;
 import com.mms.usercenter.service.auth.mapper.UserLoginLogMapper;
 import com.mms.usercenter.service.auth.service.AuthService;
+import com.mms.usercenter.service.security.service.PasswordHasher;
 import io.jsonwebtoken.Claims;
 import jakarta.annotation.Resource;
-import org.mindrot.jbcrypt.BCrypt;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -39,6 +42,7 @@ import java.util.Optional;
  * @author li.hongyu
  * @date 2025-11-07 11:39:50
  */
+@Slf4j
 @Service
 public class AuthServiceImpl implements AuthService {
 
@@ -66,6 +70,12 @@ public class AuthServiceImpl implements AuthService {
     @Resource
     private UserLoginLogMapper userLoginLogMapper;
 
+    @Resource
+    private PasswordHasher passwordHasher;
+
+    @Resource
+    private PasswordHashProperties passwordHashProperties;
+
     @Override
     public LoginVo login(LoginDto dto) {
         try {
@@ -100,7 +110,7 @@ public class AuthServiceImpl implements AuthService {
             }
 
             // 验证密码
-            if (!BCrypt.checkpw(dto.getPassword(), user.getPassword())) {
+            if (!passwordHasher.matches(dto.getPassword(), user.getPassword())) {
                 handleLoginFailure(dto.getUsername(), user, "密码错误");
                 throw new BusinessException(ErrorCode.LOGIN_FAILED);
             }
@@ -114,6 +124,9 @@ public class AuthServiceImpl implements AuthService {
             user.setLastLoginIp(StringUtils.hasText(clientIp) ? clientIp : "unknown");
             userMapper.updateById(user);
 
+            // 已存储的密码哈希低于当前算法/成本配置时，借助本次明文密码重新哈希
+            upgradePassword(user, dto.getPassword());
+
             // 生成双 Token
             String accessToken = jwtUtils.generateAccessToken(user.getId(), dto.getUsername());
             String refreshToken = jwtUtils.generateRefreshToken(user.getId(), dto.getUsername());
@@ -136,8 +149,8 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public LoginVo refreshToken(RefreshTokenDto dto) {
-        // 解析并验证Refresh Token
-        Claims refreshClaims = tokenValidatorUtils.parseAndValidate(dto.getRefreshToken(), TokenType.REFRESH);
+        // 解析并验证Refresh Token（签名、过期、类型；黑名单与吊销检查在轮换脚本中原子完成）
+        Claims refreshClaims = tokenValidatorUtils.verify(dto.getRefreshToken(), TokenType.REFRESH);
 
         // 提取用户名、用户ID
         String username = Optional.ofNullable(refreshClaims.get(JwtConstants.Claims.USERNAME))
@@ -149,21 +162,14 @@ public class AuthServiceImpl implements AuthService {
                 .map(Long::valueOf)
                 .orElse(null);
 
-        // 验证Refresh Token是否在Redis中存在且有效（实现单点登录控制）
-        if (!refreshTokenUtils.isRefreshTokenValid(username, refreshClaims)) {
-            throw new BusinessException(ErrorCode.INVALID_TOKEN, "Refresh Token已失效，请重新登录");
-        }
-
-        // 将旧的Refresh Token加入黑名单
-        tokenBlacklistUtils.addToBlacklist(refreshClaims);
-
         // 生成新的双Token
         String newAccessToken = jwtUtils.generateAccessToken(userId, username);
         String newRefreshToken = jwtUtils.generateRefreshToken(userId, username);
 
-        // 将新的Refresh Token存储到Redis（替换旧的）
+        // 原子轮换：旧Refresh Token仍是当前有效Token时加入黑名单并替换为新Token（实现单点登录控制），
+        // 并发刷新同一个Refresh Token时只有一个成功，其余直接失败，新生成的Token不会被保存
         Claims newRefreshClaims = jwtUtils.parseToken(newRefreshToken);
-        refreshTokenUtils.storeRefreshToken(username, newRefreshToken, newRefreshClaims);
+        refreshTokenUtils.rotateRefreshToken(username, refreshClaims, newRefreshClaims);
 
         return buildLoginVo(newAccessToken, newRefreshToken);
     }
@@ -172,28 +178,42 @@ public class AuthServiceImpl implements AuthService {
     public void logout(LogoutDto dto) {
         // 从请求上下文获取 Access Token 信息（网关已验证并透传）
         String accessTokenJti = UserContextUtils.getTokenJti();
-        String accessTokenExp = UserContextUtils.getTokenExp();
-
-        // 将Access Token加入黑名单
-        if (StringUtils.hasText(accessTokenJti) && StringUtils.hasText(accessTokenExp)) {
-            try {
-                long expirationTime = Long.parseLong(accessTokenExp);
-                tokenBlacklistUtils.addToBlacklist(accessTokenJti, expirationTime, TokenType.ACCESS);
-            } catch (NumberFormatException e) {
-                // 过期时间格式错误，忽略Access Token黑名单操作
+        long accessTokenExp = parseExpiration(UserContextUtils.getTokenExp());
+
+        // 解析并验证Refresh Token（签名、过期、类型）
+        Claims refreshClaims;
+        try {
+            refreshClaims = tokenValidatorUtils.verify(dto.getRefreshToken(), TokenType.REFRESH);
+        } catch (BusinessException e) {
+            // Refresh Token无效时仍将Access Token加入黑名单
+            if (StringUtils.hasText(accessTokenJti) && accessTokenExp > 0) {
+                tokenBlacklistUtils.addToBlacklist(accessTokenJti, accessTokenExp, TokenType.ACCESS);
             }
+            throw e;
         }
 
-        // 解析并验证Refresh Token
-        Claims refreshClaims = tokenValidatorUtils.parseAndValidate(dto.getRefreshToken(), TokenType.REFRESH);
-        // 将Refresh Token加入黑名单
-        tokenBlacklistUtils.addToBlacklist(refreshClaims);
-
-        // 从Token中获取用户名，如果存在则从Redis删除对应的Refresh Token
-        // 实现单点登录控制，确保旧Refresh Token立即失效
-        Optional.ofNullable(refreshClaims.get(JwtConstants.Claims.USERNAME))
+        // 原子完成：Access/Refresh Token加入黑名单，并在Redis中的Refresh Token仍是该Token时删除（单点登录控制）
+        String username = Optional.ofNullable(refreshClaims.get(JwtConstants.Claims.USERNAME))
                 .map(Object::toString)
-                .ifPresent(username -> refreshTokenUtils.removeRefreshToken(username));
+                .orElse("");
+        refreshTokenUtils.logout(username, refreshClaims, accessTokenJti, accessTokenExp);
+    }
+
+    /**
+     * 解析网关透传的Token过期时间
+     *
+     * @param expiration 过期时间戳字符串（毫秒）
+     * @return 过期时间戳，格式错误或为空时返回 0（忽略Access Token黑名单操作）
+     */
+    private long parseExpiration(String expiration) {
+        if (!StringUtils.hasText(expiration)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(expiration);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
     }
 
     /**
@@ -228,6 +248,29 @@ public class AuthServiceImpl implements AuthService {
                 String.format("用户名或密码错误，您还有 %d 次尝试机会", remainingAttempts));
     }
 
+    /**
+     * 登录成功后按当前配置重新哈希密码
+     * <p>
+     * 以旧哈希作为更新条件，期间密码已被修改时不覆盖；哈希线程池繁忙等失败不影响本次登录，下次登录再升级
+     * </p>
+     */
+    private void upgradePassword(UserEntity user, String rawPassword) {
+        if (!passwordHashProperties.isRehashOnLogin() || !passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            UserEntity update = new UserEntity();
+            update.setPassword(passwordHasher.hash(rawPassword));
+            LambdaQueryWrapper<UserEntity> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(UserEntity::getId, user.getId())
+                    .eq(UserEntity::getPassword, user.getPassword());
+            userMapper.update(update, wrapper);
+        } catch (Exception e) {
+            // 升级失败保留原哈希，仍可正常校验
+            log.warn("密码哈希升级失败: userId={} - {}", user.getId(), e.getMessage());
+        }
+    }
+
     /**
      * 解除因密码输入错误次数过多导致的临时锁定账号（管理员使用）
      */
@@ -13,9 +13,13 @@ import com.mms.usercenter.common.auth.dto.PermissionUpdateDto;
 import com.mms.usercenter.common.auth.entity.PermissionEntity;
 import com.mms.usercenter.common.auth.entity.RolePermissionEntity;
 import com.mms.usercenter.common.auth.vo.PermissionVo;
+import com.mms.usercenter.service.auth.cache.PermissionTreeCache;
 import com.mms.usercenter.service.auth.mapper.PermissionMapper;
 import com.mms.usercenter.service.auth.mapper.RolePermissionMapper;
 import com.mms.usercenter.service.auth.service.PermissionService;
+import com.mms.usercenter.service.security.rbac.RbacModel;
+import com.mms.usercenter.service.security.service.AuthorityInvalidationService;
+import com.mms.usercenter.service.security.service.PermissionRegistryService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -49,6 +53,18 @@ public class PermissionServiceImpl implements PermissionService {
     @Resource
     private RolePermissionMapper rolePermissionMapper;
 
+    @Resource
+    private PermissionRegistryService permissionRegistryService;
+
+    @Resource
+    private AuthorityInvalidationService authorityInvalidationService;
+
+    @Resource
+    private RbacModel rbacModel;
+
+    @Resource
+    private PermissionTreeCache permissionTreeCache;
+
     @Override
     public Page<PermissionVo> getPermissionPage(PermissionPageQueryDto dto) {
         try {
@@ -142,6 +158,9 @@ public class PermissionServiceImpl implements PermissionService {
             entity.setRemark(dto.getRemark());
             entity.setDeleted(0);
             permissionMapper.insert(entity);
+            permissionRegistryService.rebuildAfterCommit();
+            rbacModel.permissionChangedAfterCommit(entity.getId());
+            permissionTreeCache.invalidateAfterCommit();
             return convertToVo(entity);
         } catch (BusinessException e) {
             throw e;
@@ -174,6 +193,8 @@ public class PermissionServiceImpl implements PermissionService {
                     throw new BusinessException(ErrorCode.UNIQUE_CONSTRAINT_ERROR, "权限编码已存在");
                 }
                 permission.setPermissionCode(dto.getPermissionCode());
+                permissionRegistryService.rebuildAfterCommit();
+                authorityInvalidationService.invalidatePermissionsAfterCommit(List.of(permission.getId()));
             }
             if (StringUtils.hasText(dto.getPermissionType())) {
                 permission.setPermissionType(dto.getPermissionType());
@@ -209,12 +230,17 @@ public class PermissionServiceImpl implements PermissionService {
                 if (dto.getStatus() != 0 && dto.getStatus() != 1) {
                     throw new BusinessException(ErrorCode.PARAM_INVALID, "状态值只能是0或1");
                 }
+                if (!Objects.equals(dto.getStatus(), permission.getStatus())) {
+                    authorityInvalidationService.invalidatePermissionsAfterCommit(List.of(permission.getId()));
+                }
                 permission.setStatus(dto.getStatus());
             }
             if (StringUtils.hasText(dto.getRemark())) {
                 permission.setRemark(dto.getRemark());
             }
             permissionMapper.updateById(permission);
+            rbacModel.permissionChangedAfterCommit(permission.getId());
+            permissionTreeCache.invalidateAfterCommit();
             return convertToVo(permission);
         } catch (BusinessException e) {
             throw e;
@@ -248,6 +274,9 @@ public class PermissionServiceImpl implements PermissionService {
                 throw new BusinessException(ErrorCode.DATA_IN_USE, "权限存在关联角色，无法删除");
             }
             permissionMapper.deleteById(permissionId);
+            permissionRegistryService.rebuildAfterCommit();
+            rbacModel.permissionChangedAfterCommit(permissionId);
+            permissionTreeCache.invalidateAfterCommit();
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -290,6 +319,9 @@ public class PermissionServiceImpl implements PermissionService {
             permission.setStatus(dto.getStatus());
             permission.setUpdateTime(LocalDateTime.now());
             permissionMapper.updateById(permission);
+            rbacModel.permissionChangedAfterCommit(permission.getId());
+            permissionTreeCache.invalidateAfterCommit();
+            authorityInvalidationService.invalidatePermissionsAfterCommit(List.of(permission.getId()));
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -300,49 +332,62 @@ public class PermissionServiceImpl implements PermissionService {
 
     @Override
     public List<PermissionVo> listPermissionTree(String permissionType, Integer status, Integer visible) {
+        return getPermissionTreeSnapshot(permissionType, status, visible).tree();
+    }
+
+    @Override
+    public PermissionTreeCache.Snapshot getPermissionTreeSnapshot(String permissionType, Integer status, Integer visible) {
         try {
-            log.info("查询权限树");
-            LambdaQueryWrapper<PermissionEntity> wrapper = new LambdaQueryWrapper<>();
-            wrapper.eq(PermissionEntity::getDeleted, 0)
-                    .orderByAsc(PermissionEntity::getParentId)
-                    .orderByAsc(PermissionEntity::getSortOrder)
-                    .orderByDesc(PermissionEntity::getCreateTime);
-            if (StringUtils.hasText(permissionType)) {
-                wrapper.eq(PermissionEntity::getPermissionType, permissionType);
-            }
-            if (status != null) {
-                wrapper.eq(PermissionEntity::getStatus, status);
-            }
-            if (visible != null) {
-                wrapper.eq(PermissionEntity::getVisible, visible);
-            }
-            List<PermissionEntity> allPermissions = permissionMapper.selectList(wrapper);
-            if (CollectionUtils.isEmpty(allPermissions)) {
-                return new ArrayList<>();
-            }
-            List<PermissionVo> voList = allPermissions.stream().map(this::convertToVo).collect(Collectors.toList());
-            Map<Long, PermissionVo> voMap = voList.stream().collect(Collectors.toMap(PermissionVo::getId, v -> v));
-            List<PermissionVo> roots = new ArrayList<>();
-            for (PermissionVo vo : voList) {
-                Long parentId = vo.getParentId() == null ? 0L : vo.getParentId();
-                if (parentId == 0L) {
-                    roots.add(vo);
-                } else {
-                    PermissionVo parent = voMap.get(parentId);
-                    if (parent != null) {
-                        parent.getChildren().add(vo);
-                    } else {
-                        roots.add(vo);
-                    }
-                }
-            }
-            return roots;
+            return permissionTreeCache.get(permissionType, status, visible,
+                    () -> buildPermissionTree(permissionType, status, visible));
         } catch (Exception e) {
             log.error("查询权限树失败：{}", e.getMessage(), e);
             throw new ServerException("查询权限树失败", e);
         }
     }
 
+    /**
+     * 查询并构建权限树（仅在快照失效时调用）
+     */
+    private List<PermissionVo> buildPermissionTree(String permissionType, Integer status, Integer visible) {
+        log.info("构建权限树，permissionType：{}，status：{}，visible：{}", permissionType, status, visible);
+        LambdaQueryWrapper<PermissionEntity> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(PermissionEntity::getDeleted, 0)
+                .orderByAsc(PermissionEntity::getParentId)
+                .orderByAsc(PermissionEntity::getSortOrder)
+                .orderByDesc(PermissionEntity::getCreateTime);
+        if (StringUtils.hasText(permissionType)) {
+            wrapper.eq(PermissionEntity::getPermissionType, permissionType);
+        }
+        if (status != null) {
+            wrapper.eq(PermissionEntity::getStatus, status);
+        }
+        if (visible != null) {
+            wrapper.eq(PermissionEntity::getVisible, visible);
+        }
+        List<PermissionEntity> allPermissions = permissionMapper.selectList(wrapper);
+        if (CollectionUtils.isEmpty(allPermissions)) {
+            return new ArrayList<>();
+        }
+        List<PermissionVo> voList = allPermissions.stream().map(this::convertToVo).collect(Collectors.toList());
+        Map<Long, PermissionVo> voMap = voList.stream().collect(Collectors.toMap(PermissionVo::getId, v -> v));
+        List<PermissionVo> roots = new ArrayList<>();
+        for (PermissionVo vo : voList) {
+            Long parentId = vo.getParentId() == null ? 0L : vo.getParentId();
+            if (parentId == 0L) {
+                roots.add(vo);
+            } else {
+                PermissionVo parent = voMap.get(parentId);
+                if (parent != null) {
+                    parent.getChildren().add(vo);
+                } else {
+                    roots.add(vo);
+                }
+            }
+        }
+        return roots;
+    }
+
     private boolean existsByPermissionCode(String permissionCode) {
         if (!StringUtils.hasText(permissionCode)) {
             return false;
@@ -18,6 +18,8 @@ import com.mms.usercenter.service.auth.mapper.RoleMapper;
 import com.mms.usercenter.service.auth.mapper.RolePermissionMapper;
 import com.mms.usercenter.service.auth.mapper.UserRoleMapper;
 import com.mms.usercenter.service.auth.service.RoleService;
+import com.mms.usercenter.service.security.rbac.RbacModel;
+import com.mms.usercenter.service.security.service.AuthorityInvalidationService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -54,6 +56,12 @@ public class RoleServiceImpl implements RoleService {
     @Resource
     private RolePermissionMapper rolePermissionMapper;
 
+    @Resource
+    private AuthorityInvalidationService authorityInvalidationService;
+
+    @Resource
+    private RbacModel rbacModel;
+
     @Override
     public Page<RoleVo> getRolePage(RolePageQueryDto dto) {
         try {
@@ -137,6 +145,7 @@ public class RoleServiceImpl implements RoleService {
             if (!CollectionUtils.isEmpty(dto.getPermissionIds())) {
                 saveRolePermissions(role.getId(), dto.getPermissionIds());
             }
+            rbacModel.roleChangedAfterCommit(role.getId());
             return convertToVo(role);
         } catch (BusinessException e) {
             throw e;
@@ -187,6 +196,9 @@ public class RoleServiceImpl implements RoleService {
             if (dto.getPermissionIds() != null) {
                 saveRolePermissions(role.getId(), dto.getPermissionIds());
             }
+            // 角色编码、状态或权限可能变更，使关联用户的权限缓存失效
+            rbacModel.roleChangedAfterCommit(role.getId());
+            authorityInvalidationService.invalidateRolesAfterCommit(List.of(role.getId()));
             return convertToVo(role);
         } catch (BusinessException e) {
             throw e;
@@ -222,6 +234,8 @@ public class RoleServiceImpl implements RoleService {
             LambdaQueryWrapper<RolePermissionEntity> rpWrapper = new LambdaQueryWrapper<>();
             rpWrapper.eq(RolePermissionEntity::getRoleId, roleId);
             rolePermissionMapper.delete(rpWrapper);
+            rbacModel.roleChangedAfterCommit(roleId);
+            authorityInvalidationService.invalidateRolesAfterCommit(List.of(roleId));
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -263,6 +277,8 @@ public class RoleServiceImpl implements RoleService {
             }
             role.setStatus(dto.getStatus());
             roleMapper.updateById(role);
+            rbacModel.roleChangedAfterCommit(role.getId());
+            authorityInvalidationService.invalidateRolesAfterCommit(List.of(role.getId()));
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -287,6 +303,8 @@ public class RoleServiceImpl implements RoleService {
                 throw new BusinessException(ErrorCode.PARAM_INVALID, "权限ID列表不能为空");
             }
             saveRolePermissions(dto.getRoleId(), dto.getPermissionIds());
+            rbacModel.roleChangedAfterCommit(dto.getRoleId());
+            authorityInvalidationService.invalidateRolesAfterCommit(List.of(dto.getRoleId()));
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
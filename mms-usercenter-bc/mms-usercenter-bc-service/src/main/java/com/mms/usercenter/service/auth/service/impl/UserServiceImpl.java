@@ -5,14 +5,16 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.mms.common.core.enums.ErrorCode;
 import com.mms.common.core.exceptions.BusinessException;
 import com.mms.common.core.exceptions.ServerException;
+import com.mms.common.security.utils.TokenBlacklistUtils;
 import com.mms.usercenter.common.auth.dto.*;
 import com.mms.usercenter.common.auth.entity.UserEntity;
 import com.mms.usercenter.common.auth.vo.UserVo;
 import com.mms.usercenter.service.auth.mapper.UserMapper;
 import com.mms.usercenter.service.auth.service.UserService;
+import com.mms.usercenter.service.security.cache.SecurityUserCache;
+import com.mms.usercenter.service.security.service.PasswordHasher;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
-import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,6 +38,15 @@ public class UserServiceImpl implements UserService {
     @Resource
     private UserMapper userMapper;
 
+    @Resource
+    private TokenBlacklistUtils tokenBlacklistUtils;
+
+    @Resource
+    private SecurityUserCache securityUserCache;
+
+    @Resource
+    private PasswordHasher passwordHasher;
+
     @Override
     public Page<UserVo> getUserPage(UserPageQueryDto dto) {
         try {
@@ -128,8 +139,10 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * 仅有一条 INSERT，不开启事务，避免密码哈希期间占用数据库连接
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public UserVo createUser(UserCreateDto dto) {
         try {
             log.info("创建用户，参数：{}", dto);
@@ -149,7 +162,7 @@ public class UserServiceImpl implements UserService {
             UserEntity user = new UserEntity();
             BeanUtils.copyProperties(dto, user);
             // 加密密码
-            user.setPassword(BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt()));
+            user.setPassword(passwordHasher.hash(dto.getPassword()));
             // 设置默认值
             if (user.getStatus() == null) {
                 user.setStatus(1);
@@ -228,6 +241,8 @@ public class UserServiceImpl implements UserService {
                 user.setRemark(dto.getRemark());
             }
             userMapper.updateById(user);
+            // 用户名、姓名、状态可能变更，使认证快照失效
+            securityUserCache.invalidate(user.getId());
             log.info("更新用户信息成功，userId：{}", user.getId());
             return convertToVo(user);
         } catch (BusinessException e) {
@@ -252,6 +267,9 @@ public class UserServiceImpl implements UserService {
             }
             // 逻辑删除
             userMapper.deleteById(userId);
+            // 吊销该用户已签发的全部Token
+            tokenBlacklistUtils.revokeAllTokens(userId);
+            securityUserCache.invalidate(userId);
             log.info("删除用户成功，userId：{}", userId);
         } catch (BusinessException e) {
             throw e;
@@ -272,6 +290,8 @@ public class UserServiceImpl implements UserService {
             // 批量逻辑删除
             for (Long userId : dto.getUserIds()) {
                 userMapper.deleteById(userId);
+                tokenBlacklistUtils.revokeAllTokens(userId);
+                securityUserCache.invalidate(userId);
             }
             log.info("批量删除用户成功，删除数量：{}", dto.getUserIds().size());
         } catch (BusinessException e) {
@@ -296,6 +316,11 @@ public class UserServiceImpl implements UserService {
             }
             user.setStatus(dto.getStatus());
             userMapper.updateById(user);
+            if (dto.getStatus() == 0) {
+                // 禁用后吊销该用户已签发的全部Token，立即下线
+                tokenBlacklistUtils.revokeAllTokens(user.getId());
+            }
+            securityUserCache.invalidate(user.getId());
             log.info("切换用户状态成功，userId：{}，status：{}", dto.getUserId(), dto.getStatus());
         } catch (BusinessException e) {
             throw e;
@@ -331,6 +356,11 @@ public class UserServiceImpl implements UserService {
                 user.setLockReason(null);
             }
             userMapper.updateById(user);
+            if (dto.getLocked() == 1) {
+                // 锁定后吊销该用户已签发的全部Token，立即下线
+                tokenBlacklistUtils.revokeAllTokens(user.getId());
+            }
+            securityUserCache.invalidate(user.getId());
             log.info("锁定/解锁用户成功，userId：{}，locked：{}", dto.getUserId(), dto.getLocked());
         } catch (BusinessException e) {
             throw e;
@@ -340,8 +370,10 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * 仅有一条 UPDATE，不开启事务，避免密码哈希期间占用数据库连接
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void resetPassword(UserPasswordResetDto dto) {
         try {
             log.info("重置用户密码，userId：{}", dto.getUserId());
@@ -350,10 +382,12 @@ public class UserServiceImpl implements UserService {
                 throw new BusinessException(ErrorCode.USER_NOT_FOUND);
             }
             // 加密新密码
-            String hashedPassword = BCrypt.hashpw(dto.getNewPassword(), BCrypt.gensalt());
+            String hashedPassword = passwordHasher.hash(dto.getNewPassword());
             user.setPassword(hashedPassword);
             user.setPasswordUpdateTime(LocalDateTime.now());
             userMapper.updateById(user);
+            // 密码变更后吊销该用户已签发的全部Token，所有会话需重新登录
+            tokenBlacklistUtils.revokeAllTokens(user.getId());
             log.info("重置用户密码成功，userId：{}", dto.getUserId());
         } catch (BusinessException e) {
             throw e;
@@ -363,8 +397,11 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * 不开启事务，避免密码校验与哈希期间占用数据库连接；
+     * 以旧密码哈希作为更新条件，校验后密码已被并发修改时不覆盖
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void changePassword(Long userId, UserPasswordChangeDto dto) {
         try {
             log.info("修改用户密码，userId：{}", userId);
@@ -373,14 +410,21 @@ public class UserServiceImpl implements UserService {
                 throw new BusinessException(ErrorCode.USER_NOT_FOUND);
             }
             // 验证旧密码
-            if (!BCrypt.checkpw(dto.getOldPassword(), user.getPassword())) {
+            if (!passwordHasher.matches(dto.getOldPassword(), user.getPassword())) {
                 throw new BusinessException(ErrorCode.PWD_MISMATCH, "旧密码错误");
             }
             // 加密新密码
-            String hashedPassword = BCrypt.hashpw(dto.getNewPassword(), BCrypt.gensalt());
-            user.setPassword(hashedPassword);
-            user.setPasswordUpdateTime(LocalDateTime.now());
-            userMapper.updateById(user);
+            UserEntity update = new UserEntity();
+            update.setPassword(passwordHasher.hash(dto.getNewPassword()));
+            update.setPasswordUpdateTime(LocalDateTime.now());
+            LambdaQueryWrapper<UserEntity> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(UserEntity::getId, userId)
+                    .eq(UserEntity::getPassword, user.getPassword());
+            if (userMapper.update(update, wrapper) == 0) {
+                throw new BusinessException(ErrorCode.DATA_MODIFIED);
+            }
+            // 密码变更后吊销该用户已签发的全部Token，所有会话需重新登录
+            tokenBlacklistUtils.revokeAllTokens(user.getId());
             log.info("修改用户密码成功，userId：{}", userId);
         } catch (BusinessException e) {
             throw e;
@@ -0,0 +1,83 @@
+package com.mms.usercenter.service.security.cache;
+
+import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.usercenter.common.security.properties.AuthorityInvalidationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 实现功能【用户权限失效通知订阅】
+ * <p>
+ * - 订阅用户权限失效频道（AuthorityInvalidationService 广播），移除本实例 SecurityUserCache 中受影响用户的 L1
+ * - 消息丢失时 L1 在 security.user-cache.local-ttl 内自然过期
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 22:21:05
+ */
+@Slf4j
+@Component
+public class AuthorityInvalidationListener {
+
+    @Resource
+    private AuthorityInvalidationProperties properties;
+
+    @Resource
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Resource
+    private SecurityUserCache securityUserCache;
+
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(this::onMessage, ChannelTopic.of(UserCenterConstants.UserAuthority.INVALIDATION_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * 处理失效通知（消息为逗号分隔的用户ID，或 *）
+     */
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (UserCenterConstants.UserAuthority.INVALIDATE_ALL.equals(body)) {
+            securityUserCache.evictAllLocal();
+            return;
+        }
+        List<Long> userIds = new ArrayList<>();
+        for (String userId : body.split(UserCenterConstants.UserAuthority.INVALIDATION_SEPARATOR)) {
+            try {
+                userIds.add(Long.parseLong(userId));
+            } catch (NumberFormatException e) {
+                log.warn("忽略格式错误的用户权限失效消息: {}", body);
+                return;
+            }
+        }
+        securityUserCache.evictLocal(userIds);
+    }
+}
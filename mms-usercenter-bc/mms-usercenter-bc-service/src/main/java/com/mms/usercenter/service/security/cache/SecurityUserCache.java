@@ -0,0 +1,190 @@
+package com.mms.usercenter.service.security.cache;
+
+import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.common.core.enums.ErrorCode;
+import com.mms.common.core.exceptions.BusinessException;
+import com.mms.common.database.utils.TransactionUtils;
+import com.mms.usercenter.common.auth.entity.UserEntity;
+import com.mms.usercenter.common.security.entity.SecurityUser;
+import com.mms.usercenter.common.security.entity.SecurityUserSnapshot;
+import com.mms.usercenter.common.security.properties.SecurityUserCacheProperties;
+import com.mms.usercenter.common.security.vo.UserAuthorityVo;
+import com.mms.usercenter.service.auth.mapper.UserMapper;
+import com.mms.usercenter.service.security.service.UserAuthorityService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实现功能【用户认证快照两级缓存】
+ * <p>
+ * 为 JwtAuthenticationFilter 提供不含密码的 SecurityUser，替代每个请求的用户查询与两次权限缓存读取：
+ * - L1：进程内 ConcurrentHashMap，短有效期（security.user-cache.local-ttl），命中时不访问 Redis
+ * - L2：Redis 快照（按 userId），与用户版本号一次 MGET 读取，版本一致才视为有效
+ * - 未命中时先读版本号再查库，写回的快照携带查库前的版本号；期间若版本号自增，该快照随即失效，不会覆盖新数据
+ * - 写快照时同时续期版本号，版本号总比快照晚过期，不会因版本号过期回落为 0 后再自增而与旧快照重新一致
+ * - 用户状态、锁定、角色等变更后调用 {@link #invalidate(Long)}：事务提交后自增版本号、删除 L2 快照并移除本实例 L1
+ * - 角色/权限变更由 AuthorityInvalidationService 批量自增版本号，并经失效通知移除各实例 L1
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 21:31:52
+ */
+@Slf4j
+@Component
+public class SecurityUserCache {
+
+    @Resource
+    private SecurityUserCacheProperties properties;
+
+    @Resource
+    private UserMapper userMapper;
+
+    @Resource
+    private UserAuthorityService userAuthorityService;
+
+    @Resource
+    private RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * L1 缓存（用户ID -> 缓存条目）
+     */
+    private final Map<Long, Entry> localCache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取用户认证信息
+     *
+     * @param userId   用户ID（网关透传）
+     * @param username 用户名（网关透传，需与快照一致）
+     * @return SecurityUser（不含密码）；未启用或 userId 为空时返回 null，由调用方自行加载
+     * @throws BusinessException 用户不存在或用户名不一致
+     */
+    public SecurityUser get(Long userId, String username) {
+        if (!properties.isEnabled() || userId == null) {
+            return null;
+        }
+
+        Entry entry = localCache.get(userId);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()
+                && Objects.equals(entry.snapshot().getUsername(), username)) {
+            return entry.snapshot().toSecurityUser();
+        }
+
+        SecurityUserSnapshot snapshot = load(userId);
+        if (!Objects.equals(snapshot.getUsername(), username)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND, "用户不存在");
+        }
+        putLocal(userId, snapshot);
+        return snapshot.toSecurityUser();
+    }
+
+    /**
+     * 使用户认证快照失效（存在事务时在提交后执行，避免并发请求读到未提交前的旧数据并以新版本号写回）
+     *
+     * @param userId 用户ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> bumpVersion(userId));
+    }
+
+    /**
+     * 移除本实例 L1 中的指定用户（其他实例的失效通知到达时调用，L2 已由发起方通过版本号失效）
+     *
+     * @param userIds 用户ID集合
+     */
+    public void evictLocal(Collection<Long> userIds) {
+        userIds.forEach(localCache::remove);
+    }
+
+    /**
+     * 清空本实例 L1
+     */
+    public void evictAllLocal() {
+        localCache.clear();
+    }
+
+    /**
+     * 读取 L2 快照，版本不一致或不存在时查库重建
+     */
+    private SecurityUserSnapshot load(Long userId) {
+        String snapshotKey = UserCenterConstants.Principal.SNAPSHOT_PREFIX + userId;
+        List<Object> values = redisTemplate.opsForValue().multiGet(
+                List.of(snapshotKey, UserCenterConstants.Principal.VERSION_PREFIX + userId));
+        long version = values != null && values.get(1) instanceof Number number ? number.longValue() : 0L;
+        if (values != null && values.get(0) instanceof SecurityUserSnapshot cached && cached.getVersion() == version) {
+            return cached;
+        }
+
+        UserEntity user = userMapper.selectPrincipalById(userId);
+        if (user == null) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND, "用户不存在");
+        }
+        UserAuthorityVo authorities = userAuthorityService.getUserAuthorities(userId);
+
+        SecurityUserSnapshot snapshot = new SecurityUserSnapshot();
+        snapshot.setUserId(user.getId());
+        snapshot.setUsername(user.getUsername());
+        snapshot.setRealName(user.getRealName());
+        snapshot.setStatus(user.getStatus());
+        snapshot.setLocked(user.getLocked());
+        snapshot.setRoles(authorities.getRoles());
+        snapshot.setPermissions(authorities.getPermissions());
+        snapshot.setVersion(version);
+        redisTemplate.opsForValue().set(snapshotKey, snapshot,
+                UserCenterConstants.Principal.SNAPSHOT_CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+        // 版本号不存在（按 0 处理）时 EXPIRE 不生效，之后的自增得到 1，与该快照不一致
+        redisTemplate.expire(UserCenterConstants.Principal.VERSION_PREFIX + userId,
+                UserCenterConstants.Principal.VERSION_TTL_MINUTES, TimeUnit.MINUTES);
+        return snapshot;
+    }
+
+    /**
+     * 自增用户版本号、删除 L2 快照并移除本实例 L1（其他实例的 L1 在 local-ttl 内自然过期）
+     * <p>
+     * 先自增再删除：删除后仍在重建的请求写回的快照携带自增前的版本号，读取时即失效
+     * </p>
+     */
+    private void bumpVersion(Long userId) {
+        localCache.remove(userId);
+        String versionKey = UserCenterConstants.Principal.VERSION_PREFIX + userId;
+        try {
+            redisTemplate.opsForValue().increment(versionKey);
+            redisTemplate.expire(versionKey, UserCenterConstants.Principal.VERSION_TTL_MINUTES, TimeUnit.MINUTES);
+            redisTemplate.delete(UserCenterConstants.Principal.SNAPSHOT_PREFIX + userId);
+        } catch (Exception e) {
+            // 已在事务提交后执行，不影响业务结果；旧快照最迟在 Redis 过期时间后失效
+            log.warn("用户认证快照版本号更新失败: userId={} - {}", userId, e.getMessage());
+        }
+    }
+
+    private void putLocal(Long userId, SecurityUserSnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        if (localCache.size() >= properties.getLocalMaxSize()) {
+            localCache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (localCache.size() >= properties.getLocalMaxSize()) {
+                localCache.clear();
+            }
+        }
+        localCache.put(userId, new Entry(snapshot, now + properties.getLocalTtl().toMillis()));
+    }
+
+    /**
+     * L1 缓存条目
+     *
+     * @param snapshot  用户认证快照
+     * @param expiresAt 本地过期时间戳（毫秒）
+     */
+    private record Entry(SecurityUserSnapshot snapshot, long expiresAt) {
+    }
+}
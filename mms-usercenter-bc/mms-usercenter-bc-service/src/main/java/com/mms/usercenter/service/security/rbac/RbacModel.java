@@ -0,0 +1,441 @@
+package com.mms.usercenter.service.security.rbac;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.common.core.permission.PermissionBits;
+import com.mms.common.database.utils.TransactionUtils;
+import com.mms.usercenter.common.auth.entity.PermissionEntity;
+import com.mms.usercenter.common.auth.entity.RoleEntity;
+import com.mms.usercenter.common.auth.entity.RolePermissionEntity;
+import com.mms.usercenter.common.security.properties.RbacModelProperties;
+import com.mms.usercenter.service.auth.mapper.PermissionMapper;
+import com.mms.usercenter.service.auth.mapper.RoleMapper;
+import com.mms.usercenter.service.auth.mapper.RolePermissionMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 实现功能【RBAC 内存模型】
+ * <p>
+ * 用户中心在内存中保存角色（编码、状态、权限位集）与权限（编码、状态），用户的有效权限为其启用角色的权限位集之并，
+ * 再与启用权限掩码求交；权限缓存未命中时只需查询 user_role，不再执行四表关联：
+ * - 启动完成后全量加载，之后按 security.rbac-model.refresh-interval 定期全量重新加载，兜底变更通知丢失
+ * - 角色/权限写操作在事务提交后自增模型版本号并广播变更（ROLE:id:version / PERMISSION:id:version），
+ *   各实例（含本实例）收到后只重新加载该角色或权限；版本号不连续（有通知丢失）时全量重新加载
+ * - 模型记录加载时确认到的版本号，计算有效权限前与 Redis 中的版本号比较，落后时（通知发布失败或尚未送达）
+ *   返回 null 由调用方回源数据库，并触发一次全量加载，不使用未确认的模型构建权限快照
+ * - 模型整体不可变，更新时复制后替换引用，读取无锁
+ * - 权限位下标与权限注册表一致，均为权限主键
+ * - 加载完成前 {@link #resolve(Collection)} 返回 null，由调用方回源数据库
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 22:41:50
+ */
+@Slf4j
+@Component
+public class RbacModel {
+
+    private static final String TYPE_ROLE = "ROLE";
+
+    private static final String TYPE_PERMISSION = "PERMISSION";
+
+    private static final String MESSAGE_SEPARATOR = ":";
+
+    @Resource
+    private RbacModelProperties properties;
+
+    @Resource
+    private RoleMapper roleMapper;
+
+    @Resource
+    private PermissionMapper permissionMapper;
+
+    @Resource
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Resource
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Resource
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mms-rbac-model");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 串行化模型更新（读取无需加锁）
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * 当前模型，加载完成前为 null
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * 是否已提交全量加载任务（合并重复请求）
+     */
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+
+    private RedisMessageListenerContainer container;
+
+    /**
+     * 应用启动完成后订阅变更通知并全量加载（先订阅，避免加载期间的变更丢失）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(this::onMessage, ChannelTopic.of(UserCenterConstants.UserAuthority.RBAC_CHANGED_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+
+        long interval = properties.getRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::safeReloadAll, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        scheduler.shutdownNow();
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * 计算角色集合的有效权限
+     *
+     * @param roleIds 用户关联的角色ID
+     * @return 启用角色的编码与有效权限；模型未加载或落后于最新版本时返回 null
+     */
+    public UserRbac resolve(Collection<Long> roleIds) {
+        Snapshot current = snapshot;
+        if (current == null || !isConfirmed(current)) {
+            return null;
+        }
+        Set<String> roles = new HashSet<>();
+        BitSet bits = new BitSet();
+        if (roleIds != null) {
+            for (Long roleId : roleIds) {
+                RoleNode role = roleId != null ? current.roles().get(roleId) : null;
+                if (role != null && role.enabled()) {
+                    roles.add(role.code());
+                    bits.or(role.permissions());
+                }
+            }
+        }
+        bits.and(current.enabledPermissions());
+        Set<String> permissionCodes = new HashSet<>(Math.max(16, bits.cardinality() * 2));
+        bits.stream().forEach(index -> permissionCodes.add(current.permissionCodes().get(index)));
+        return new UserRbac(roles, PermissionBits.of(bits), permissionCodes);
+    }
+
+    /**
+     * 将位集转换为权限编码集合
+     *
+     * @param bits 位集
+     * @return 权限编码集合；模型未加载或存在未知下标时返回 null
+     */
+    public Set<String> toCodes(PermissionBits bits) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        Set<String> codes = new HashSet<>();
+        boolean[] complete = {true};
+        bits.forEach(index -> {
+            String code = current.permissionCodes().get(index);
+            if (code == null) {
+                complete[0] = false;
+            } else {
+                codes.add(code);
+            }
+        });
+        return complete[0] ? codes : null;
+    }
+
+    /**
+     * 在当前事务提交后广播角色变更（新增、修改、删除、状态切换、权限分配）
+     *
+     * @param roleId 角色ID
+     */
+    public void roleChangedAfterCommit(Long roleId) {
+        publishAfterCommit(TYPE_ROLE, roleId);
+    }
+
+    /**
+     * 在当前事务提交后广播权限变更（新增、修改、删除、状态切换）
+     *
+     * @param permissionId 权限ID
+     */
+    public void permissionChangedAfterCommit(Long permissionId) {
+        publishAfterCommit(TYPE_PERMISSION, permissionId);
+    }
+
+    private void publishAfterCommit(String type, Long id) {
+        if (!properties.isEnabled() || id == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> publish(type, id));
+    }
+
+    private void publish(String type, Long id) {
+        try {
+            Long version = redisTemplate.opsForValue().increment(UserCenterConstants.UserAuthority.RBAC_MODEL_VERSION_KEY);
+            byte[] channel = UserCenterConstants.UserAuthority.RBAC_CHANGED_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            byte[] body = (type + MESSAGE_SEPARATOR + id + MESSAGE_SEPARATOR + version).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+        } catch (Exception e) {
+            // 本实例先直接更新（版本号不前进），再全量加载确认；其他实例在版本比较或下次全量加载时同步
+            log.warn("RBAC 模型变更通知发布失败：{}:{} - {}", type, id, e.getMessage());
+            apply(type, id, 0L);
+            requestReload();
+        }
+    }
+
+    /**
+     * 处理变更通知（格式：ROLE:roleId:version 或 PERMISSION:permissionId:version）
+     */
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            String[] parts = body.split(MESSAGE_SEPARATOR);
+            apply(parts[0], Long.parseLong(parts[1]), parts.length > 2 ? Long.parseLong(parts[2]) : 0L);
+        } catch (RuntimeException e) {
+            log.warn("RBAC 模型变更处理失败: {} - {}", body, e.getMessage());
+        }
+    }
+
+    /**
+     * 应用单个变更
+     *
+     * @param version 变更对应的模型版本号，0 表示不推进模型版本
+     */
+    private void apply(String type, Long id, long version) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                // 首次加载失败，下次全量加载时会读到该变更
+                return;
+            }
+            if (version > current.version() + 1) {
+                // 中间的变更通知丢失
+                reloadAll();
+                return;
+            }
+            if (TYPE_ROLE.equals(type)) {
+                reloadRole(current, id, version);
+            } else if (TYPE_PERMISSION.equals(type)) {
+                reloadPermission(current, id, version);
+            } else {
+                log.warn("忽略未知类型的 RBAC 模型变更: {}:{}", type, id);
+            }
+        }
+    }
+
+    /**
+     * 模型是否已包含 Redis 中记录的全部变更；未包含或无法确认时触发全量加载
+     */
+    private boolean isConfirmed(Snapshot current) {
+        long latest;
+        try {
+            latest = currentVersion();
+        } catch (Exception e) {
+            log.warn("RBAC 模型版本号读取失败：{}", e.getMessage());
+            return false;
+        }
+        if (latest <= current.version()) {
+            return true;
+        }
+        requestReload();
+        return false;
+    }
+
+    private long currentVersion() {
+        Object version = redisTemplate.opsForValue().get(UserCenterConstants.UserAuthority.RBAC_MODEL_VERSION_KEY);
+        return version instanceof Number number ? number.longValue() : 0L;
+    }
+
+    /**
+     * 异步全量加载（已有待执行的加载任务时忽略）
+     */
+    private void requestReload() {
+        if (!reloadRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(() -> {
+                reloadRequested.set(false);
+                safeReloadAll();
+            });
+        } catch (Exception e) {
+            // 停机中
+            reloadRequested.set(false);
+        }
+    }
+
+    private void safeReloadAll() {
+        try {
+            reloadAll();
+        } catch (Exception e) {
+            log.error("RBAC 模型全量加载失败：{}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 全量加载（先读取版本号再查询数据库，版本号不超过读取值的变更均已提交并包含在加载结果中）
+     */
+    private void reloadAll() {
+        synchronized (writeLock) {
+            long version = currentVersion();
+            LambdaQueryWrapper<PermissionEntity> permissionWrapper = new LambdaQueryWrapper<>();
+            permissionWrapper.select(PermissionEntity::getId, PermissionEntity::getPermissionCode, PermissionEntity::getStatus)
+                    .eq(PermissionEntity::getDeleted, 0);
+            Map<Integer, String> permissionCodes = new HashMap<>();
+            BitSet enabledPermissions = new BitSet();
+            for (PermissionEntity permission : permissionMapper.selectList(permissionWrapper)) {
+                putPermission(permissionCodes, enabledPermissions, permission);
+            }
+
+            Map<Long, BitSet> rolePermissions = new HashMap<>();
+            LambdaQueryWrapper<RolePermissionEntity> rpWrapper = new LambdaQueryWrapper<>();
+            rpWrapper.select(RolePermissionEntity::getRoleId, RolePermissionEntity::getPermissionId);
+            for (RolePermissionEntity rp : rolePermissionMapper.selectList(rpWrapper)) {
+                if (rp.getRoleId() != null && rp.getPermissionId() != null) {
+                    rolePermissions.computeIfAbsent(rp.getRoleId(), k -> new BitSet())
+                            .set(Math.toIntExact(rp.getPermissionId()));
+                }
+            }
+
+            LambdaQueryWrapper<RoleEntity> roleWrapper = new LambdaQueryWrapper<>();
+            roleWrapper.select(RoleEntity::getId, RoleEntity::getRoleCode, RoleEntity::getStatus)
+                    .eq(RoleEntity::getDeleted, 0);
+            Map<Long, RoleNode> roles = new HashMap<>();
+            for (RoleEntity role : roleMapper.selectList(roleWrapper)) {
+                if (role.getId() != null && StringUtils.hasText(role.getRoleCode())) {
+                    roles.put(role.getId(), new RoleNode(role.getRoleCode(), Objects.equals(role.getStatus(), 1),
+                            rolePermissions.getOrDefault(role.getId(), new BitSet())));
+                }
+            }
+
+            snapshot = new Snapshot(roles, permissionCodes, enabledPermissions, version);
+            log.debug("RBAC 模型已加载，版本：{}，角色数量：{}，权限数量：{}", version, roles.size(), permissionCodes.size());
+        }
+    }
+
+    /**
+     * 重新加载单个角色（含其权限关联），调用方持有 writeLock
+     */
+    private void reloadRole(Snapshot current, Long roleId, long version) {
+        RoleEntity role = roleMapper.selectById(roleId);
+        Map<Long, RoleNode> roles = new HashMap<>(current.roles());
+        if (role == null || Objects.equals(role.getDeleted(), 1) || !StringUtils.hasText(role.getRoleCode())) {
+            roles.remove(roleId);
+        } else {
+            LambdaQueryWrapper<RolePermissionEntity> rpWrapper = new LambdaQueryWrapper<>();
+            rpWrapper.select(RolePermissionEntity::getPermissionId)
+                    .eq(RolePermissionEntity::getRoleId, roleId);
+            List<RolePermissionEntity> rolePermissions = rolePermissionMapper.selectList(rpWrapper);
+            BitSet permissions = new BitSet();
+            for (RolePermissionEntity rp : rolePermissions) {
+                if (rp.getPermissionId() != null) {
+                    permissions.set(Math.toIntExact(rp.getPermissionId()));
+                }
+            }
+            roles.put(roleId, new RoleNode(role.getRoleCode(), Objects.equals(role.getStatus(), 1), permissions));
+        }
+        snapshot = new Snapshot(roles, current.permissionCodes(), current.enabledPermissions(),
+                Math.max(current.version(), version));
+    }
+
+    /**
+     * 重新加载单个权限（编码、状态），调用方持有 writeLock
+     */
+    private void reloadPermission(Snapshot current, Long permissionId, long version) {
+        PermissionEntity permission = permissionMapper.selectById(permissionId);
+        Map<Integer, String> permissionCodes = new HashMap<>(current.permissionCodes());
+        BitSet enabledPermissions = (BitSet) current.enabledPermissions().clone();
+        int index = Math.toIntExact(permissionId);
+        permissionCodes.remove(index);
+        enabledPermissions.clear(index);
+        if (permission != null && !Objects.equals(permission.getDeleted(), 1)) {
+            putPermission(permissionCodes, enabledPermissions, permission);
+        }
+        snapshot = new Snapshot(current.roles(), permissionCodes, enabledPermissions, Math.max(current.version(), version));
+    }
+
+    private static void putPermission(Map<Integer, String> permissionCodes, BitSet enabledPermissions, PermissionEntity permission) {
+        if (permission.getId() == null || !StringUtils.hasText(permission.getPermissionCode())) {
+            return;
+        }
+        int index = Math.toIntExact(permission.getId());
+        permissionCodes.put(index, permission.getPermissionCode());
+        if (Objects.equals(permission.getStatus(), 1)) {
+            enabledPermissions.set(index);
+        }
+    }
+
+    /**
+     * 用户有效角色与权限
+     *
+     * @param roles           启用角色的编码
+     * @param permissionBits  有效权限位集
+     * @param permissionCodes 有效权限编码
+     */
+    public record UserRbac(Set<String> roles, PermissionBits permissionBits, Set<String> permissionCodes) {
+    }
+
+    /**
+     * 角色节点（permissions 创建后不再修改）
+     *
+     * @param code        角色编码
+     * @param enabled     是否启用
+     * @param permissions 关联的权限下标（不区分权限状态）
+     */
+    private record RoleNode(String code, boolean enabled, BitSet permissions) {
+    }
+
+    /**
+     * 模型快照（创建后不再修改）
+     *
+     * @param roles              角色ID -> 角色节点（未删除）
+     * @param permissionCodes    权限下标 -> 权限编码（未删除）
+     * @param enabledPermissions 启用权限掩码
+     * @param version            已包含的变更版本号
+     */
+    private record Snapshot(Map<Long, RoleNode> roles, Map<Integer, String> permissionCodes, BitSet enabledPermissions,
+                            long version) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.mms.usercenter.service.security.service;
+
+import java.util.Collection;
+
+/**
+ * 实现功能【用户权限缓存失效服务】
+ * <p>
+ * - 角色/权限变更后确定受影响的用户，清除其权限缓存并通知各服务实例清除本地缓存
+ * - 均在当前事务提交后执行（无事务时立即登记），短时间内的多次变更合并处理
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 22:10:17
+ */
+public interface AuthorityInvalidationService {
+
+    /**
+     * 使关联了指定角色的用户的权限缓存失效
+     *
+     * @param roleIds 角色ID集合
+     */
+    void invalidateRolesAfterCommit(Collection<Long> roleIds);
+
+    /**
+     * 使通过角色拥有指定权限的用户的权限缓存失效
+     *
+     * @param permissionIds 权限ID集合
+     */
+    void invalidatePermissionsAfterCommit(Collection<Long> permissionIds);
+}
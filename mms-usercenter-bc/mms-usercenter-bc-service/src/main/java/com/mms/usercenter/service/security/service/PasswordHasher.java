@@ -0,0 +1,40 @@
+package com.mms.usercenter.service.security.service;
+
+/**
+ * 实现功能【密码哈希服务】
+ * <p>
+ * - 密码哈希与校验在专用的有界线程池中执行，同时进行的哈希计算不超过线程数；调用方不应在数据库事务内调用
+ * - 线程池与队列已满或等待超时时抛出 BusinessException（SYSTEM_BUSY）
+ * - 校验按已存储哈希自身的算法与参数进行，新哈希使用当前配置（security.password-hash）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 23:21:40
+ */
+public interface PasswordHasher {
+
+    /**
+     * 按当前配置哈希密码
+     *
+     * @param rawPassword 明文密码
+     * @return 密码哈希
+     */
+    String hash(String rawPassword);
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword    明文密码
+     * @param storedPassword 已存储的密码哈希
+     * @return 是否匹配（哈希格式无法识别时返回 false）
+     */
+    boolean matches(String rawPassword, String storedPassword);
+
+    /**
+     * 已存储的哈希是否需要按当前配置重新哈希（算法不同或成本参数低于当前配置）
+     *
+     * @param storedPassword 已存储的密码哈希
+     * @return 是否需要重新哈希
+     */
+    boolean needsRehash(String storedPassword);
+}
@@ -0,0 +1,23 @@
+package com.mms.usercenter.service.security.service;
+
+/**
+ * 实现功能【权限注册表服务】
+ * <p>
+ * - 维护权限编码与位集下标的映射，并发布到 Redis 供各服务共享
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 15:46:20
+ */
+public interface PermissionRegistryService {
+
+    /**
+     * 从数据库重建权限注册表并立即发布
+     */
+    void rebuild();
+
+    /**
+     * 在当前事务提交后重建权限注册表（无事务时立即重建）
+     */
+    void rebuildAfterCommit();
+}
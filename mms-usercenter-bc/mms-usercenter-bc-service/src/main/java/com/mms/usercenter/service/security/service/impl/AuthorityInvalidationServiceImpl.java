@@ -0,0 +1,233 @@
+package com.mms.usercenter.service.security.service.impl;
+
+import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.common.database.utils.TransactionUtils;
+import com.mms.usercenter.common.security.properties.AuthorityInvalidationProperties;
+import com.mms.usercenter.service.auth.mapper.RolePermissionMapper;
+import com.mms.usercenter.service.auth.mapper.UserRoleMapper;
+import com.mms.usercenter.service.security.service.AuthorityInvalidationService;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 实现功能【用户权限缓存失效服务实现类】
+ * <p>
+ * - 事务提交后登记变更的角色/权限ID，合并窗口（security.authority-invalidation.debounce-window）到期后统一处理，
+ *   窗口内对同一角色、权限的多次修改只反查、清除一次；窗口从首个变更开始计时，最长延迟一个窗口
+ * - 角色、权限通过 user_role / role_permission 反查受影响用户，按批 IN 查询
+ * - 按批以 Redis 管道清除：一次 DEL 删除整批用户权限快照与认证快照，并自增各用户认证快照版本号；快照在下次访问时按需重建
+ * - 清除完成后广播失效通知，网关与用户中心各实例据此清除本地缓存；受影响用户过多时广播全部失效
+ * - 处理失败只记录日志，缓存最迟在过期时间后失效
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 22:14:36
+ */
+@Slf4j
+@Service
+public class AuthorityInvalidationServiceImpl implements AuthorityInvalidationService {
+
+    @Resource
+    private AuthorityInvalidationProperties properties;
+
+    @Resource
+    private UserRoleMapper userRoleMapper;
+
+    @Resource
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Resource
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mms-authority-invalidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+
+    /**
+     * 待处理的变更，由 lock 保护
+     */
+    private Pending pending = new Pending();
+
+    /**
+     * 是否已安排窗口到期处理，由 lock 保护
+     */
+    private boolean flushScheduled;
+
+    @Override
+    public void invalidateRolesAfterCommit(Collection<Long> roleIds) {
+        afterCommit(roleIds, Pending::roleIds);
+    }
+
+    @Override
+    public void invalidatePermissionsAfterCommit(Collection<Long> permissionIds) {
+        afterCommit(permissionIds, Pending::permissionIds);
+    }
+
+    /**
+     * 停机前处理尚未到期的变更，避免丢失
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private void afterCommit(Collection<Long> ids, Function<Pending, Set<Long>> target) {
+        if (!properties.isEnabled() || ids == null || ids.isEmpty()) {
+            return;
+        }
+        List<Long> copy = ids.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        TransactionUtils.afterCommit(() -> enqueue(copy, target));
+    }
+
+    private void enqueue(List<Long> ids, Function<Pending, Set<Long>> target) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            target.apply(pending).addAll(ids);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        try {
+            scheduler.schedule(this::flush, properties.getDebounceWindow().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // 停机中，直接处理
+            flush();
+        }
+    }
+
+    /**
+     * 窗口到期：反查受影响用户，清除缓存并广播
+     */
+    private void flush() {
+        Pending batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new Pending();
+        }
+        try {
+            Set<Long> userIds = new HashSet<>();
+            for (List<Long> roleIds : partition(batch.roleIds())) {
+                userIds.addAll(userRoleMapper.selectUserIdsByRoleIds(roleIds));
+            }
+            for (List<Long> permissionIds : partition(batch.permissionIds())) {
+                userIds.addAll(rolePermissionMapper.selectUserIdsByPermissionIds(permissionIds));
+            }
+            userIds.remove(null);
+            if (userIds.isEmpty()) {
+                return;
+            }
+            evict(userIds);
+            broadcast(userIds);
+            log.info("用户权限缓存已失效，用户数：{}，角色数：{}，权限数：{}",
+                    userIds.size(), batch.roleIds().size(), batch.permissionIds().size());
+        } catch (Exception e) {
+            log.error("用户权限缓存失效处理失败：{}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 管道批量清除权限快照、认证快照（L2），并自增认证快照版本号
+     * <p>
+     * 版本号 key 可能先于认证快照过期，自增后回到旧快照记录的版本号；同时删除认证快照，避免旧快照被当作最新版本读取
+     * </p>
+     */
+    private void evict(Set<Long> userIds) {
+        long versionTtlSeconds = TimeUnit.MINUTES.toSeconds(UserCenterConstants.Principal.VERSION_TTL_MINUTES);
+        for (List<Long> chunk : partition(userIds)) {
+            byte[][] keys = new byte[chunk.size() * 2][];
+            for (int i = 0; i < chunk.size(); i++) {
+                keys[2 * i] = bytes(UserCenterConstants.UserAuthority.USER_AUTHORITY_PREFIX + chunk.get(i));
+                keys[2 * i + 1] = bytes(UserCenterConstants.Principal.SNAPSHOT_PREFIX + chunk.get(i));
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.keyCommands().del(keys);
+                for (Long userId : chunk) {
+                    byte[] versionKey = bytes(UserCenterConstants.Principal.VERSION_PREFIX + userId);
+                    connection.stringCommands().incr(versionKey);
+                    connection.keyCommands().expire(versionKey, versionTtlSeconds);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 广播失效通知（消息为原始字符串，不经过 JSON 序列化）
+     */
+    private void broadcast(Set<Long> userIds) {
+        byte[] channel = bytes(UserCenterConstants.UserAuthority.INVALIDATION_CHANNEL);
+        if (userIds.size() > properties.getBroadcastAllThreshold()) {
+            byte[] body = bytes(UserCenterConstants.UserAuthority.INVALIDATE_ALL);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+            return;
+        }
+        List<byte[]> bodies = new ArrayList<>();
+        for (List<Long> chunk : partition(userIds)) {
+            bodies.add(bytes(chunk.stream().map(String::valueOf)
+                    .collect(Collectors.joining(UserCenterConstants.UserAuthority.INVALIDATION_SEPARATOR))));
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[] body : bodies) {
+                connection.publish(channel, body);
+            }
+            return null;
+        });
+    }
+
+    private List<List<Long>> partition(Collection<Long> ids) {
+        int size = Math.max(1, properties.getBatchSize());
+        List<Long> list = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>((list.size() + size - 1) / size);
+        for (int from = 0; from < list.size(); from += size) {
+            chunks.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return chunks;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 待处理的变更ID
+     */
+    private record Pending(Set<Long> roleIds, Set<Long> permissionIds) {
+
+        Pending() {
+            this(new HashSet<>(), new HashSet<>());
+        }
+
+        boolean isEmpty() {
+            return roleIds.isEmpty() && permissionIds.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.mms.usercenter.service.security.service.impl;
+
+import com.mms.common.core.enums.ErrorCode;
+import com.mms.common.core.exceptions.BusinessException;
+import com.mms.usercenter.common.security.properties.PasswordHashProperties;
+import com.mms.usercenter.service.security.service.PasswordHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 实现功能【密码哈希服务实现类】
+ * <p>
+ * - 固定线程数 + 有界队列（security.password-hash.threads / queue-capacity），队列满立即拒绝，
+ *   等待超过 security.password-hash.timeout 时取消任务；两种情况均返回系统繁忙，避免登录洪峰拖垮整个实例
+ * - BCrypt 使用 jbcrypt（$2a$），Argon2id 使用 spring-security-crypto（需 Bouncy Castle），按哈希前缀识别
+ * - 指标：mms.password.hash.queue（排队耗时）、mms.password.hash.duration（计算耗时，按 operation 区分）、
+ *   mms.password.hash.rejected（按 reason 区分）、mms.password.hash.queue.size / active（队列长度、执行中线程数）
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 23:26:52
+ */
+@Slf4j
+@Service
+public class PasswordHasherImpl implements PasswordHasher {
+
+    private static final String BCRYPT_PREFIX = "$2a$";
+
+    private static final String ARGON2ID_PREFIX = "$argon2id$";
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private static final String OPERATION_HASH = "hash";
+
+    private static final String OPERATION_VERIFY = "verify";
+
+    @Resource
+    private PasswordHashProperties properties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    private Argon2PasswordEncoder argon2Encoder;
+
+    private Timer queueTimer;
+
+    private Timer hashTimer;
+
+    private Timer verifyTimer;
+
+    private Counter queueFullCounter;
+
+    private Counter timeoutCounter;
+
+    @PostConstruct
+    public void start() {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mms-password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.prestartAllCoreThreads();
+
+        argon2Encoder = new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH,
+                properties.getArgon2Parallelism(), properties.getArgon2MemoryKib(), properties.getArgon2Iterations());
+
+        queueTimer = Timer.builder("mms.password.hash.queue").register(meterRegistry);
+        hashTimer = Timer.builder("mms.password.hash.duration").tag("operation", OPERATION_HASH).register(meterRegistry);
+        verifyTimer = Timer.builder("mms.password.hash.duration").tag("operation", OPERATION_VERIFY).register(meterRegistry);
+        queueFullCounter = Counter.builder("mms.password.hash.rejected").tag("reason", "queue_full").register(meterRegistry);
+        timeoutCounter = Counter.builder("mms.password.hash.rejected").tag("reason", "timeout").register(meterRegistry);
+        Gauge.builder("mms.password.hash.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("mms.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+
+        log.info("密码哈希线程池已启动：algorithm={}, threads={}, queueCapacity={}",
+                properties.getAlgorithm(), threads, properties.getQueueCapacity());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        if (properties.getAlgorithm() == PasswordHashProperties.Algorithm.ARGON2ID) {
+            return execute(hashTimer, () -> argon2Encoder.encode(rawPassword));
+        }
+        int cost = properties.getBcryptCost();
+        return execute(hashTimer, () -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost)));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (storedPassword.startsWith(ARGON2ID_PREFIX)) {
+            return execute(verifyTimer, () -> argon2Encoder.matches(rawPassword, storedPassword));
+        }
+        if (bcryptCost(storedPassword) < 0) {
+            log.warn("无法识别的密码哈希格式");
+            return false;
+        }
+        return execute(verifyTimer, () -> BCrypt.checkpw(rawPassword, storedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String storedPassword) {
+        if (storedPassword == null) {
+            return false;
+        }
+        if (properties.getAlgorithm() == PasswordHashProperties.Algorithm.ARGON2ID) {
+            return !storedPassword.startsWith(ARGON2ID_PREFIX) || argon2Encoder.upgradeEncoding(storedPassword);
+        }
+        return bcryptCost(storedPassword) < properties.getBcryptCost();
+    }
+
+    /**
+     * 在哈希线程池中执行，并等待结果
+     */
+    private <T> T execute(Timer timer, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            throw new BusinessException(ErrorCode.SYSTEM_BUSY);
+        }
+
+        try {
+            return future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutCounter.increment();
+            throw new BusinessException(ErrorCode.SYSTEM_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_BUSY);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("密码哈希失败", cause);
+        }
+    }
+
+    /**
+     * 解析 BCrypt 哈希的成本因子（$2a$NN$...），格式不符时返回 -1
+     */
+    private static int bcryptCost(String storedPassword) {
+        if (storedPassword.length() < 7 || !storedPassword.startsWith(BCRYPT_PREFIX) || storedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = storedPassword.charAt(4);
+        char ones = storedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+}
@@ -0,0 +1,80 @@
+package com.mms.usercenter.service.security.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.mms.common.database.utils.TransactionUtils;
+import com.mms.common.security.permission.RedisPermissionRegistry;
+import com.mms.usercenter.common.auth.entity.PermissionEntity;
+import com.mms.usercenter.service.auth.mapper.PermissionMapper;
+import com.mms.usercenter.service.security.service.PermissionRegistryService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实现功能【权限注册表服务实现类】
+ * <p>
+ * - 以权限表主键作为位集下标：主键自增且逻辑删除不复用，下标天然稳定、稠密
+ * - 启动完成及权限新增/修改/删除后重建，并通过 Redis 发布给网关和其他服务
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-18 15:48:05
+ */
+@Slf4j
+@Service
+public class PermissionRegistryServiceImpl implements PermissionRegistryService {
+
+    @Resource
+    private PermissionMapper permissionMapper;
+
+    @Resource
+    private RedisPermissionRegistry redisPermissionRegistry;
+
+    @Override
+    public void rebuild() {
+        LambdaQueryWrapper<PermissionEntity> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(PermissionEntity::getId, PermissionEntity::getPermissionCode)
+                .eq(PermissionEntity::getDeleted, 0);
+        List<PermissionEntity> permissions = permissionMapper.selectList(wrapper);
+
+        Map<String, Integer> codeToIndex = new HashMap<>(permissions.size() * 2);
+        for (PermissionEntity permission : permissions) {
+            if (permission.getId() != null && StringUtils.hasText(permission.getPermissionCode())) {
+                codeToIndex.put(permission.getPermissionCode(), Math.toIntExact(permission.getId()));
+            }
+        }
+        redisPermissionRegistry.publish(codeToIndex);
+        log.info("权限注册表已发布，权限数量：{}", codeToIndex.size());
+    }
+
+    @Override
+    public void rebuildAfterCommit() {
+        TransactionUtils.afterCommit(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                // 数据已提交，发布失败只记录日志，各服务按刷新周期或下次变更时同步
+                log.error("发布权限注册表失败：{}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 应用启动完成后发布一次，保证注册表与数据库一致
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("启动时发布权限注册表失败：{}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.mms.usercenter.service.security.service.impl;
 
 import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.common.core.permission.AuthoritySnapshot;
+import com.mms.common.core.permission.PermissionBits;
+import com.mms.common.core.permission.PermissionRegistry;
+import com.mms.usercenter.common.security.vo.UserAuthorityCodeVo;
 import com.mms.usercenter.common.security.vo.UserAuthorityVo;
 import com.mms.usercenter.service.auth.mapper.PermissionMapper;
-import com.mms.usercenter.service.auth.mapper.RoleMapper;
+import com.mms.usercenter.service.auth.mapper.UserRoleMapper;
+import com.mms.usercenter.service.security.rbac.RbacModel;
 import com.mms.usercenter.service.security.service.UserAuthorityService;
 import jakarta.annotation.Resource;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -12,10 +17,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -24,6 +27,9 @@ import java.util.stream.Collectors;
  * 实现功能【用户权限服务实现类】
  * <p>
  * - 负责用户角色和权限的查询、缓存管理
+ * - 角色与权限位集（下标由权限注册表分配）合并为一个权限快照缓存，一次 GET 读取
+ * - 未命中时只查询用户关联的角色ID，由 RBAC 内存模型计算角色编码与有效权限，一次 SET 写回；
+ *   模型未加载或落后于最新变更版本时回退为一条 SQL 同时查询角色编码与权限编码
  * </p>
  * @author li.hongyu
  * @date 2025-12-23 20:21:55
@@ -32,14 +38,20 @@ import java.util.stream.Collectors;
 public class UserAuthorityServiceImpl implements UserAuthorityService {
 
     @Resource
-    private RoleMapper roleMapper;
+    private PermissionMapper permissionMapper;
 
     @Resource
-    private PermissionMapper permissionMapper;
+    private UserRoleMapper userRoleMapper;
+
+    @Resource
+    private RbacModel rbacModel;
 
     @Resource
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Resource
+    private PermissionRegistry permissionRegistry;
+
     /**
      * 获取用户权限信息（包含角色和权限）
      * 采用读写分离的事务，提高查询性能
@@ -52,157 +64,74 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
     public UserAuthorityVo getUserAuthorities(Long userId) {
         UserAuthorityVo vo = new UserAuthorityVo();
         vo.setUserId(userId);
-        vo.setRoles(loadUserRoles(userId));
-        vo.setPermissions(loadUserPermissions(userId));
-        return vo;
-    }
-
-    /**
-     * 加载用户角色集合
-     * 采用缓存优先策略：先查缓存，缓存不存在再查数据库
-     *
-     * @param userId 用户ID
-     * @return 用户角色编码集合
-     */
-    private Set<String> loadUserRoles(Long userId) {
         if (userId == null) {
-            return Collections.emptySet();
+            vo.setPermissionBits(PermissionBits.EMPTY.encode());
+            return vo;
         }
 
-        // 构建缓存键
-        String cacheKey = UserCenterConstants.UserAuthority.USER_ROLE_PREFIX + userId;
-
-        // 先尝试从缓存获取
-        Set<String> cachedRoles = convertToStringSet(redisTemplate.opsForValue().get(cacheKey));
-        if (!CollectionUtils.isEmpty(cachedRoles)) {
-            return cachedRoles;
-        }
-
-        // 缓存未命中，查询数据库
-        List<String> roleCodeList = roleMapper.selectRoleCodesByUserId(userId);
-        if (CollectionUtils.isEmpty(roleCodeList)) {
-            // 空结果也进行缓存，防止缓存穿透
-            cacheEmptySet(cacheKey);
-            return Collections.emptySet();
+        // 先尝试从缓存获取（格式错误按未命中处理，重新查询并覆盖）
+        String cacheKey = UserCenterConstants.UserAuthority.USER_AUTHORITY_PREFIX + userId;
+        AuthoritySnapshot snapshot = redisTemplate.opsForValue().get(cacheKey) instanceof String encoded
+                ? AuthoritySnapshot.decode(encoded)
+                : null;
+        Set<String> permissions = null;
+        if (snapshot == null) {
+            // 缓存未命中，计算角色与权限并写入缓存（空结果同样缓存，防止缓存穿透）
+            RbacModel.UserRbac rbac = rbacModel.resolve(userRoleMapper.selectRoleIdsByUserId(userId));
+            if (rbac != null) {
+                permissions = rbac.permissionCodes();
+                snapshot = AuthoritySnapshot.of(rbac.roles(), rbac.permissionBits());
+            } else {
+                Set<String> roles = new HashSet<>();
+                permissions = new HashSet<>();
+                for (UserAuthorityCodeVo row : permissionMapper.selectAuthorityCodesByUserId(userId)) {
+                    if (row == null || !StringUtils.hasText(row.getCode())) {
+                        continue;
+                    }
+                    if (UserAuthorityCodeVo.TYPE_ROLE.equals(row.getType())) {
+                        roles.add(row.getCode());
+                    } else if (UserAuthorityCodeVo.TYPE_PERMISSION.equals(row.getType())) {
+                        permissions.add(row.getCode());
+                    }
+                }
+                snapshot = AuthoritySnapshot.of(roles, permissionRegistry.toBits(permissions));
+            }
+            redisTemplate.opsForValue().set(
+                    cacheKey,
+                    snapshot.encode(),
+                    UserCenterConstants.UserAuthority.ROLE_PERMISSION_CACHE_TTL_MINUTES,
+                    TimeUnit.MINUTES
+            );
+        } else {
+            // 注册表尚未同步到位集中的全部下标时依次使用 RBAC 内存模型、数据库
+            permissions = permissionRegistry.toCodes(snapshot.getPermissionBits());
+            if (permissions == null) {
+                permissions = rbacModel.toCodes(snapshot.getPermissionBits());
+            }
+            if (permissions == null) {
+                permissions = loadUserPermissionCodes(userId);
+            }
         }
 
-        // 过滤并转换数据
-        Set<String> roleCodes = roleCodeList.stream()
-                .filter(StringUtils::hasText)
-                .collect(Collectors.toSet());
-
-        // 写入缓存
-        cacheSet(roleCodes, cacheKey);
-        return roleCodes;
+        vo.setRoles(new HashSet<>(snapshot.getRoles()));
+        vo.setPermissionBits(snapshot.getPermissionBits().encode());
+        vo.setPermissions(permissions);
+        return vo;
     }
 
     /**
-     * 加载用户权限集合
-     * 采用缓存优先策略：先查缓存，缓存不存在再查数据库
+     * 从数据库查询用户权限编码集合
      *
      * @param userId 用户ID
      * @return 用户权限编码集合
      */
-    private Set<String> loadUserPermissions(Long userId) {
-        if (userId == null) {
-            return Collections.emptySet();
-        }
-
-        // 构建缓存键
-        String cacheKey = UserCenterConstants.UserAuthority.USER_PERMISSION_PREFIX + userId;
-
-        // 先尝试从缓存获取
-        Set<String> cachedPermissions = convertToStringSet(redisTemplate.opsForValue().get(cacheKey));
-        if (!CollectionUtils.isEmpty(cachedPermissions)) {
-            return cachedPermissions;
-        }
-
-        // 缓存未命中，查询数据库
+    private Set<String> loadUserPermissionCodes(Long userId) {
         List<String> permissionCodeList = permissionMapper.selectPermissionCodesByUserId(userId);
         if (CollectionUtils.isEmpty(permissionCodeList)) {
-            // 空结果也进行缓存，防止缓存穿透
-            cacheEmptySet(cacheKey);
-            return Collections.emptySet();
+            return new HashSet<>();
         }
-
-        // 过滤并转换数据
-        Set<String> permissionCodes = permissionCodeList.stream()
+        return permissionCodeList.stream()
                 .filter(StringUtils::hasText)
                 .collect(Collectors.toSet());
-
-        // 写入缓存
-        cacheSet(permissionCodes, cacheKey);
-        return permissionCodes;
-    }
-
-    /**
-     * 将缓存对象转换为字符串集合
-     * 支持Set、List和单对象等多种格式的转换
-     *
-     * @param cached 缓存对象
-     * @return 字符串集合
-     */
-    private Set<String> convertToStringSet(Object cached) {
-        if (cached == null) {
-            return Collections.emptySet();
-        }
-
-        // 处理Set类型
-        if (cached instanceof Set<?> set) {
-            return set.stream()
-                    .filter(Objects::nonNull)
-                    .map(Object::toString)
-                    .collect(Collectors.toSet());
-        }
-
-        // 处理List类型
-        if (cached instanceof List<?> list) {
-            return list.stream()
-                    .filter(Objects::nonNull)
-                    .map(Object::toString)
-                    .collect(Collectors.toSet());
-        }
-
-        // 处理单对象类型
-        return Collections.singleton(cached.toString());
-    }
-
-    /**
-     * 缓存集合数据
-     * 支持同时缓存到多个key（批量操作）
-     *
-     * @param values 要缓存的值集合
-     * @param keys 缓存键（可变参数）
-     */
-    private void cacheSet(Set<String> values, String... keys) {
-        if (values == null) {
-            values = Collections.emptySet();
-        }
-
-        for (String key : keys) {
-            redisTemplate.opsForValue().set(
-                    key,
-                    values,
-                    UserCenterConstants.UserAuthority.ROLE_PERMISSION_CACHE_TTL_MINUTES,
-                    TimeUnit.MINUTES
-            );
-        }
-    }
-
-    /**
-     * 缓存空集合
-     * 用于防止缓存穿透，对空结果也进行缓存
-     *
-     * @param keys 缓存键（可变参数）
-     */
-    private void cacheEmptySet(String... keys) {
-        for (String key : keys) {
-            redisTemplate.opsForValue().set(
-                    key,
-                    new HashSet<>(),
-                    UserCenterConstants.UserAuthority.ROLE_PERMISSION_CACHE_TTL_MINUTES,
-                    TimeUnit.MINUTES
-            );
-        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package com.mms.usercenter.service.security.cache;
+
+import com.mms.common.core.constants.security.UserCenterConstants;
+import com.mms.usercenter.common.auth.entity.UserEntity;
+import com.mms.usercenter.common.security.entity.SecurityUser;
+import com.mms.usercenter.common.security.properties.SecurityUserCacheProperties;
+import com.mms.usercenter.common.security.vo.UserAuthorityVo;
+import com.mms.usercenter.service.auth.mapper.UserMapper;
+import com.mms.usercenter.service.security.service.UserAuthorityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 实现功能【SecurityUserCache 版本号失效测试】
+ * <p>
+ * Redis 以内存 Map 模拟，过期通过直接删除 key 模拟
+ * </p>
+ *
+ * @author li.hongyu
+ * @date 2026-10-19 10:12:40
+ */
+@SuppressWarnings("unchecked")
+class SecurityUserCacheTest {
+
+    private static final Long USER_ID = 7L;
+
+    private static final String USERNAME = "alice";
+
+    private static final String SNAPSHOT_KEY = UserCenterConstants.Principal.SNAPSHOT_PREFIX + USER_ID;
+
+    private static final String VERSION_KEY = UserCenterConstants.Principal.VERSION_PREFIX + USER_ID;
+
+    private final Map<String, Object> redis = new HashMap<>();
+
+    private final UserEntity user = new UserEntity();
+
+    private SecurityUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(any())).thenAnswer(invocation -> {
+            List<Object> values = new ArrayList<>();
+            for (String key : (List<String>) invocation.getArgument(0)) {
+                values.add(redis.get(key));
+            }
+            return values;
+        });
+        when(valueOperations.increment(anyString()))
+                .thenAnswer(invocation -> (Long) redis.merge(invocation.getArgument(0), 1L, (a, b) -> (Long) a + (Long) b));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), any(), anyLong(), any());
+        when(redisTemplate.delete(anyString())).thenAnswer(invocation -> redis.remove(invocation.getArgument(0)) != null);
+        when(redisTemplate.expire(anyString(), anyLong(), any())).thenReturn(true);
+
+        user.setId(USER_ID);
+        user.setUsername(USERNAME);
+        user.setStatus(1);
+        user.setLocked(0);
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.selectPrincipalById(eq(USER_ID))).thenAnswer(invocation -> user);
+        UserAuthorityService userAuthorityService = mock(UserAuthorityService.class);
+        when(userAuthorityService.getUserAuthorities(eq(USER_ID))).thenReturn(new UserAuthorityVo());
+
+        cache = new SecurityUserCache();
+        ReflectionTestUtils.setField(cache, "properties", new SecurityUserCacheProperties());
+        ReflectionTestUtils.setField(cache, "userMapper", userMapper);
+        ReflectionTestUtils.setField(cache, "userAuthorityService", userAuthorityService);
+        ReflectionTestUtils.setField(cache, "redisTemplate", redisTemplate);
+    }
+
+    @Test
+    void invalidateAfterVersionKeyExpiredDoesNotServeOldSnapshot() {
+        // 版本号为 1 时写入快照
+        redis.put(VERSION_KEY, 1L);
+        assertThat(cache.get(USER_ID, USERNAME).isAccountNonLocked()).isTrue();
+        assertThat(redis).containsKey(SNAPSHOT_KEY);
+
+        // 版本号先于快照过期，随后用户被锁定并自增版本号（回到 1，与旧快照一致）
+        redis.remove(VERSION_KEY);
+        user.setLocked(1);
+        cache.invalidate(USER_ID);
+        assertThat(redis.get(VERSION_KEY)).isEqualTo(1L);
+
+        SecurityUser reloaded = cache.get(USER_ID, USERNAME);
+        assertThat(reloaded.isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void invalidateRemovesSnapshotAndBumpsVersion() {
+        cache.get(USER_ID, USERNAME);
+        assertThat(redis).containsKey(SNAPSHOT_KEY);
+
+        cache.invalidate(USER_ID);
+
+        assertThat(redis).doesNotContainKey(SNAPSHOT_KEY);
+        assertThat(redis.get(VERSION_KEY)).isEqualTo(1L);
+    }
+}